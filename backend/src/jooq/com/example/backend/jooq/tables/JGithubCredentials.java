@@ -20,7 +20,7 @@ import java.util.function.Function;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
-import org.jooq.Function9;
+import org.jooq.Function10;
 import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
@@ -29,7 +29,7 @@ import org.jooq.PlainSQL;
 import org.jooq.QueryPart;
 import org.jooq.Record;
 import org.jooq.Records;
-import org.jooq.Row9;
+import org.jooq.Row10;
 import org.jooq.SQL;
 import org.jooq.Schema;
 import org.jooq.Select;
@@ -110,6 +110,11 @@ public class JGithubCredentials extends TableImpl<JGithubCredentialsRecord> {
      */
     public final TableField<JGithubCredentialsRecord, LocalDateTime> UPDATED_AT = createField(DSL.name("updated_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
 
+    /**
+     * The column <code>public.github_credentials.collection_mode</code>.
+     */
+    public final TableField<JGithubCredentialsRecord, String> COLLECTION_MODE = createField(DSL.name("collection_mode"), SQLDataType.VARCHAR(20).nullable(false).defaultValue(DSL.field(DSL.raw("'REST'::character varying"), SQLDataType.VARCHAR)), this, "");
+
     private JGithubCredentials(Name alias, Table<JGithubCredentialsRecord> aliased) {
         this(alias, aliased, (Field<?>[]) null, null);
     }
@@ -328,18 +333,18 @@ public class JGithubCredentials extends TableImpl<JGithubCredentialsRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row9 type methods
+    // Row10 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row9<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime> fieldsRow() {
-        return (Row9) super.fieldsRow();
+    public Row10<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime, String> fieldsRow() {
+        return (Row10) super.fieldsRow();
     }
 
     /**
      * Convenience mapping calling {@link SelectField#convertFrom(Function)}.
      */
-    public <U> SelectField<U> mapping(Function9<? super UUID, ? super UUID, ? super String, ? super String, ? super String, ? super String, ? super Boolean, ? super LocalDateTime, ? super LocalDateTime, ? extends U> from) {
+    public <U> SelectField<U> mapping(Function10<? super UUID, ? super UUID, ? super String, ? super String, ? super String, ? super String, ? super Boolean, ? super LocalDateTime, ? super LocalDateTime, ? super String, ? extends U> from) {
         return convertFrom(Records.mapping(from));
     }
 
@@ -347,7 +352,7 @@ public class JGithubCredentials extends TableImpl<JGithubCredentialsRecord> {
      * Convenience mapping calling {@link SelectField#convertFrom(Class,
      * Function)}.
      */
-    public <U> SelectField<U> mapping(Class<U> toType, Function9<? super UUID, ? super UUID, ? super String, ? super String, ? super String, ? super String, ? super Boolean, ? super LocalDateTime, ? super LocalDateTime, ? extends U> from) {
+    public <U> SelectField<U> mapping(Class<U> toType, Function10<? super UUID, ? super UUID, ? super String, ? super String, ? super String, ? super String, ? super Boolean, ? super LocalDateTime, ? super LocalDateTime, ? super String, ? extends U> from) {
         return convertFrom(toType, Records.mapping(from));
     }
 }
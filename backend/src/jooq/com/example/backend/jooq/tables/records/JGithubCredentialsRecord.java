@@ -11,8 +11,8 @@ import java.util.UUID;
 
 import org.jooq.Field;
 import org.jooq.Record1;
-import org.jooq.Record9;
-import org.jooq.Row9;
+import org.jooq.Record10;
+import org.jooq.Row10;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -20,7 +20,7 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
-public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredentialsRecord> implements Record9<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime> {
+public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredentialsRecord> implements Record10<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime, String> {
 
     private static final long serialVersionUID = 1L;
 
@@ -150,6 +150,20 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
         return (LocalDateTime) get(8);
     }
 
+    /**
+     * Setter for <code>public.github_credentials.collection_mode</code>.
+     */
+    public void setCollectionMode(String value) {
+        set(9, value);
+    }
+
+    /**
+     * Getter for <code>public.github_credentials.collection_mode</code>.
+     */
+    public String getCollectionMode() {
+        return (String) get(9);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -160,17 +174,17 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
     }
 
     // -------------------------------------------------------------------------
-    // Record9 type implementation
+    // Record10 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row9<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime> fieldsRow() {
-        return (Row9) super.fieldsRow();
+    public Row10<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime, String> fieldsRow() {
+        return (Row10) super.fieldsRow();
     }
 
     @Override
-    public Row9<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime> valuesRow() {
-        return (Row9) super.valuesRow();
+    public Row10<UUID, UUID, String, String, String, String, Boolean, LocalDateTime, LocalDateTime, String> valuesRow() {
+        return (Row10) super.valuesRow();
     }
 
     @Override
@@ -218,6 +232,11 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
         return JGithubCredentials.GITHUB_CREDENTIALS.UPDATED_AT;
     }
 
+    @Override
+    public Field<String> field10() {
+        return JGithubCredentials.GITHUB_CREDENTIALS.COLLECTION_MODE;
+    }
+
     @Override
     public UUID component1() {
         return getId();
@@ -263,6 +282,11 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
         return getUpdatedAt();
     }
 
+    @Override
+    public String component10() {
+        return getCollectionMode();
+    }
+
     @Override
     public UUID value1() {
         return getId();
@@ -308,6 +332,11 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
         return getUpdatedAt();
     }
 
+    @Override
+    public String value10() {
+        return getCollectionMode();
+    }
+
     @Override
     public JGithubCredentialsRecord value1(UUID value) {
         setId(value);
@@ -363,7 +392,13 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
     }
 
     @Override
-    public JGithubCredentialsRecord values(UUID value1, UUID value2, String value3, String value4, String value5, String value6, Boolean value7, LocalDateTime value8, LocalDateTime value9) {
+    public JGithubCredentialsRecord value10(String value) {
+        setCollectionMode(value);
+        return this;
+    }
+
+    @Override
+    public JGithubCredentialsRecord values(UUID value1, UUID value2, String value3, String value4, String value5, String value6, Boolean value7, LocalDateTime value8, LocalDateTime value9, String value10) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -373,6 +408,7 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
         value7(value7);
         value8(value8);
         value9(value9);
+        value10(value10);
         return this;
     }
 
@@ -390,7 +426,7 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
     /**
      * Create a detached, initialised JGithubCredentialsRecord
      */
-    public JGithubCredentialsRecord(UUID id, UUID userId, String apiKey, String baseUrl, String owner, String repo, Boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    public JGithubCredentialsRecord(UUID id, UUID userId, String apiKey, String baseUrl, String owner, String repo, Boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt, String collectionMode) {
         super(JGithubCredentials.GITHUB_CREDENTIALS);
 
         setId(id);
@@ -402,6 +438,7 @@ public class JGithubCredentialsRecord extends UpdatableRecordImpl<JGithubCredent
         setIsActive(isActive);
         setCreatedAt(createdAt);
         setUpdatedAt(updatedAt);
+        setCollectionMode(collectionMode);
         resetChangedOnNotNull();
     }
 }
@@ -1,5 +1,6 @@
 package com.example.backend.application.dto.credentials.github;
 
+import com.example.backend.domain.credentials.github.GitHubCollectionMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -20,4 +21,7 @@ public class GitHubCredentialCreateRequestDto {
     
     @Schema(description = "リポジトリ名", example = "Hello-World")
     private String repo;
+    
+    @Schema(description = "データ収集方式（REST / GRAPHQL）", example = "REST", defaultValue = "REST")
+    private GitHubCollectionMode collectionMode;
 }
\ No newline at end of file
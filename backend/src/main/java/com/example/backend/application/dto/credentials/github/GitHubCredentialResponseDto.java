@@ -1,5 +1,6 @@
 package com.example.backend.application.dto.credentials.github;
 
+import com.example.backend.domain.credentials.github.GitHubCollectionMode;
 import com.example.backend.domain.credentials.github.GitHubCredential;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
@@ -34,6 +35,9 @@ public class GitHubCredentialResponseDto {
     @Schema(description = "完全なリポジトリ名", example = "octocat/Hello-World")
     private String fullRepoName;
     
+    @Schema(description = "データ収集方式（REST / GRAPHQL）", example = "REST")
+    private GitHubCollectionMode collectionMode;
+    
     @Schema(description = "アクティブ状態", example = "true")
     private boolean isActive;
     
@@ -52,6 +56,7 @@ public class GitHubCredentialResponseDto {
                 .owner(credential.getOwner())
                 .repo(credential.getRepo())
                 .fullRepoName(credential.getFullRepoName())
+                .collectionMode(credential.getCollectionMode())
                 .isActive(credential.isActive())
                 .createdAt(credential.getCreatedAt())
                 .updatedAt(credential.getUpdatedAt())
@@ -0,0 +1,21 @@
+package com.example.backend.application.dto.reports;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 日報サマリーDTO
+ * 日報一覧表示用の軽量な情報を転送するためのDTO
+ */
+@Getter
+@Builder
+public class DailyReportSummaryDto {
+    
+    private final UUID id;
+    private final LocalDate reportDate;
+    private final String excerpt;
+    private final LocalDateTime updatedAt;
+}
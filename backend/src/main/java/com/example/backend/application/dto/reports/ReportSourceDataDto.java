@@ -0,0 +1,26 @@
+package com.example.backend.application.dto.reports;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 日報生成用ソースデータDTO
+ * GitHub・Toggl・Notionから収集したデータ（JSON文字列）をまとめて転送するためのDTO
+ */
+@Getter
+@Builder
+public class ReportSourceDataDto {
+
+    private final String githubData;
+    private final String togglData;
+    private final String notionData;
+
+    /**
+     * 3サービスすべてのデータがそろっているか
+     *
+     * @return いずれのデータもnullでない場合true
+     */
+    public boolean isComplete() {
+        return githubData != null && togglData != null && notionData != null;
+    }
+}
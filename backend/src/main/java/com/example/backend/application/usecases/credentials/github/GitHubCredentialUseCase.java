@@ -3,6 +3,7 @@ package com.example.backend.application.usecases.credentials.github;
 import com.example.backend.application.dto.credentials.github.GitHubCredentialCreateRequestDto;
 import com.example.backend.application.dto.credentials.github.GitHubCredentialResponseDto;
 import com.example.backend.common.exceptions.CredentialNotFoundException;
+import com.example.backend.domain.credentials.github.GitHubCollectionMode;
 import com.example.backend.domain.credentials.github.GitHubCredential;
 import com.example.backend.domain.credentials.github.IGitHubCredentialRepository;
 import com.example.backend.infrastructure.github.GitHubApiService;
@@ -43,6 +44,7 @@ public class GitHubCredentialUseCase {
                 .baseUrl(request.getBaseUrl() != null ? request.getBaseUrl() : "https://api.github.com")
                 .owner(request.getOwner())
                 .repo(request.getRepo())
+                .collectionMode(request.getCollectionMode() != null ? request.getCollectionMode() : GitHubCollectionMode.REST)
                 .isActive(true)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -0,0 +1,56 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.domain.credentials.toggl.ITogglCredentialRepository;
+import com.example.backend.domain.reports.DayWindow;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 日報の対象日をユーザーのタイムゾーンでの時刻範囲に変換するコンポーネント
+ * タイムゾーンはToggl認証情報に保存されたタイムゾーンを使い、未設定・不正な場合は既定のタイムゾーンを使う
+ */
+@Component
+@RequiredArgsConstructor
+public class DayWindowResolver {
+
+    private final ITogglCredentialRepository togglCredentialRepository;
+    private final CollectionProperties collectionProperties;
+
+    /**
+     * ユーザーのタイムゾーンでの対象日の範囲を取得
+     *
+     * @param userId ユーザーID
+     * @param date 対象日
+     * @return 対象日の範囲
+     */
+    public DayWindow resolve(UUID userId, LocalDate date) {
+        return DayWindow.of(date, resolveZone(userId));
+    }
+
+    private ZoneId resolveZone(UUID userId) {
+        return togglCredentialRepository.findActiveByUserId(userId).stream()
+            .map(credential -> parseZone(credential.getTimeZone()))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(collectionProperties.getDefaultTimeZone());
+    }
+
+    private ZoneId parseZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return null;
+        }
+        try {
+            return ZoneId.of(timeZone.trim());
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
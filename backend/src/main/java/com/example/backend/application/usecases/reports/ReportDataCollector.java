@@ -0,0 +1,477 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.application.dto.reports.ReportSourceDataDto;
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.domain.credentials.github.IGitHubCredentialRepository;
+import com.example.backend.domain.credentials.notion.INotionCredentialRepository;
+import com.example.backend.domain.credentials.toggl.ITogglCredentialRepository;
+import com.example.backend.domain.credentials.toggl.TogglCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.domain.reports.ReportDataSource;
+import com.example.backend.infrastructure.cache.SourceDataCache;
+import com.example.backend.infrastructure.cache.SourceDataCacheKey;
+import com.example.backend.infrastructure.github.GitHubApiService;
+import com.example.backend.infrastructure.github.GitHubGraphQlApiService;
+import com.example.backend.infrastructure.github.dto.GitHubCommitDto;
+import com.example.backend.infrastructure.notion.NotionApiService;
+import com.example.backend.infrastructure.notion.NotionIncrementalSync;
+import com.example.backend.infrastructure.notion.NotionPageContentService;
+import com.example.backend.infrastructure.notion.dto.NotionPageDto;
+import com.example.backend.infrastructure.toggl.TogglApiService;
+import com.example.backend.infrastructure.toggl.TogglApiService.TogglReportSummary;
+import com.example.backend.infrastructure.toggl.dto.TogglTimeEntryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 日報生成用データ収集コンポーネント
+ * GitHub・Toggl・Notionの3サービスから並列にデータを収集する
+ * 外部APIの呼び出しはサービスごとのサーキットブレーカーとバルクヘッドで保護し、
+ * 障害中のサービスは待たずに「利用不可」として扱う
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportDataCollector {
+
+    private final GitHubApiService gitHubApiService;
+    private final GitHubGraphQlApiService gitHubGraphQlApiService;
+    private final TogglApiService togglApiService;
+    private final NotionApiService notionApiService;
+    private final NotionIncrementalSync notionIncrementalSync;
+    private final NotionPageContentService notionPageContentService;
+    private final IGitHubCredentialRepository gitHubCredentialRepository;
+    private final ITogglCredentialRepository togglCredentialRepository;
+    private final INotionCredentialRepository notionCredentialRepository;
+    private final SourceDataCache sourceDataCache;
+    private final CollectionProperties collectionProperties;
+    private final DayWindowResolver dayWindowResolver;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 3サービスからデータを並列収集する
+     * 各サービスは個別の締め切り時間を持ち、失敗・タイムアウトしたサービスはエラー情報に置き換えて
+     * 残りのサービスの結果だけで処理を続行する（部分結果）
+     *
+     * @param userId ユーザーID
+     * @param date 対象日
+     * @return 収集したソースデータ
+     */
+    public ReportSourceDataDto collect(UUID userId, LocalDate date) {
+        return collect(userId, date, false);
+    }
+
+    /**
+     * キャッシュを使わずに3サービスからデータを並列収集し、キャッシュを最新の値で置き換える
+     *
+     * @param userId ユーザーID
+     * @param date 対象日
+     * @return 収集したソースデータ
+     */
+    public ReportSourceDataDto refresh(UUID userId, LocalDate date) {
+        return collect(userId, date, true, null);
+    }
+
+    /**
+     * 収集済みのデータのうち、欠けている（nullの）サービスだけを並列に収集する
+     * 保存済みスナップショットで取得に失敗していたサービスを、再生成時に取り直すために使う
+     *
+     * @param userId ユーザーID
+     * @param date 対象日
+     * @param collected 収集済みのソースデータ（nullのサービスだけ収集する）
+     * @return 欠けていたサービスを補ったソースデータ
+     */
+    public ReportSourceDataDto collectMissing(UUID userId, LocalDate date, ReportSourceDataDto collected) {
+        return collect(userId, date, false, collected);
+    }
+
+    private ReportSourceDataDto collect(UUID userId, LocalDate date, boolean refresh) {
+        return collect(userId, date, refresh, null);
+    }
+
+    private ReportSourceDataDto collect(UUID userId, LocalDate date, boolean refresh, ReportSourceDataDto collected) {
+        // 対象日をユーザーのタイムゾーンでの時刻範囲に変換し、全サービスで同じ範囲を使う
+        DayWindow window = dayWindowResolver.resolve(userId, date);
+
+        Mono<String> github = collected != null && collected.getGithubData() != null
+            ? Mono.just(collected.getGithubData())
+            : collectSource(ReportDataSource.GITHUB, () -> collectGitHubData(userId, window, refresh), collectionProperties.getGithubTimeout());
+        Mono<String> toggl = collected != null && collected.getTogglData() != null
+            ? Mono.just(collected.getTogglData())
+            : collectSource(ReportDataSource.TOGGL, () -> collectTogglData(userId, window, refresh), collectionProperties.getTogglTimeout());
+        Mono<String> notion = collected != null && collected.getNotionData() != null
+            ? Mono.just(collected.getNotionData())
+            : collectSource(ReportDataSource.NOTION, () -> collectNotionData(userId, window, refresh), collectionProperties.notionDeadline());
+
+        return Mono.zip(github, toggl, notion)
+            .map(sources -> ReportSourceDataDto.builder()
+                .githubData(sources.getT1())
+                .togglData(sources.getT2())
+                .notionData(sources.getT3())
+                .build())
+            .block();
+    }
+
+    /**
+     * 1サービス分の収集処理を締め切り付きのMonoとして組み立てる
+     * 既存のAPIクライアントはブロッキングのため、boundedElasticスケジューラ上で実行する
+     */
+    private Mono<String> collectSource(ReportDataSource source, Callable<String> collector, Duration timeout) {
+        String sourceName = source.getDisplayName();
+        return Mono.fromCallable(collector)
+            .subscribeOn(Schedulers.boundedElastic())
+            .timeout(timeout)
+            .onErrorResume(TimeoutException.class, e -> Mono.just(
+                errorJson(sourceName + "データの取得がタイムアウトしました（" + timeout.toMillis() + "ms）")))
+            .onErrorResume(e -> Mono.just(
+                errorJson(sourceName + "データの取得に失敗しました: " + e.getMessage())));
+    }
+
+    /**
+     * GitHubからデータを収集
+     */
+    private String collectGitHubData(UUID userId, DayWindow window, boolean refresh) {
+        LocalDate date = window.date();
+        try {
+            // アクティブなGitHub認証情報を取得
+            var activeCredentials = gitHubCredentialRepository.findActiveByUserId(userId);
+
+            if (activeCredentials.isEmpty()) {
+                return errorJson("アクティブなGitHub認証情報がありません");
+            }
+
+            var credential = activeCredentials.get(0);
+
+            // GitHub APIから指定日のコミット履歴を、設定済みリポジトリとその日に作業したリポジトリを横断して取得
+            // （認証情報の収集方式に応じてREST / GraphQLを切り替える。どちらも同じDTOに正規化される）
+            List<GitHubCommitDto> commits = fetchThroughCache(
+                new SourceDataCacheKey(ReportDataSource.GITHUB, credential.getId(), window),
+                () -> credential.usesGraphQl()
+                    ? gitHubGraphQlApiService.getCommitsByDateAcrossRepositories(credential, window)
+                    : gitHubApiService.getCommitsByDateAcrossRepositories(credential, window),
+                refresh
+            );
+
+            // データをJSON形式で構造化
+            var githubData = Map.of(
+                "source", "GitHub",
+                "date", date.toString(),
+                "repository", repositoryEntry(credential.getOwner(), credential.getRepo()),
+                "repositories", commits.stream().map(GitHubCommitDto::getRepository).distinct().toList(),
+                "commits", commits.stream().map(ReportDataCollector::commitEntry).toList(),
+                "summary", Map.of(
+                    "totalCommits", commits.size(),
+                    "totalAdditions", commits.stream().mapToInt(c -> c.getStats() != null ? c.getStats().getAdditions() : 0).sum(),
+                    "totalDeletions", commits.stream().mapToInt(c -> c.getStats() != null ? c.getStats().getDeletions() : 0).sum()
+                )
+            );
+
+            return objectMapper.writeValueAsString(githubData);
+
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            return unavailableJson(ReportDataSource.GITHUB);
+        } catch (Exception e) {
+            return errorJson("GitHubデータの取得に失敗しました: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 設定済みリポジトリのデータ
+     */
+    private static Map<String, Object> repositoryEntry(String owner, String name) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("owner", owner);
+        entry.put("name", name);
+        return entry;
+    }
+
+    /**
+     * コミット1件分のデータ
+     * 取得経路（REST / GraphQL）によって欠ける項目があるため、Map.ofではなくnullを許容するMapで組み立てる
+     */
+    private static Map<String, Object> commitEntry(GitHubCommitDto commit) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("repository", commit.getRepository());
+        entry.put("sha", commit.getShortSha());
+        entry.put("message", commit.getCommitMessage());
+        entry.put("author", commit.getAuthorName());
+        entry.put("date", commit.getCommitDate());
+        entry.put("additions", commit.getStats() != null ? commit.getStats().getAdditions() : 0);
+        entry.put("deletions", commit.getStats() != null ? commit.getStats().getDeletions() : 0);
+        entry.put("pullRequests", commit.getPullRequests() != null
+            ? commit.getPullRequests().stream().map(ReportDataCollector::pullRequestEntry).toList()
+            : List.of());
+        return entry;
+    }
+
+    /**
+     * コミットに関連するプルリクエスト1件分のデータ
+     */
+    private static Map<String, Object> pullRequestEntry(GitHubCommitDto.PullRequestRef pullRequest) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("number", pullRequest.getNumber());
+        entry.put("title", pullRequest.getTitle());
+        entry.put("state", pullRequest.getState());
+        entry.put("reviewCount", pullRequest.getReviewCount());
+        entry.put("reviewers", pullRequest.getReviewers() != null ? pullRequest.getReviewers() : List.of());
+        return entry;
+    }
+
+    /**
+     * Togglからデータを収集
+     */
+    private String collectTogglData(UUID userId, DayWindow window, boolean refresh) {
+        LocalDate date = window.date();
+        try {
+            // アクティブなToggl認証情報を取得
+            var activeCredentials = togglCredentialRepository.findActiveByUserId(userId);
+
+            if (activeCredentials.isEmpty()) {
+                return errorJson("アクティブなToggl認証情報がありません");
+            }
+
+            var credential = activeCredentials.get(0);
+
+            if (collectionProperties.getTogglMode() == CollectionProperties.TogglMode.REPORTS) {
+                return collectTogglReportData(credential, window, refresh);
+            }
+
+            // Toggl APIから指定日の時間記録を取得
+            List<TogglTimeEntryDto> timeEntries = fetchThroughCache(
+                new SourceDataCacheKey(ReportDataSource.TOGGL, credential.getId(), window,
+                    CollectionProperties.TogglMode.TIME_ENTRIES.name()),
+                () -> togglApiService.getTimeEntriesByDate(credential, window),
+                refresh
+            );
+
+            // データをJSON形式で構造化
+            var togglData = Map.of(
+                "source", "Toggl Track",
+                "date", date.toString(),
+                "workspaceId", credential.getWorkspaceId() != null ? credential.getWorkspaceId() : 0,
+                "timeEntries", timeEntries.stream().map(entry -> Map.of(
+                    "id", entry.getId() != null ? entry.getId() : 0,
+                    "description", entry.getDescription() != null ? entry.getDescription() : "",
+                    "start", entry.getStart() != null ? entry.getStart().toString() : "",
+                    "stop", entry.getStop() != null ? entry.getStop().toString() : "",
+                    "duration", entry.getDuration() != null ? entry.getDuration() : 0,
+                    "durationHours", entry.getDurationHours(),
+                    "formattedDuration", entry.getFormattedDuration(),
+                    "projectId", entry.getProjectId() != null ? entry.getProjectId() : 0,
+                    "tags", entry.getTags() != null ? entry.getTags() : List.of(),
+                    "billable", entry.getBillable() != null ? entry.getBillable() : false
+                )).toList(),
+                "summary", Map.of(
+                    "totalEntries", timeEntries.size(),
+                    "totalDurationSeconds", timeEntries.stream().mapToLong(e -> e.getDuration() != null ? e.getDuration() : 0L).sum(),
+                    "totalHours", timeEntries.stream().mapToDouble(TogglTimeEntryDto::getDurationHours).sum(),
+                    "billableEntries", (int) timeEntries.stream().filter(e -> Boolean.TRUE.equals(e.getBillable())).count()
+                )
+            );
+
+            return objectMapper.writeValueAsString(togglData);
+
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            return unavailableJson(ReportDataSource.TOGGL);
+        } catch (Exception e) {
+            return errorJson("Togglデータの取得に失敗しました: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Toggl Reports APIでサーバー側集計した作業時間を収集
+     * 時間記録ごとの開始・終了時刻は含まず、プロジェクト別（説明別の内訳付き）・タグ別の合計時間を返す
+     */
+    private String collectTogglReportData(TogglCredential credential, DayWindow window, boolean refresh)
+        throws JsonProcessingException {
+        LocalDate date = window.date();
+        // 取得方式ごとにキャッシュする値の型が異なるため、キーに方式を含める
+        TogglReportSummary report = fetchThroughCache(
+            new SourceDataCacheKey(ReportDataSource.TOGGL, credential.getId(), window,
+                CollectionProperties.TogglMode.REPORTS.name()),
+            () -> togglApiService.getReportSummary(credential, window),
+            refresh
+        );
+
+        var togglData = Map.of(
+            "source", "Toggl Track",
+            "date", date.toString(),
+            "workspaceId", report.workspaceId() != null ? report.workspaceId() : 0,
+            "projects", report.projects().stream().map(project -> Map.of(
+                "projectId", project.projectId() != null ? project.projectId() : 0,
+                "durationSeconds", project.seconds(),
+                "durationHours", project.seconds() / 3600.0,
+                "entries", project.entries().stream().map(entry -> Map.of(
+                    "description", entry.description(),
+                    "durationSeconds", entry.seconds()
+                )).toList()
+            )).toList(),
+            "tags", report.tags().stream().map(tag -> Map.of(
+                "name", tag.name(),
+                "durationSeconds", tag.seconds(),
+                "durationHours", tag.seconds() / 3600.0
+            )).toList(),
+            "summary", Map.of(
+                "totalProjects", report.projects().size(),
+                "totalDurationSeconds", report.totalSeconds(),
+                "totalHours", report.totalSeconds() / 3600.0
+            )
+        );
+
+        return objectMapper.writeValueAsString(togglData);
+    }
+
+    /**
+     * Notionからデータを収集
+     */
+    private String collectNotionData(UUID userId, DayWindow window, boolean refresh) {
+        LocalDate date = window.date();
+        try {
+            // アクティブなNotion認証情報を取得
+            var activeCredentials = notionCredentialRepository.findActiveByUserId(userId);
+
+            if (activeCredentials.isEmpty()) {
+                return errorJson("アクティブなNotion認証情報がありません");
+            }
+
+            var credential = activeCredentials.get(0);
+
+            // Notion APIから指定日のページ情報を取得
+            // データベースIDが設定されている場合はそのデータベースから取得
+            List<NotionPageDto> pages = fetchThroughCache(
+                new SourceDataCacheKey(ReportDataSource.NOTION, credential.getId(), window),
+                () -> {
+                    if (credential.getDatabaseId() != null && !credential.getDatabaseId().trim().isEmpty()) {
+                        // 設定されたデータベースから取得
+                        String databaseId = credential.getDatabaseId();
+                        return collectionProperties.isNotionIncrementalSync()
+                            ? notionIncrementalSync.getPagesCreatedIn(credential, databaseId, window)
+                            : notionApiService.getPagesByDatabase(credential, databaseId, window);
+                    }
+                    // 全体検索で日付に関連するページを取得
+                    String query = date.toString(); // 日付をクエリとして使用
+                    return notionApiService.searchPages(credential, query);
+                },
+                refresh
+            );
+
+            // ページ本文をブロックから取得（ページIDと最終編集日時でキャッシュされ、未更新のページは再取得しない）
+            // 締め切りを過ぎた・取得に失敗したページは本文を空にして、ページ情報だけを使う
+            Map<String, String> contents = collectionProperties.isNotionPageContent()
+                ? notionPageContentService.getContents(credential, pages)
+                : Map.of();
+
+            // データをJSON形式で構造化
+            var notionData = Map.of(
+                "source", "Notion",
+                "date", date.toString(),
+                "databaseId", credential.getDatabaseId() != null ? credential.getDatabaseId() : "",
+                "pages", pages.stream().map(page -> Map.of(
+                    "id", page.getId() != null ? page.getId() : "",
+                    "title", page.getTitle() != null ? page.getTitle() : "",
+                    "url", page.getUrl() != null ? page.getUrl() : "",
+                    "createdTime", page.getCreatedTime() != null ? page.getCreatedTime().toString() : "",
+                    "lastEditedTime", page.getLastEditedTime() != null ? page.getLastEditedTime().toString() : "",
+                    "archived", page.getArchived() != null ? page.getArchived() : false,
+                    "createdBy", page.getCreatedBy() != null && page.getCreatedBy().getName() != null ?
+                        page.getCreatedBy().getName() : "",
+                    "parentType", page.getParent() != null && page.getParent().getType() != null ?
+                        page.getParent().getType() : "",
+                    "content", page.getId() != null ? contents.getOrDefault(page.getId(), "") : ""
+                )).toList(),
+                "summary", Map.of(
+                    "totalPages", pages.size(),
+                    "createdToday", (int) pages.stream()
+                        .filter(p -> window.containsUtc(p.getCreatedTime()))
+                        .count(),
+                    "editedToday", (int) pages.stream()
+                        .filter(p -> window.containsUtc(p.getLastEditedTime()))
+                        .count()
+                )
+            );
+
+            return objectMapper.writeValueAsString(notionData);
+
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            return unavailableJson(ReportDataSource.NOTION);
+        } catch (Exception e) {
+            return errorJson("Notionデータの取得に失敗しました: " + e.getMessage());
+        }
+    }
+
+    /**
+     * キャッシュ経由で外部APIから取得する（refresh指定時はキャッシュを置き換える）
+     * キャッシュに載っていない場合の外部API呼び出しだけをサーキットブレーカーとバルクヘッドで保護する
+     */
+    private <T> T fetchThroughCache(SourceDataCacheKey key, Supplier<T> loader, boolean refresh) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(
+            bulkheadFor(key.source()),
+            CircuitBreaker.decorateSupplier(circuitBreakerFor(key.source()), loader)
+        );
+        return refresh ? sourceDataCache.refresh(key, guarded) : sourceDataCache.get(key, guarded);
+    }
+
+    /**
+     * データソースのサーキットブレーカーを取得（インスタンス名はデータソース名の小文字。設定は resilience4j.circuitbreaker.instances 配下）
+     */
+    private CircuitBreaker circuitBreakerFor(ReportDataSource source) {
+        return circuitBreakerRegistry.circuitBreaker(source.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * データソースのバルクヘッドを取得（インスタンス名はデータソース名の小文字。設定は resilience4j.bulkhead.instances 配下）
+     */
+    private Bulkhead bulkheadFor(ReportDataSource source) {
+        return bulkheadRegistry.bulkhead(source.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * サーキットブレーカーが開いている、または同時呼び出し数の上限に達しているサービスの結果
+     * 他のサービスの結果だけで日報を生成できるよう、エラー情報に利用不可の印を付けて返す
+     */
+    private String unavailableJson(ReportDataSource source) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                "error", source.getDisplayName() + "は現在利用できないため、データを取得しませんでした",
+                "unavailable", true
+            ));
+        } catch (JsonProcessingException e) {
+            return "{\"error\": \"データの取得に失敗しました\", \"unavailable\": true}";
+        }
+    }
+
+    /**
+     * エラー情報をJSON文字列に変換
+     * メッセージに引用符などが含まれてもJSONとして壊れないようにObjectMapperでエスケープする
+     */
+    private String errorJson(String message) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("error", message));
+        } catch (JsonProcessingException e) {
+            return "{\"error\": \"データの取得に失敗しました\"}";
+        }
+    }
+}
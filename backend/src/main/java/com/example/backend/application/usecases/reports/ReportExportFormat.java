@@ -0,0 +1,44 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.exceptions.ReportValidationException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * 日報エクスポート形式
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReportExportFormat {
+    
+    /**
+     * 1行1日報のJSON（改行区切りJSON）
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    
+    /**
+     * 1日報1ファイルのMarkdownをまとめたZIPアーカイブ
+     */
+    MARKDOWN("application/zip", "zip");
+    
+    private final String mediaType;
+    private final String fileExtension;
+    
+    /**
+     * クエリパラメータの文字列からエクスポート形式を解決（大文字小文字は区別しない）
+     * 
+     * @param value 形式名（ndjson / markdown）
+     * @return エクスポート形式
+     * @throws ReportValidationException 未対応の形式の場合
+     */
+    public static ReportExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ReportValidationException("未対応のエクスポート形式です: " + value);
+        }
+    }
+}
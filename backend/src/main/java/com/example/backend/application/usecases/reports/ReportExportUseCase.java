@@ -0,0 +1,205 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.ExportProperties;
+import com.example.backend.common.exceptions.ReportExportRejectedException;
+import com.example.backend.common.util.DailyReportMapper;
+import com.example.backend.domain.reports.DailyReport;
+import com.example.backend.domain.reports.IDailyReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 日報エクスポートユースケース
+ * サーバーサイドカーソルで1行ずつ読み出しながら出力ストリームへ書き込むため、
+ * 日報の件数に関わらずヒープ使用量は一定に保たれる。
+ * エクスポート中はクライアントの受信が終わるまでDBコネクションを保持するため、
+ * 同時実行数と1回あたりの実行時間を制限して、日報生成などが使うコネクションを残す
+ */
+@Service
+public class ReportExportUseCase {
+    
+    /**
+     * 出力ストリームをフラッシュする間隔（日報件数）
+     */
+    private static final int FLUSH_INTERVAL = 100;
+    
+    private final IDailyReportRepository dailyReportRepository;
+    private final DailyReportMapper dailyReportMapper;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
+    private final Semaphore exportSlots;
+    
+    public ReportExportUseCase(
+        IDailyReportRepository dailyReportRepository,
+        DailyReportMapper dailyReportMapper,
+        ObjectMapper objectMapper,
+        ExportProperties exportProperties
+    ) {
+        this.dailyReportRepository = dailyReportRepository;
+        this.dailyReportMapper = dailyReportMapper;
+        this.objectMapper = objectMapper;
+        this.exportProperties = exportProperties;
+        this.exportSlots = new Semaphore(exportProperties.getMaxConcurrentExports());
+    }
+    
+    /**
+     * エクスポートの実行枠を確保する
+     * レスポンスの書き込みを始める前に呼び出し、エクスポートが終わったら枠をcloseする
+     * 
+     * @return 確保した実行枠
+     * @throws ReportExportRejectedException 同時に実行できるエクスポート数の上限に達している場合
+     */
+    public ExportSlot reserve() {
+        if (!exportSlots.tryAcquire()) {
+            throw new ReportExportRejectedException("エクスポートが混雑しています。しばらくしてから再度お試しください");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                exportSlots.release();
+            }
+        };
+    }
+    
+    /**
+     * ユーザーの日報を指定形式で出力ストリームへ書き出す
+     * PostgreSQLのカーソル読み出しはトランザクション内でのみ有効なため、読み取り専用トランザクションで実行する
+     * 
+     * @param userId ユーザーID
+     * @param startDate 開始日（オプション）
+     * @param endDate 終了日（オプション）
+     * @param format エクスポート形式
+     * @param outputStream 書き込み先（クローズは呼び出し側が行う）
+     * @throws IOException 書き込みに失敗した場合、または制限時間を超えた場合
+     */
+    @Transactional(readOnly = true)
+    public void export(
+        UUID userId,
+        LocalDate startDate,
+        LocalDate endDate,
+        ReportExportFormat format,
+        OutputStream outputStream
+    ) throws IOException {
+        Instant deadline = Instant.now().plus(exportProperties.getMaxDuration());
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(userId, startDate, endDate, deadline, outputStream);
+                case MARKDOWN -> writeMarkdownArchive(userId, startDate, endDate, deadline, outputStream);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * 1日報を1行のJSONとして書き出す
+     */
+    private void writeNdjson(
+        UUID userId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Instant deadline,
+        OutputStream outputStream
+    ) {
+        int[] written = {0};
+        dailyReportRepository.forEachByUserId(userId, startDate, endDate, report -> {
+            try {
+                checkDeadline(deadline);
+                // writeValue(OutputStream) は書き込み後にストリームを閉じるため、バイト列に変換してから書き込む
+                outputStream.write(objectMapper.writeValueAsBytes(dailyReportMapper.toDto(report)));
+                outputStream.write('\n');
+                if (++written[0] % FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        flush(outputStream);
+    }
+    
+    /**
+     * 1日報を1つのMarkdownファイル（yyyy-MM-dd.md）としてZIPに書き出す
+     */
+    private void writeMarkdownArchive(
+        UUID userId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Instant deadline,
+        OutputStream outputStream
+    ) {
+        ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+        dailyReportRepository.forEachByUserId(userId, startDate, endDate, report -> {
+            try {
+                checkDeadline(deadline);
+                zip.putNextEntry(new ZipEntry(report.getReportDate() + ".md"));
+                zip.write(toMarkdown(report).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            // 呼び出し側のストリームは閉じずに、ZIPの終端だけ書き込む
+            zip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush(outputStream);
+    }
+    
+    /**
+     * 日報をMarkdown文書に変換
+     */
+    private String toMarkdown(DailyReport report) {
+        StringBuilder markdown = new StringBuilder()
+            .append("# 日報 ").append(report.getReportDate()).append("\n\n")
+            .append(report.getDisplayContent()).append("\n");
+        
+        if (report.getAdditionalNotes() != null && !report.getAdditionalNotes().isBlank()) {
+            markdown.append("\n## 追加メモ\n\n").append(report.getAdditionalNotes()).append("\n");
+        }
+        return markdown.toString();
+    }
+    
+    /**
+     * 制限時間を超えていれば書き込みを中断する（カーソルを閉じてトランザクションを終え、コネクションを返す）
+     */
+    private void checkDeadline(Instant deadline) throws IOException {
+        if (Instant.now().isAfter(deadline)) {
+            throw new IOException("エクスポートが制限時間（" + exportProperties.getMaxDuration() + "）を超えたため中断しました");
+        }
+    }
+    
+    private void flush(OutputStream outputStream) {
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * エクスポートの実行枠（closeすると枠を返す。複数回呼んでも1回だけ返す）
+     */
+    @FunctionalInterface
+    public interface ExportSlot extends AutoCloseable {
+        
+        @Override
+        void close();
+    }
+}
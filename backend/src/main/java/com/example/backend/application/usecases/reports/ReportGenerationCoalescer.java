@@ -0,0 +1,193 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.common.config.IdempotencyProperties;
+import com.example.backend.common.exceptions.ReportGenerationConflictException;
+import com.example.backend.common.exceptions.ReportGenerationException;
+import com.example.backend.common.exceptions.ReportValidationException;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 日報生成リクエストの重複排除
+ * 同じユーザー・同じ対象日・同じ内容の生成が実行中であれば、新たに生成せず実行中の結果を待って同じレスポンスを返す。
+ * 実行中の生成と内容が異なる場合は、待たずに競合として扱う。
+ * 実行中の生成を待つのは、データ収集とAI生成の締め切りを合わせた時間までとする。
+ * Idempotency-Key付きで完了した生成結果は保持期間のあいだ保存し、同じキーでの再送にはそのまま返す
+ */
+@Component
+public class ReportGenerationCoalescer {
+    
+    private final IdempotencyProperties properties;
+    private final CollectionProperties collectionProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<InFlightKey, InFlightGeneration> inFlight = new ConcurrentHashMap<>();
+    private final Cache<ReplayKey, CompletedGeneration> completed;
+    
+    public ReportGenerationCoalescer(
+        IdempotencyProperties properties,
+        CollectionProperties collectionProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.collectionProperties = collectionProperties;
+        this.meterRegistry = meterRegistry;
+        this.completed = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getRetention())
+            .recordStats()
+            .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "reportIdempotency");
+    }
+    
+    /**
+     * 重複を排除して日報を生成する
+     * 
+     * @param userId ユーザーID
+     * @param request 日報生成リクエスト（対象日が設定済みであること）
+     * @param idempotencyKey Idempotency-Keyヘッダーの値（未指定の場合null）
+     * @param generator 実際の生成処理
+     * @return 生成結果レスポンス（重複したリクエストには最初のリクエストと同じレスポンス）
+     * @throws ReportValidationException 同じキーが別の内容のリクエストで使われている場合
+     * @throws ReportGenerationConflictException 同じ対象日の生成が別の内容で実行中の場合
+     * @throws ReportGenerationException 実行中の生成が待機の上限までに完了しなかった場合
+     */
+    public ReportGenerationResponseDto execute(
+        UUID userId,
+        ReportGenerationRequestDto request,
+        String idempotencyKey,
+        Supplier<ReportGenerationResponseDto> generator
+    ) {
+        ReplayKey replayKey = toReplayKey(userId, idempotencyKey);
+        if (replayKey != null) {
+            CompletedGeneration previous = completed.getIfPresent(replayKey);
+            if (previous != null) {
+                if (!previous.payload().equals(RequestPayload.of(request))) {
+                    throw new ReportValidationException("Idempotency-Keyが別の内容のリクエストで使用されています");
+                }
+                record("replayed");
+                return previous.response();
+            }
+        }
+        
+        InFlightKey inFlightKey = new InFlightKey(userId, request.getReportDate());
+        RequestPayload payload = RequestPayload.of(request);
+        InFlightGeneration created = new InFlightGeneration(payload, new CompletableFuture<>());
+        InFlightGeneration running = inFlight.putIfAbsent(inFlightKey, created);
+        
+        if (running != null) {
+            if (!running.payload().equals(payload)) {
+                record("conflicted");
+                throw new ReportGenerationConflictException("指定された日付の日報を別の内容で生成中です");
+            }
+            record("coalesced");
+            // 他のリクエストが生成した結果のため、このリクエストのIdempotency-Keyには保存しない
+            return await(running.response());
+        }
+        
+        try {
+            ReportGenerationResponseDto response = generator.get();
+            // 実行中の登録を外す前に保存し、その間に届いた再送も再生成せずに返せるようにする
+            remember(replayKey, payload, response);
+            created.response().complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Errorでも待機中のリクエストに失敗を伝え、締め切りまで待たせない
+            created.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(inFlightKey, created);
+        }
+    }
+    
+    private ReplayKey toReplayKey(UUID userId, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return null;
+        }
+        if (idempotencyKey.length() > properties.getMaxKeyLength()) {
+            throw new ReportValidationException(
+                "Idempotency-Keyは" + properties.getMaxKeyLength() + "文字以内で指定してください");
+        }
+        return new ReplayKey(userId, idempotencyKey);
+    }
+    
+    private void remember(ReplayKey replayKey, RequestPayload payload, ReportGenerationResponseDto response) {
+        if (replayKey != null) {
+            completed.put(replayKey, new CompletedGeneration(payload, response));
+        }
+    }
+    
+    /**
+     * 実行中の生成の完了を待つ。失敗した場合は最初のリクエストと同じ例外を投げる
+     * 生成が止まっていても待機中のリクエストのスレッドを占有し続けないよう、締め切りを過ぎたら待つのをやめる
+     */
+    private ReportGenerationResponseDto await(CompletableFuture<ReportGenerationResponseDto> running) {
+        Duration timeout = collectionProperties.collectionDeadline().plus(properties.getLlmTimeout());
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ReportGenerationException("日報の生成に失敗しました", e.getCause());
+        } catch (TimeoutException e) {
+            record("timed_out");
+            throw new ReportGenerationException("実行中の日報生成が時間内に完了しませんでした", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportGenerationException("実行中の日報生成の待機が中断されました", e);
+        }
+    }
+    
+    private void record(String outcome) {
+        meterRegistry.counter("nippogen.reports.deduplicated", "outcome", outcome).increment();
+    }
+    
+    private record InFlightKey(UUID userId, LocalDate reportDate) {}
+    
+    private record ReplayKey(UUID userId, String idempotencyKey) {}
+    
+    /**
+     * 同じ生成とみなすかを判定するためのリクエスト内容
+     */
+    private record RequestPayload(LocalDate reportDate, String additionalNotes) {
+        
+        static RequestPayload of(ReportGenerationRequestDto request) {
+            return new RequestPayload(request.getReportDate(), request.getAdditionalNotes());
+        }
+    }
+    
+    /**
+     * 実行中の生成のリクエスト内容と結果
+     */
+    private record InFlightGeneration(
+        RequestPayload payload,
+        CompletableFuture<ReportGenerationResponseDto> response
+    ) {}
+    
+    /**
+     * 完了した生成結果と、キーの使い回しを検出するためのリクエスト内容
+     */
+    private record CompletedGeneration(
+        RequestPayload payload,
+        ReportGenerationResponseDto response
+    ) {}
+}
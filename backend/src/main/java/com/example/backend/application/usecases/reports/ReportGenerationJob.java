@@ -0,0 +1,178 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.presentation.dto.reports.ReportGenerationJobResponseDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 非同期日報生成ジョブ
+ * ジョブの進行状態と、進捗を購読しているSSE接続を保持する。
+ * 状態遷移と購読登録は同じロックで直列化し、購読開始時点以降のイベントを取りこぼさないようにする。
+ * SSEへの送信はロックの外で行い、応答の遅いクライアントが生成処理や他の購読者を止めないようにする
+ */
+@Getter
+class ReportGenerationJob {
+
+    private final UUID jobId;
+    private final UUID userId;
+    private final ReportGenerationRequestDto request;
+    private final LocalDateTime submittedAt;
+    private ReportGenerationPhase phase;
+    private LocalDateTime updatedAt;
+    private ReportGenerationResponseDto result;
+    private String errorMessage;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * 状態遷移ごとに増える版数（ロックの外で送信したイベントの前後関係を判定する）
+     */
+    private long version;
+
+    ReportGenerationJob(UUID userId, ReportGenerationRequestDto request) {
+        this.jobId = UUID.randomUUID();
+        this.userId = userId;
+        this.request = request;
+        this.submittedAt = LocalDateTime.now();
+        this.phase = ReportGenerationPhase.QUEUED;
+        this.updatedAt = submittedAt;
+    }
+
+    /**
+     * 実行中フェーズを更新して購読者に通知
+     */
+    void moveTo(ReportGenerationPhase nextPhase) {
+        transition(nextPhase, () -> { });
+    }
+
+    /**
+     * 完了状態にして購読者に通知し、SSE接続を閉じる
+     */
+    void complete(ReportGenerationResponseDto result) {
+        transition(ReportGenerationPhase.COMPLETED, () -> this.result = result);
+    }
+
+    /**
+     * 失敗状態にして購読者に通知し、SSE接続を閉じる
+     */
+    void fail(String errorMessage) {
+        transition(ReportGenerationPhase.FAILED, () -> this.errorMessage = errorMessage);
+    }
+
+    /**
+     * SSE購読を登録
+     * 現在の状態を即座に送信し、既に終了済みの場合はそのまま接続を閉じる
+     */
+    void subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        Snapshot snapshot;
+        synchronized (this) {
+            snapshot = snapshot();
+            if (!snapshot.terminal()) {
+                subscribers.add(subscriber);
+                emitter.onCompletion(() -> subscribers.remove(subscriber));
+                emitter.onTimeout(() -> subscribers.remove(subscriber));
+                emitter.onError(e -> subscribers.remove(subscriber));
+            }
+        }
+        subscriber.deliver(snapshot);
+    }
+
+    /**
+     * 指定時刻より前に終了したジョブかどうか
+     */
+    synchronized boolean isExpired(LocalDateTime threshold) {
+        return phase.isTerminal() && updatedAt.isBefore(threshold);
+    }
+
+    /**
+     * レスポンスDTOに変換
+     */
+    synchronized ReportGenerationJobResponseDto toResponse() {
+        return ReportGenerationJobResponseDto.builder()
+            .jobId(jobId)
+            .reportDate(request.getReportDate())
+            .status(phase)
+            .result(result)
+            .errorMessage(errorMessage)
+            .submittedAt(submittedAt)
+            .updatedAt(updatedAt)
+            .build();
+    }
+
+    /**
+     * ロック内で状態を更新して送信内容と送信先を確定し、送信はロックの外で行う
+     */
+    private void transition(ReportGenerationPhase nextPhase, Runnable update) {
+        Snapshot snapshot;
+        List<Subscriber> targets;
+        synchronized (this) {
+            update.run();
+            this.phase = nextPhase;
+            this.updatedAt = LocalDateTime.now();
+            this.version++;
+            snapshot = snapshot();
+            targets = List.copyOf(subscribers);
+            if (snapshot.terminal()) {
+                subscribers.clear();
+            }
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.deliver(snapshot);
+        }
+    }
+
+    private Snapshot snapshot() {
+        return new Snapshot(version, toResponse(), phase.isTerminal());
+    }
+
+    /**
+     * ある版の時点の状態
+     */
+    private record Snapshot(long version, ReportGenerationJobResponseDto response, boolean terminal) {}
+
+    /**
+     * 1つのSSE接続への送信
+     * 接続ごとに送信を直列化し、先に確定した状態が後から届いた新しい状態を上書きしないようにする
+     */
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private long deliveredVersion = -1;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void deliver(Snapshot snapshot) {
+            if (closed || snapshot.version() <= deliveredVersion) {
+                return;
+            }
+            deliveredVersion = snapshot.version();
+            try {
+                emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(snapshot.response()));
+            } catch (IOException | IllegalStateException e) {
+                // クライアント切断済みの接続は購読対象から外す
+                closed = true;
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            }
+            if (snapshot.terminal()) {
+                closed = true;
+                emitter.complete();
+            }
+        }
+    }
+}
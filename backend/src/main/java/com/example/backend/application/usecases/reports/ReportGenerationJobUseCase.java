@@ -0,0 +1,151 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.ReportJobProperties;
+import com.example.backend.common.exceptions.ReportJobNotFoundException;
+import com.example.backend.common.exceptions.ReportJobRejectedException;
+import com.example.backend.common.exceptions.ReportValidationException;
+import com.example.backend.presentation.dto.reports.ReportGenerationJobResponseDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 非同期日報生成ジョブユースケース
+ * 日報生成をリクエストスレッドから切り離し、上限付きのキューと固定数のワーカーで実行する。
+ * 終了済みジョブは新しいジョブの投入がなくても定期的に削除する
+ */
+@Service
+public class ReportGenerationJobUseCase {
+    
+    private final ReportGenerationUseCase reportGenerationUseCase;
+    private final ReportJobProperties reportJobProperties;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService cleaner;
+    private final Map<UUID, ReportGenerationJob> jobs = new ConcurrentHashMap<>();
+    
+    public ReportGenerationJobUseCase(
+        ReportGenerationUseCase reportGenerationUseCase,
+        ReportJobProperties reportJobProperties
+    ) {
+        this.reportGenerationUseCase = reportGenerationUseCase;
+        this.reportJobProperties = reportJobProperties;
+        this.executor = new ThreadPoolExecutor(
+            reportJobProperties.getWorkerConcurrency(),
+            reportJobProperties.getWorkerConcurrency(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(reportJobProperties.getQueueCapacity()),
+            Thread.ofPlatform().name("report-job-", 0).factory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("report-job-cleaner").daemon().factory()
+        );
+        long interval = reportJobProperties.getCleanupInterval().toMillis();
+        cleaner.scheduleWithFixedDelay(this::evictExpiredJobs, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 日報生成ジョブを投入する
+     * 
+     * @param userId ユーザーID
+     * @param request 日報生成リクエスト
+     * @return 投入されたジョブの状態
+     * @throws ReportJobRejectedException キューが満杯の場合
+     */
+    public ReportGenerationJobResponseDto submit(UUID userId, ReportGenerationRequestDto request) {
+        if (!request.isValid()) {
+            throw new ReportValidationException("必須項目が不足しています");
+        }
+        
+        evictExpiredJobs();
+        
+        ReportGenerationJob job = new ReportGenerationJob(userId, request);
+        jobs.put(job.getJobId(), job);
+        
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw new ReportJobRejectedException("日報生成ジョブが混雑しています。しばらくしてから再度お試しください", e);
+        }
+        
+        return job.toResponse();
+    }
+    
+    /**
+     * ジョブの状態を取得する
+     * 
+     * @param userId ユーザーID
+     * @param jobId ジョブID
+     * @return ジョブの状態
+     * @throws ReportJobNotFoundException ジョブが存在しない、または他ユーザーのジョブの場合
+     */
+    public ReportGenerationJobResponseDto getJob(UUID userId, UUID jobId) {
+        return findJob(userId, jobId).toResponse();
+    }
+    
+    /**
+     * ジョブの進捗をSSEで購読する
+     * 
+     * @param userId ユーザーID
+     * @param jobId ジョブID
+     * @return 進捗イベントを送信するSseEmitter
+     * @throws ReportJobNotFoundException ジョブが存在しない、または他ユーザーのジョブの場合
+     */
+    public SseEmitter subscribe(UUID userId, UUID jobId) {
+        ReportGenerationJob job = findJob(userId, jobId);
+        SseEmitter emitter = new SseEmitter(reportJobProperties.getSseTimeout().toMillis());
+        job.subscribe(emitter);
+        return emitter;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+        executor.shutdown();
+    }
+    
+    /**
+     * ジョブを実行する（ワーカースレッド上で呼ばれる）
+     */
+    private void run(ReportGenerationJob job) {
+        try {
+            ReportGenerationResponseDto result = reportGenerationUseCase.generateReport(
+                job.getUserId(), job.getRequest(), job::moveTo
+            );
+            job.complete(result);
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+        }
+    }
+    
+    private ReportGenerationJob findJob(UUID userId, UUID jobId) {
+        ReportGenerationJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ReportJobNotFoundException("指定された生成ジョブが見つかりません: " + jobId);
+        }
+        return job;
+    }
+    
+    /**
+     * 保持期間を過ぎた終了済みジョブを削除
+     */
+    private void evictExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(reportJobProperties.getRetention());
+        jobs.values().removeIf(job -> job.isExpired(threshold));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.application.usecases.reports;
+
+/**
+ * 日報生成の進行フェーズ
+ * 非同期生成ジョブの状態およびSSEの進捗通知に使用する
+ */
+public enum ReportGenerationPhase {
+    /** キュー投入済み・実行待ち */
+    QUEUED,
+    /** 外部サービスからのデータ収集中 */
+    COLLECTING,
+    /** AIによる日報生成中 */
+    GENERATING,
+    /** 生成結果の保存中 */
+    PERSISTING,
+    /** 完了 */
+    COMPLETED,
+    /** 失敗 */
+    FAILED;
+
+    /**
+     * 終了状態かどうか
+     *
+     * @return 完了または失敗の場合true
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
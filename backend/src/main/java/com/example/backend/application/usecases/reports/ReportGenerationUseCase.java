@@ -1,38 +1,29 @@
 package com.example.backend.application.usecases.reports;
 
 import com.example.backend.application.dto.reports.DailyReportDto;
+import com.example.backend.application.dto.reports.ReportSourceDataDto;
 import com.example.backend.common.exceptions.ReportAlreadyExistsException;
 import com.example.backend.common.exceptions.ReportNotFoundException;
 import com.example.backend.common.exceptions.ReportValidationException;
-import com.example.backend.common.util.DailyReportMapper;
-import com.example.backend.presentation.dto.reports.DailyReportUpdateRequestDto;
+import com.example.backend.common.util.ReportSourceSnapshotMapper;
 import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
 import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
 import com.example.backend.presentation.dto.reports.ReportRegenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportStreamEventDto;
 import com.example.backend.domain.reports.IReportGenerationService;
 import com.example.backend.domain.reports.DailyReport;
 import com.example.backend.domain.reports.IDailyReportRepository;
-import com.example.backend.infrastructure.github.GitHubApiService;
-import com.example.backend.infrastructure.toggl.TogglApiService;
-import com.example.backend.infrastructure.notion.NotionApiService;
-import com.example.backend.domain.credentials.github.IGitHubCredentialRepository;
-import com.example.backend.domain.credentials.toggl.ITogglCredentialRepository;
-import com.example.backend.domain.credentials.notion.INotionCredentialRepository;
-import com.example.backend.infrastructure.github.dto.GitHubCommitDto;
-import com.example.backend.infrastructure.toggl.dto.TogglTimeEntryDto;
-import com.example.backend.infrastructure.notion.dto.NotionPageDto;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * 日報生成ユースケース
@@ -45,63 +36,170 @@ public class ReportGenerationUseCase {
     private final IReportGenerationService reportGenerationService;
     private final ReportUseCase reportUseCase;
     private final IDailyReportRepository dailyReportRepository;
-    private final DailyReportMapper dailyReportMapper;
     
     // 外部API統合のための依存関係
-    private final GitHubApiService gitHubApiService;
-    private final TogglApiService togglApiService;
-    private final NotionApiService notionApiService;
-    private final IGitHubCredentialRepository gitHubCredentialRepository;
-    private final ITogglCredentialRepository togglCredentialRepository;
-    private final INotionCredentialRepository notionCredentialRepository;
-    private final ObjectMapper objectMapper;
+    private final ReportDataCollector reportDataCollector;
+    private final ReportSourceSnapshotMapper reportSourceSnapshotMapper;
+    private final ReportGenerationCoalescer reportGenerationCoalescer;
     
     /**
      * 新規日報を生成する
+     * 外部API呼び出しとAI生成はトランザクション外で行い、DBコネクションを保持しない。
+     * 保存は {@link ReportUseCase#createGeneratedReport(DailyReport)} の短いトランザクションで行う
      * 
      * @param userId ユーザーID（HTTPヘッダーから取得）
      * @param request 日報生成リクエスト
      * @return 生成結果レスポンス
      */
-    @Transactional
     public ReportGenerationResponseDto generateReport(UUID userId, ReportGenerationRequestDto request) {
+        return generateReport(userId, request, (String) null);
+    }
+    
+    /**
+     * 新規日報を生成する（冪等キー付き）
+     * 同じユーザー・対象日の生成が実行中であればその結果を共有し、
+     * 同じIdempotency-Keyで完了済みの場合は保存済みのレスポンスを返す
+     * 
+     * @param userId ユーザーID（HTTPヘッダーから取得）
+     * @param request 日報生成リクエスト
+     * @param idempotencyKey Idempotency-Keyヘッダーの値（未指定の場合null）
+     * @return 生成結果レスポンス
+     */
+    public ReportGenerationResponseDto generateReport(
+        UUID userId,
+        ReportGenerationRequestDto request,
+        String idempotencyKey
+    ) {
         if (!request.isValid()) {
             throw new ReportValidationException("必須項目が不足しています");
         }
         
-        // 既存日報の重複チェック
+        return reportGenerationCoalescer.execute(
+            userId, request, idempotencyKey, () -> doGenerateReport(userId, request, phase -> { })
+        );
+    }
+    
+    /**
+     * 新規日報を生成する（進捗通知付き）
+     * 同じユーザー・対象日の生成が実行中であればその結果を共有する（その場合、進捗は通知されない）
+     * 
+     * @param userId ユーザーID
+     * @param request 日報生成リクエスト
+     * @param progressListener フェーズが進むたびに呼ばれるリスナー
+     * @return 生成結果レスポンス
+     */
+    public ReportGenerationResponseDto generateReport(
+        UUID userId,
+        ReportGenerationRequestDto request,
+        Consumer<ReportGenerationPhase> progressListener
+    ) {
+        if (!request.isValid()) {
+            throw new ReportValidationException("必須項目が不足しています");
+        }
+        
+        return reportGenerationCoalescer.execute(
+            userId, request, null, () -> doGenerateReport(userId, request, progressListener)
+        );
+    }
+    
+    private ReportGenerationResponseDto doGenerateReport(
+        UUID userId,
+        ReportGenerationRequestDto request,
+        Consumer<ReportGenerationPhase> progressListener
+    ) {
+        // 既存日報の重複チェック（AI生成のコストを払う前に早期に弾く）
         if (dailyReportRepository.existsByUserIdAndDate(userId, request.getReportDate())) {
             throw new ReportAlreadyExistsException("指定された日付の日報が既に存在しています");
         }
         
-        // 3サービスからデータを統合取得
-        String githubData = collectGitHubData(userId, request.getReportDate());
-        String togglData = collectTogglData(userId, request.getReportDate());  
-        String notionData = collectNotionData(userId, request.getReportDate());
+        // 3サービスからデータを並列に統合取得
+        progressListener.accept(ReportGenerationPhase.COLLECTING);
+        ReportSourceDataDto sourceData = reportDataCollector.collect(userId, request.getReportDate());
         
         // AI日報生成
+        progressListener.accept(ReportGenerationPhase.GENERATING);
         String generatedContent = reportGenerationService.generateReport(
             userId,
             request.getReportDate(),
-            githubData,
-            togglData,
-            notionData,
-            request.getAdditionalNotes()
+            sourceData.getGithubData(),
+            sourceData.getTogglData(),
+            sourceData.getNotionData(),
+            request.getAdditionalNotes(),
+            request.shouldUseCache()
         );
         
-        // 生成された日報をDBに直接保存
+        // 生成された日報を書き込み専用のトランザクションで保存
+        progressListener.accept(ReportGenerationPhase.PERSISTING);
+        return saveGeneratedReport(userId, request, generatedContent, sourceData);
+    }
+    
+    /**
+     * 新規日報をストリーミングで生成する
+     * AIの出力チャンクを逐次返し、ストリーム完了時に組み立てた全文を保存して完了イベントを返す
+     * 
+     * @param userId ユーザーID
+     * @param request 日報生成リクエスト
+     * @return 差分チャンク・完了・エラーのイベントストリーム
+     */
+    public Flux<ReportStreamEventDto> streamReport(UUID userId, ReportGenerationRequestDto request) {
+        if (!request.isValid()) {
+            throw new ReportValidationException("必須項目が不足しています");
+        }
+        
+        // 既存日報の重複チェック（ストリーム開始前にHTTPエラーとして返す）
+        if (dailyReportRepository.existsByUserIdAndDate(userId, request.getReportDate())) {
+            throw new ReportAlreadyExistsException("指定された日付の日報が既に存在しています");
+        }
+        
+        return Mono.fromCallable(() -> reportDataCollector.collect(userId, request.getReportDate()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMapMany(sourceData -> {
+                StringBuilder content = new StringBuilder();
+                
+                Flux<ReportStreamEventDto> deltas = reportGenerationService.streamReport(
+                        userId,
+                        request.getReportDate(),
+                        sourceData.getGithubData(),
+                        sourceData.getTogglData(),
+                        sourceData.getNotionData(),
+                        request.getAdditionalNotes(),
+                        request.shouldUseCache()
+                    )
+                    .doOnNext(content::append)
+                    .map(ReportStreamEventDto::delta);
+                
+                // ストリーム完了後に全文を保存（JDBCはブロッキングのためboundedElasticで実行）
+                Mono<ReportStreamEventDto> completed = Mono
+                    .fromCallable(() -> saveGeneratedReport(userId, request, content.toString(), sourceData))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(ReportStreamEventDto::completed);
+                
+                return deltas.concatWith(completed);
+            })
+            .onErrorResume(e -> Flux.just(ReportStreamEventDto.error(e.getMessage())));
+    }
+    
+    /**
+     * 生成された日報を、生成に使用したソースデータのスナップショットと合わせて保存してレスポンスに変換
+     */
+    private ReportGenerationResponseDto saveGeneratedReport(
+        UUID userId,
+        ReportGenerationRequestDto request,
+        String generatedContent,
+        ReportSourceDataDto sourceData
+    ) {
         DailyReport report = DailyReport.builder()
                 .id(UUID.randomUUID())
                 .userId(userId)
                 .reportDate(request.getReportDate())
+                .rawData(reportSourceSnapshotMapper.toSnapshotJson(sourceData))
                 .finalContent(generatedContent)
                 .additionalNotes(request.getAdditionalNotes())
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
         
-        DailyReport savedReport = dailyReportRepository.save(report);
-        DailyReportDto createdReport = dailyReportMapper.toDto(savedReport);
+        DailyReportDto createdReport = reportUseCase.createGeneratedReport(report);
         
         return ReportGenerationResponseDto.builder()
             .reportId(createdReport.getId())
@@ -114,48 +212,69 @@ public class ReportGenerationUseCase {
     
     /**
      * 既存日報を再生成する
+     * 生成時に保存したソースデータのスナップショットを既定で再利用し、
+     * forceRefreshが指定された場合やスナップショットがない場合のみ外部サービスから再取得する。
+     * スナップショットで取得に失敗していたサービスは、そのサービスだけ再取得する
      * 
+     * @param userId ユーザーID（HTTPヘッダーから取得）
      * @param reportId 日報ID
      * @param userFeedback ユーザーフィードバック
      * @param additionalNotes 追加メモ
+     * @param forceRefresh trueの場合はスナップショットを使わず外部サービスから再取得する
+     * @param skipCache trueの場合は保存済みのAI応答を使わずにAIを呼び出す
      * @return 再生成結果レスポンス
+     * @throws ReportNotFoundException 日報が存在しない、または他ユーザーの日報の場合
      */
-    @Transactional
-    public ReportGenerationResponseDto regenerateReport(UUID reportId, String userFeedback, String additionalNotes) {
-        // 既存日報の取得
-        Optional<DailyReportDto> existingReportOpt = Optional.empty();
-        // TODO: reportUseCase.getReportById メソッドの実装が必要
+    public ReportGenerationResponseDto regenerateReport(
+        UUID userId,
+        UUID reportId,
+        String userFeedback,
+        String additionalNotes,
+        boolean forceRefresh,
+        boolean skipCache
+    ) {
+        // 既存日報の取得（主キー検索）。他ユーザーの日報は存在しないものとして扱う
+        DailyReport existingReport = dailyReportRepository.findById(reportId)
+            .filter(report -> report.getUserId().equals(userId))
+            .orElseThrow(() -> new ReportNotFoundException("指定された日報が見つかりません"));
         
-        if (existingReportOpt.isEmpty()) {
-            throw new ReportNotFoundException("指定された日報が見つかりません");
+        // 保存済みスナップショットを再利用し、なければ（または強制リフレッシュ時は）3サービスから並列に再取得。
+        // 生成時に取得に失敗していたサービスはスナップショットに含まれないため、そのサービスだけ再取得する
+        Optional<ReportSourceDataDto> snapshot = forceRefresh
+            ? Optional.empty()
+            : reportSourceSnapshotMapper.fromSnapshotJson(existingReport.getRawData());
+        boolean refreshed = snapshot.map(data -> !data.isComplete()).orElse(true);
+        ReportSourceDataDto sourceData;
+        if (forceRefresh) {
+            sourceData = reportDataCollector.refresh(userId, existingReport.getReportDate());
+        } else if (snapshot.isEmpty()) {
+            sourceData = reportDataCollector.collect(userId, existingReport.getReportDate());
+        } else if (refreshed) {
+            sourceData = reportDataCollector.collectMissing(userId, existingReport.getReportDate(), snapshot.get());
+        } else {
+            sourceData = snapshot.get();
         }
         
-        DailyReportDto existingReport = existingReportOpt.get();
-        
-        // 3サービスからデータを再取得
-        String githubData = collectGitHubData(existingReport.getUserId(), existingReport.getReportDate());
-        String togglData = collectTogglData(existingReport.getUserId(), existingReport.getReportDate());
-        String notionData = collectNotionData(existingReport.getUserId(), existingReport.getReportDate());
-        
         // AI日報再生成
         String regeneratedContent = reportGenerationService.regenerateReport(
-            existingReport.getUserId(),
+            userId,
             existingReport.getReportDate(),
-            githubData,
-            togglData,
-            notionData,
+            sourceData.getGithubData(),
+            sourceData.getTogglData(),
+            sourceData.getNotionData(),
             existingReport.getFinalContent(),
             userFeedback,
-            additionalNotes
+            additionalNotes,
+            !skipCache
         );
         
-        // 再生成された日報を更新
-        DailyReportUpdateRequestDto updateRequest = DailyReportUpdateRequestDto.builder()
-            .finalContent(regeneratedContent)
-            .additionalNotes(additionalNotes)
-            .build();
-            
-        DailyReportDto updatedReport = reportUseCase.updateReport(reportId, updateRequest);
+        // 再生成された日報を更新（一部でも再取得した場合はスナップショットも置き換える）
+        DailyReportDto updatedReport = reportUseCase.updateRegeneratedReport(
+            reportId,
+            regeneratedContent,
+            additionalNotes,
+            refreshed ? reportSourceSnapshotMapper.toSnapshotJson(sourceData) : null
+        );
         
         return ReportGenerationResponseDto.builder()
             .reportId(updatedReport.getId())
@@ -166,164 +285,4 @@ public class ReportGenerationUseCase {
             .build();
     }
     
-    /**
-     * GitHubからデータを収集
-     */
-    private String collectGitHubData(UUID userId, LocalDate date) {
-        try {
-            // アクティブなGitHub認証情報を取得
-            var activeCredentials = gitHubCredentialRepository.findActiveByUserId(userId);
-            
-            if (activeCredentials.isEmpty()) {
-                return "{\"error\": \"アクティブなGitHub認証情報がありません\"}";
-            }
-            
-            var credential = activeCredentials.get(0);
-            
-            // GitHub APIから指定日のコミット履歴を取得
-            List<GitHubCommitDto> commits = gitHubApiService.getCommitsByDate(credential, date);
-            
-            // データをJSON形式で構造化
-            var githubData = Map.of(
-                "source", "GitHub",
-                "date", date.toString(),
-                "repository", Map.of(
-                    "owner", credential.getOwner(),
-                    "name", credential.getRepo()
-                ),
-                "commits", commits.stream().map(commit -> Map.of(
-                    "sha", commit.getShortSha(),
-                    "message", commit.getCommitMessage(),
-                    "author", commit.getAuthorName(),
-                    "date", commit.getCommitDate(),
-                    "additions", commit.getStats() != null ? commit.getStats().getAdditions() : 0,
-                    "deletions", commit.getStats() != null ? commit.getStats().getDeletions() : 0
-                )).toList(),
-                "summary", Map.of(
-                    "totalCommits", commits.size(),
-                    "totalAdditions", commits.stream().mapToInt(c -> c.getStats() != null ? c.getStats().getAdditions() : 0).sum(),
-                    "totalDeletions", commits.stream().mapToInt(c -> c.getStats() != null ? c.getStats().getDeletions() : 0).sum()
-                )
-            );
-            
-            return objectMapper.writeValueAsString(githubData);
-            
-        } catch (Exception e) {
-            return "{\"error\": \"GitHubデータの取得に失敗しました: " + e.getMessage() + "\"}";
-        }
-    }
-    
-    /**
-     * Togglからデータを収集  
-     */
-    private String collectTogglData(UUID userId, LocalDate date) {
-        try {
-            // アクティブなToggl認証情報を取得
-            var activeCredentials = togglCredentialRepository.findActiveByUserId(userId);
-            
-            if (activeCredentials.isEmpty()) {
-                return "{\"error\": \"アクティブなToggl認証情報がありません\"}";
-            }
-            
-            var credential = activeCredentials.get(0);
-            
-            // Toggl APIから指定日の時間記録を取得
-            List<TogglTimeEntryDto> timeEntries = togglApiService.getTimeEntriesByDate(credential, date);
-            
-            // データをJSON形式で構造化
-            var togglData = Map.of(
-                "source", "Toggl Track",
-                "date", date.toString(),
-                "workspaceId", credential.getWorkspaceId() != null ? credential.getWorkspaceId() : 0,
-                "timeEntries", timeEntries.stream().map(entry -> Map.of(
-                    "id", entry.getId() != null ? entry.getId() : 0,
-                    "description", entry.getDescription() != null ? entry.getDescription() : "",
-                    "start", entry.getStart() != null ? entry.getStart().toString() : "",
-                    "stop", entry.getStop() != null ? entry.getStop().toString() : "",
-                    "duration", entry.getDuration() != null ? entry.getDuration() : 0,
-                    "durationHours", entry.getDurationHours(),
-                    "formattedDuration", entry.getFormattedDuration(),
-                    "projectId", entry.getProjectId() != null ? entry.getProjectId() : 0,
-                    "tags", entry.getTags() != null ? entry.getTags() : List.of(),
-                    "billable", entry.getBillable() != null ? entry.getBillable() : false
-                )).toList(),
-                "summary", Map.of(
-                    "totalEntries", timeEntries.size(),
-                    "totalDurationSeconds", timeEntries.stream().mapToLong(e -> e.getDuration() != null ? e.getDuration() : 0L).sum(),
-                    "totalHours", timeEntries.stream().mapToDouble(TogglTimeEntryDto::getDurationHours).sum(),
-                    "billableEntries", (int) timeEntries.stream().filter(e -> Boolean.TRUE.equals(e.getBillable())).count()
-                )
-            );
-            
-            return objectMapper.writeValueAsString(togglData);
-            
-        } catch (Exception e) {
-            return "{\"error\": \"Togglデータの取得に失敗しました: " + e.getMessage() + "\"}";
-        }
-    }
-    
-    /**
-     * Notionからデータを収集
-     */
-    private String collectNotionData(UUID userId, LocalDate date) {
-        try {
-            // アクティブなNotion認証情報を取得
-            var activeCredentials = notionCredentialRepository.findActiveByUserId(userId);
-            
-            if (activeCredentials.isEmpty()) {
-                return "{\"error\": \"アクティブなNotion認証情報がありません\"}";
-            }
-            
-            var credential = activeCredentials.get(0);
-            
-            // Notion APIから指定日のページ情報を取得
-            // データベースIDが設定されている場合はそのデータベースから取得
-            List<NotionPageDto> pages;
-            if (credential.getDatabaseId() != null && !credential.getDatabaseId().trim().isEmpty()) {
-                // 設定されたデータベースから取得
-                String databaseId = credential.getDatabaseId();
-                pages = notionApiService.getPagesByDatabase(credential, databaseId, date);
-            } else {
-                // 全体検索で日付に関連するページを取得
-                String query = date.toString(); // 日付をクエリとして使用
-                pages = notionApiService.searchPages(credential, query);
-            }
-            
-            // データをJSON形式で構造化
-            var notionData = Map.of(
-                "source", "Notion",
-                "date", date.toString(),
-                "databaseId", credential.getDatabaseId() != null ? credential.getDatabaseId() : "",
-                "pages", pages.stream().map(page -> Map.of(
-                    "id", page.getId() != null ? page.getId() : "",
-                    "title", page.getTitle() != null ? page.getTitle() : "",
-                    "url", page.getUrl() != null ? page.getUrl() : "",
-                    "createdTime", page.getCreatedTime() != null ? page.getCreatedTime().toString() : "",
-                    "lastEditedTime", page.getLastEditedTime() != null ? page.getLastEditedTime().toString() : "",
-                    "archived", page.getArchived() != null ? page.getArchived() : false,
-                    "createdBy", page.getCreatedBy() != null && page.getCreatedBy().getName() != null ? 
-                        page.getCreatedBy().getName() : "",
-                    "parentType", page.getParent() != null && page.getParent().getType() != null ? 
-                        page.getParent().getType() : ""
-                )).toList(),
-                "summary", Map.of(
-                    "totalPages", pages.size(),
-                    "createdToday", (int) pages.stream()
-                        .filter(p -> p.getCreatedTime() != null && 
-                            p.getCreatedTime().toLocalDate().equals(date))
-                        .count(),
-                    "editedToday", (int) pages.stream()
-                        .filter(p -> p.getLastEditedTime() != null && 
-                            p.getLastEditedTime().toLocalDate().equals(date))
-                        .count()
-                )
-            );
-            
-            return objectMapper.writeValueAsString(notionData);
-            
-        } catch (Exception e) {
-            return "{\"error\": \"Notionデータの取得に失敗しました: " + e.getMessage() + "\"}";
-        }
-    }
-    
 }
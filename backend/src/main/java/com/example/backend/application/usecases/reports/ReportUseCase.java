@@ -1,19 +1,26 @@
 package com.example.backend.application.usecases.reports;
 
 import com.example.backend.application.dto.reports.DailyReportDto;
+import com.example.backend.common.exceptions.ReportAlreadyExistsException;
 import com.example.backend.common.exceptions.ReportNotFoundException;
+import com.example.backend.common.exceptions.ReportValidationException;
 import com.example.backend.common.util.DailyReportMapper;
 import com.example.backend.domain.reports.DailyReport;
+import com.example.backend.domain.reports.DailyReportSummary;
 import com.example.backend.domain.reports.IDailyReportRepository;
 import com.example.backend.presentation.dto.reports.DailyReportListResponseDto;
+import com.example.backend.presentation.dto.reports.DailyReportSummaryPageResponseDto;
 import com.example.backend.presentation.dto.reports.DailyReportUpdateRequestDto;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,10 +33,32 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ReportUseCase {
     
+    /**
+     * サマリー一覧の1ページあたりの最大件数
+     */
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+    
+    private static final String CURSOR_DELIMITER = "|";
+    
     private final IDailyReportRepository dailyReportRepository;
     private final DailyReportMapper dailyReportMapper;
     
     
+    /**
+     * AI生成された日報を新規保存
+     * 重複チェックと保存は INSERT ... ON CONFLICT DO NOTHING の1文で行う
+     * 
+     * @param report 保存する日報エンティティ
+     * @return 保存された日報DTO
+     * @throws ReportAlreadyExistsException 同じ日付の日報が既に存在する場合
+     */
+    @Transactional
+    public DailyReportDto createGeneratedReport(DailyReport report) {
+        return dailyReportRepository.insertIfAbsent(report)
+                .map(dailyReportMapper::toDto)
+                .orElseThrow(() -> new ReportAlreadyExistsException("指定された日付の日報が既に存在しています"));
+    }
+    
     /**
      * 日報を更新
      * 
@@ -63,6 +92,24 @@ public class ReportUseCase {
     }
     
     
+    /**
+     * AI再生成された日報を更新
+     * 
+     * @param reportId 日報ID
+     * @param finalContent 再生成されたコンテンツ
+     * @param additionalNotes 追加メモ（nullの場合は既存の値を維持）
+     * @param rawData 新しいソースデータのスナップショット（nullの場合は既存の値を維持）
+     * @return 更新された日報DTO
+     * @throws ReportNotFoundException 日報が見つからない場合
+     */
+    @Transactional
+    public DailyReportDto updateRegeneratedReport(UUID reportId, String finalContent, String additionalNotes, String rawData) {
+        // 読み込み・存在確認を挟まず、単一のUPDATE ... RETURNINGで更新する
+        return dailyReportRepository.updateGeneratedContent(reportId, finalContent, additionalNotes, rawData)
+                .map(dailyReportMapper::toDto)
+                .orElseThrow(() -> new ReportNotFoundException("Report not found: " + reportId));
+    }
+    
     /**
      * 日付範囲で日報一覧を取得
      * 
@@ -92,6 +139,46 @@ public class ReportUseCase {
                 .build();
     }
     
+    /**
+     * 日報サマリー一覧をカーソル方式で取得
+     * 本文全体とソースデータを読み込まないため、日報数が増えてもメモリ・レスポンスサイズは一定
+     * 
+     * @param userId ユーザーID
+     * @param cursor 前ページのレスポンスで返されたカーソル（先頭ページの場合はnull）
+     * @param limit 取得件数（1〜{@value #MAX_SUMMARY_PAGE_SIZE}に丸める）
+     * @return 日報サマリー一覧レスポンス
+     * @throws ReportValidationException カーソルの形式が不正な場合
+     */
+    @Transactional(readOnly = true)
+    public DailyReportSummaryPageResponseDto getReportSummaries(UUID userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SUMMARY_PAGE_SIZE));
+        
+        LocalDate afterDate = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterDate = LocalDate.parse(parts[0]);
+            afterId = UUID.fromString(parts[1]);
+        }
+        
+        // 次ページの有無を判定するため1件多く取得する
+        List<DailyReportSummary> summaries = dailyReportRepository.findSummariesByUserId(userId, afterDate, afterId, pageSize + 1);
+        boolean hasMore = summaries.size() > pageSize;
+        List<DailyReportSummary> page = hasMore ? summaries.subList(0, pageSize) : summaries;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            DailyReportSummary last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getReportDate(), last.getId());
+        }
+        
+        return DailyReportSummaryPageResponseDto.builder()
+                .summaries(page.stream().map(dailyReportMapper::toSummaryDto).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+    
     /**
      * 特定日の日報を取得
      * 
@@ -118,6 +205,33 @@ public class ReportUseCase {
     }
     
     
+    /**
+     * ページングカーソルを生成（「日付|ID」をURLセーフなBase64でエンコード）
+     */
+    private String encodeCursor(LocalDate reportDate, UUID id) {
+        String raw = reportDate + CURSOR_DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * ページングカーソルを「日付」「ID」に分解
+     */
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + CURSOR_DELIMITER, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("delimiter not found");
+            }
+            // 形式チェックを兼ねてパースしておく
+            LocalDate.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ReportValidationException("カーソルの形式が不正です");
+        }
+    }
+    
     /**
      * 日付範囲文字列を構築
      * 
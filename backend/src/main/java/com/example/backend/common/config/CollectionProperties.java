@@ -0,0 +1,114 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 外部サービスからのデータ収集設定
+ * application.ymlの nippogen.collection 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.collection")
+public class CollectionProperties {
+
+    /**
+     * GitHubデータ収集の締め切り時間
+     */
+    private Duration githubTimeout = Duration.ofSeconds(15);
+
+    /**
+     * Togglデータ収集の締め切り時間
+     */
+    private Duration togglTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Notionデータ収集の締め切り時間
+     */
+    private Duration notionTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 対象日を解釈する既定のタイムゾーン（Toggl認証情報にタイムゾーンが設定されていない場合に使用）
+     */
+    private ZoneId defaultTimeZone = ZoneId.of("UTC");
+
+    /**
+     * Togglデータの収集方式
+     */
+    private TogglMode togglMode = TogglMode.TIME_ENTRIES;
+
+    /**
+     * Notionデータベースを増分同期で取得するか（前回以降に編集されたページだけを取得する）
+     */
+    private boolean notionIncrementalSync = false;
+
+    /**
+     * 増分同期で取得済みページを保持する期間（これより古い日付は範囲を絞ったクエリで直接取得する）
+     */
+    private Duration notionSyncRetention = Duration.ofDays(14);
+
+    /**
+     * 増分同期の状態を保持するデータベース数の上限（超えた場合は使用頻度の低いものから破棄する）
+     */
+    private long notionSyncMaximumDatabases = 1000L;
+
+    /**
+     * 増分同期の状態を保持する期間（最後に参照されてから。破棄されたデータベースは次回の収集で取り直す）
+     */
+    private Duration notionSyncIdleTimeout = Duration.ofDays(1);
+
+    /**
+     * Notionページの本文（ブロック）を取得して日報生成に使うか
+     */
+    private boolean notionPageContent = true;
+
+    /**
+     * Notionページ1件あたりの本文の最大文字数（超えた分は切り詰める）
+     */
+    private int notionContentMaxLength = 4000;
+
+    /**
+     * Notionページ本文の取得全体の締め切り時間（超えた場合は取得できなかったページの本文を空にする）
+     */
+    private Duration notionContentTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Notionの締め切り時間
+     * ページ本文の取得は専用の締め切りで打ち切るため、その分を加えてページ情報の取得時間を削らないようにする
+     *
+     * @return ページ本文の取得を含めたNotionの締め切り時間
+     */
+    public Duration notionDeadline() {
+        return notionPageContent ? notionTimeout.plus(notionContentTimeout) : notionTimeout;
+    }
+
+    /**
+     * データ収集全体の締め切り時間（3サービスは並列に収集されるため、最も長いサービスの締め切り）
+     *
+     * @return データ収集全体の締め切り時間
+     */
+    public Duration collectionDeadline() {
+        Duration deadline = githubTimeout.compareTo(togglTimeout) >= 0 ? githubTimeout : togglTimeout;
+        return deadline.compareTo(notionDeadline()) >= 0 ? deadline : notionDeadline();
+    }
+
+    /**
+     * Togglデータの収集方式
+     */
+    public enum TogglMode {
+
+        /**
+         * 時間記録APIから全件取得して集計する（時間記録ごとの開始・終了時刻を含む）
+         */
+        TIME_ENTRIES,
+
+        /**
+         * Reports APIでプロジェクト別・タグ別にサーバー側で集計した結果を取得する
+         */
+        REPORTS
+    }
+}
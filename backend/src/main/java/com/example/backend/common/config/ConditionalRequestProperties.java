@@ -0,0 +1,38 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 外部APIへの条件付きリクエスト（ETag / Last-Modified）設定
+ * application.ymlの nippogen.conditional-requests 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.conditional-requests")
+public class ConditionalRequestProperties {
+
+    /**
+     * 条件付きリクエストを有効にするか
+     */
+    private boolean enabled = true;
+
+    /**
+     * 保存するレスポンス本文の合計サイズの上限
+     */
+    private DataSize maximumTotalSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 保存対象とするレスポンス本文の最大サイズ。これより大きいレスポンスは保存しない
+     */
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * 保存したレスポンスの保持期間（最後に書き込まれてから）
+     */
+    private Duration ttl = Duration.ofHours(24);
+}
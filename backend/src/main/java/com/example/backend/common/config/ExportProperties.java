@@ -0,0 +1,28 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 日報エクスポート設定
+ * application.ymlの nippogen.export 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.export")
+public class ExportProperties {
+
+    /**
+     * 同時に実行できるエクスポート数
+     * エクスポート中は1件につきDBコネクションを1つ保持するため、コネクションプールより十分小さくする
+     */
+    private int maxConcurrentExports = 3;
+
+    /**
+     * 1回のエクスポートの制限時間。超えた場合は書き込みを中断してコネクションを返す
+     */
+    private Duration maxDuration = Duration.ofMinutes(5);
+}
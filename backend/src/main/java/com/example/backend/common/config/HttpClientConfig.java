@@ -0,0 +1,64 @@
+package com.example.backend.common.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 外部API呼び出し用HTTPクライアント設定
+ * ホストごとの接続プール上限・アイドル接続の破棄・タイムアウト・gzip・HTTP/2を設定したReactor Nettyクライアントを定義します。
+ * ClientHttpConnectorとしてBean登録するとSpring管理の全WebClient.Builder（Spring AIのストリーミングを含む）に
+ * 適用されてしまうため、GitHub・Toggl・NotionのAPIクライアントだけがこのクライアントをコネクターとして使います
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * 外部APIで共有する接続プール
+     * 接続を使い回すことでTLSハンドシェイクを毎回行わないようにし、古い接続はアイドル時間・寿命で破棄する
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalApiConnectionProvider(HttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("external-api")
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+            .maxIdleTime(properties.getMaxIdleTime())
+            .maxLifeTime(properties.getMaxLifeTime())
+            .evictInBackground(properties.getEvictionInterval())
+            .metrics(true);
+
+        properties.getHosts().values().forEach(host -> builder.forRemoteHost(
+            InetSocketAddress.createUnresolved(host.getHost(), host.getPort()),
+            spec -> spec.maxConnections(host.getMaxConnections())
+        ));
+
+        return builder.build();
+    }
+
+    /**
+     * 外部APIクライアント用のHTTPクライアント
+     * 各APIサービスがReactorClientHttpConnectorで包んでWebClientに設定する
+     */
+    @Bean
+    public HttpClient externalApiHttpClient(
+        ConnectionProvider externalApiConnectionProvider,
+        HttpClientProperties properties
+    ) {
+        HttpClient httpClient = HttpClient.create(externalApiConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .responseTimeout(properties.getResponseTimeout())
+            .compress(properties.isCompress());
+
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return httpClient;
+    }
+}
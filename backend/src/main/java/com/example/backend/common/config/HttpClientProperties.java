@@ -0,0 +1,89 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 外部API呼び出し用HTTPクライアントの接続設定
+ * application.ymlの nippogen.http 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.http")
+public class HttpClientProperties {
+
+    /**
+     * TCP接続確立のタイムアウト
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * リクエスト送信後、レスポンスを受信するまでのタイムアウト（受信が止まったソケットを打ち切る）
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * ホストごとの最大接続数（hostsで個別に指定しない場合の既定値）
+     */
+    private int maxConnections = 50;
+
+    /**
+     * 接続プールが空くのを待つ最大時間
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 使われていない接続をプールから破棄するまでの時間
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * 接続を再利用する最大期間
+     */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /**
+     * アイドル接続をバックグラウンドで破棄する間隔
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * gzip圧縮されたレスポンスを受け付けるか
+     */
+    private boolean compress = true;
+
+    /**
+     * HTTP/2を有効にするか（TLS接続でALPNにより合意できた場合のみ使用し、それ以外はHTTP/1.1）
+     */
+    private boolean http2 = false;
+
+    /**
+     * ホストごとの接続プール設定（キーは任意の識別名）
+     */
+    private Map<String, Host> hosts = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Host {
+
+        /**
+         * 対象ホスト名
+         */
+        private String host;
+
+        /**
+         * ポート番号
+         */
+        private int port = 443;
+
+        /**
+         * このホストへの最大接続数
+         */
+        private int maxConnections = 50;
+    }
+}
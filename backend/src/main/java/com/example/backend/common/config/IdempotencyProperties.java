@@ -0,0 +1,38 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 日報生成リクエストの冪等性設定
+ * application.ymlの nippogen.idempotency 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Idempotency-Key付きで完了した生成結果を再送用に保持する期間
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * 保持する生成結果の最大件数
+     */
+    private long maximumSize = 10_000L;
+
+    /**
+     * Idempotency-Keyの最大長
+     */
+    private int maxKeyLength = 255;
+
+    /**
+     * AI生成にかかる時間の上限の見込み
+     * 同じ内容のリクエストが実行中の生成を待つ時間は、データ収集の締め切りにこれを加えた時間までとする
+     */
+    private Duration llmTimeout = Duration.ofMinutes(2);
+}
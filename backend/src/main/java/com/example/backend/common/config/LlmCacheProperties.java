@@ -0,0 +1,32 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AI応答キャッシュ設定
+ * application.ymlの nippogen.llm-cache 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.llm-cache")
+public class LlmCacheProperties {
+
+    /**
+     * 同一プロンプトに対するAI応答をキャッシュするか
+     */
+    private boolean enabled = true;
+
+    /**
+     * 応答を保持する期間（書き込みからの経過時間）
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * キャッシュする応答の合計文字数の上限
+     */
+    private long maximumTotalLength = 16_000_000L;
+}
@@ -0,0 +1,30 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 日報生成プロンプトの組み立て設定
+ * application.ymlの nippogen.prompt 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.prompt")
+public class PromptProperties {
+
+    /**
+     * ユーザープロンプト全体の推定トークン数の上限（超える場合はソースデータを段階的に圧縮する）
+     */
+    private int maxInputTokens = 12000;
+
+    /**
+     * 圧縮時の文字列フィールドの最大文字数（コミットメッセージ・説明など）
+     */
+    private int maxFieldLength = 300;
+
+    /**
+     * 圧縮時のNotionページ本文の最大文字数
+     */
+    private int maxContentLength = 1500;
+}
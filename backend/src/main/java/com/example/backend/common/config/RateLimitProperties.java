@@ -0,0 +1,79 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 外部APIへのリクエストのレート制御設定
+ * application.ymlの nippogen.rate-limit 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * レート制御を有効にするか
+     */
+    private boolean enabled = true;
+
+    /**
+     * 1リクエストあたりの最大待機時間。これを超えて待つ必要がある場合は待たずに失敗させる
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /**
+     * レート制限（429など）を受けた場合の最大再試行回数
+     */
+    private int maxRetries = 2;
+
+    /**
+     * Retry-Afterが返されなかった場合の待機時間
+     */
+    private Duration defaultRetryAfter = Duration.ofSeconds(1);
+
+    /**
+     * プロバイダーごとに残量を追跡する認証情報の最大数
+     */
+    private long maxTrackedCredentials = 10_000;
+
+    /**
+     * この期間使われなかった認証情報の残量は破棄する（レート制限のリセット間隔より長くする）
+     */
+    private Duration credentialIdleTimeout = Duration.ofHours(2);
+
+    /**
+     * プロバイダーごとの設定（キーはプロバイダー名）
+     */
+    private Map<String, Provider> providers = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Provider {
+
+        /**
+         * 対象とするAPIのホスト名
+         */
+        private String host;
+
+        /**
+         * 認証情報ごとのリクエスト間隔の下限
+         */
+        private Duration minInterval = Duration.ZERO;
+
+        /**
+         * プロバイダー全体（全認証情報の合計）でのリクエスト間隔の下限
+         */
+        private Duration providerMinInterval = Duration.ZERO;
+
+        /**
+         * 残りリクエスト数がこの値以下になったら、リセット時刻まで均等に間隔を空けて送信する
+         */
+        private int reserve = 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 非同期日報生成ジョブの設定
+ * application.ymlの nippogen.report-jobs 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.report-jobs")
+public class ReportJobProperties {
+
+    /**
+     * 同時に実行する生成ジョブ数（ワーカースレッド数）
+     */
+    private int workerConcurrency = 4;
+
+    /**
+     * 実行待ちキューの最大長。超えた投入は拒否される
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 終了したジョブの状態を保持する期間
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * 保持期間を過ぎた終了済みジョブを削除する間隔
+     */
+    private Duration cleanupInterval = Duration.ofMinutes(5);
+
+    /**
+     * SSE接続のタイムアウト
+     */
+    private Duration sseTimeout = Duration.ofMinutes(5);
+}
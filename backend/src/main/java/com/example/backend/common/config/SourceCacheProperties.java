@@ -0,0 +1,37 @@
+package com.example.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 外部データソースのレスポンスキャッシュ設定
+ * application.ymlの nippogen.source-cache 配下の値をバインドします
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nippogen.source-cache")
+public class SourceCacheProperties {
+
+    /**
+     * キャッシュを有効にするか
+     */
+    private boolean enabled = true;
+
+    /**
+     * キャッシュする最大エントリ数
+     */
+    private long maximumSize = 1000;
+
+    /**
+     * 当日（および未来日）のデータのTTL。まだ更新される可能性があるため短くする
+     */
+    private Duration todayTtl = Duration.ofMinutes(5);
+
+    /**
+     * 過去日のデータのTTL。確定済みのデータとして長く保持する
+     */
+    private Duration pastDayTtl = Duration.ofHours(24);
+}
@@ -80,6 +80,50 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    @ExceptionHandler(ReportGenerationConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleReportGenerationConflict(ReportGenerationConflictException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "REPORT_GENERATION_CONFLICT");
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", 409);
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleReportJobNotFound(ReportJobNotFoundException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "REPORT_JOB_NOT_FOUND");
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", 404);
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+    
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleReportJobRejected(ReportJobRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "REPORT_JOB_REJECTED");
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", 503);
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
+    @ExceptionHandler(ReportExportRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleReportExportRejected(ReportExportRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "REPORT_EXPORT_REJECTED");
+        errorResponse.put("message", e.getMessage());
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", 503);
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
         
@@ -0,0 +1,11 @@
+package com.example.backend.common.exceptions;
+
+/**
+ * 同時に実行できるエクスポート数の上限に達していて、エクスポートを受け付けられない場合にスローされる例外
+ */
+public class ReportExportRejectedException extends RuntimeException {
+    
+    public ReportExportRejectedException(String message) {
+        super(message);
+    }
+}
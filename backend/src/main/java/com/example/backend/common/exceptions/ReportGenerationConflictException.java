@@ -0,0 +1,15 @@
+package com.example.backend.common.exceptions;
+
+/**
+ * 同じ対象日の日報生成が別の内容で実行中の場合にスローされる例外
+ */
+public class ReportGenerationConflictException extends RuntimeException {
+    
+    public ReportGenerationConflictException(String message) {
+        super(message);
+    }
+    
+    public ReportGenerationConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
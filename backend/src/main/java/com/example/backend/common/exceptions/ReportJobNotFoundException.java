@@ -0,0 +1,15 @@
+package com.example.backend.common.exceptions;
+
+/**
+ * 生成ジョブが見つからない場合にスローされる例外
+ */
+public class ReportJobNotFoundException extends RuntimeException {
+    
+    public ReportJobNotFoundException(String message) {
+        super(message);
+    }
+    
+    public ReportJobNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
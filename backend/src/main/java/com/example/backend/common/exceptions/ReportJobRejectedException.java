@@ -0,0 +1,15 @@
+package com.example.backend.common.exceptions;
+
+/**
+ * 生成ジョブのキューが満杯で投入を受け付けられない場合にスローされる例外
+ */
+public class ReportJobRejectedException extends RuntimeException {
+    
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+    
+    public ReportJobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.backend.common.util;
 
 import com.example.backend.application.dto.reports.DailyReportDto;
+import com.example.backend.application.dto.reports.DailyReportSummaryDto;
 import com.example.backend.domain.reports.DailyReport;
+import com.example.backend.domain.reports.DailyReportSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +37,21 @@ public class DailyReportMapper {
                 .build();
     }
     
+    /**
+     * 日報サマリーをDTOに変換
+     * 
+     * @param summary 日報サマリー
+     * @return 日報サマリーDTO
+     */
+    public DailyReportSummaryDto toSummaryDto(DailyReportSummary summary) {
+        return DailyReportSummaryDto.builder()
+                .id(summary.getId())
+                .reportDate(summary.getReportDate())
+                .excerpt(summary.getExcerpt())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
+    
     /**
      * DailyReportエンティティのリストをDTOリストに変換
      * 
@@ -0,0 +1,98 @@
+package com.example.backend.common.util;
+
+import com.example.backend.application.dto.reports.ReportSourceDataDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 収集したソースデータとdaily_reports.raw_dataに保存するスナップショットJSONの変換を担当するMapper
+ * 
+ * スナップショットは以下の形式で保存する。形式を変更する場合は SNAPSHOT_VERSION を上げること
+ * <pre>
+ * { "version": 1, "collectedAt": "...", "github": {...}, "toggl": {...}, "notion": {...} }
+ * </pre>
+ * 取得に失敗したサービス（タイムアウト・エラー・利用不可の結果）は一時的な障害のことがあるため保存せずnullにし、
+ * 再生成時にそのサービスだけ再取得できるようにする
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportSourceSnapshotMapper {
+    
+    /**
+     * 現在のスナップショット形式のバージョン
+     */
+    public static final int SNAPSHOT_VERSION = 1;
+    
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * ソースデータをスナップショットJSONに変換
+     * 
+     * @param sourceData 収集したソースデータ
+     * @return raw_dataに保存するJSON文字列（変換できない場合はnull）
+     */
+    public String toSnapshotJson(ReportSourceDataDto sourceData) {
+        try {
+            ObjectNode snapshot = objectMapper.createObjectNode();
+            snapshot.put("version", SNAPSHOT_VERSION);
+            snapshot.put("collectedAt", LocalDateTime.now().toString());
+            snapshot.set("github", readSection(sourceData.getGithubData()));
+            snapshot.set("toggl", readSection(sourceData.getTogglData()));
+            snapshot.set("notion", readSection(sourceData.getNotionData()));
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * スナップショットJSONからソースデータを復元
+     * 
+     * @param rawData daily_reports.raw_dataの値
+     * @return ソースデータ（未保存・未対応バージョン・解析失敗の場合はOptional.empty()。
+     *         取得に失敗していたサービスのデータはnull）
+     */
+    public Optional<ReportSourceDataDto> fromSnapshotJson(String rawData) {
+        if (rawData == null || rawData.isBlank()) {
+            return Optional.empty();
+        }
+        
+        try {
+            JsonNode snapshot = objectMapper.readTree(rawData);
+            if (snapshot.path("version").asInt() != SNAPSHOT_VERSION) {
+                return Optional.empty();
+            }
+            
+            return Optional.of(ReportSourceDataDto.builder()
+                .githubData(writeSection(snapshot.get("github")))
+                .togglData(writeSection(snapshot.get("toggl")))
+                .notionData(writeSection(snapshot.get("notion")))
+                .build());
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+    }
+    
+    private JsonNode readSection(String json) throws JsonProcessingException {
+        JsonNode section = json != null ? objectMapper.readTree(json) : null;
+        return isCollected(section) ? section : objectMapper.nullNode();
+    }
+    
+    private String writeSection(JsonNode section) throws JsonProcessingException {
+        return isCollected(section) ? objectMapper.writeValueAsString(section) : null;
+    }
+    
+    /**
+     * 取得に成功したデータか（収集処理は失敗時に error フィールドを持つJSONを返す）
+     */
+    private static boolean isCollected(JsonNode section) {
+        return section != null && !section.isNull() && !section.has("error");
+    }
+}
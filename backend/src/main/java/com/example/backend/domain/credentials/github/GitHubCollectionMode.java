@@ -0,0 +1,17 @@
+package com.example.backend.domain.credentials.github;
+
+/**
+ * GitHubデータの収集方式
+ */
+public enum GitHubCollectionMode {
+    
+    /**
+     * REST API（コミット一覧 + コミットごとの詳細取得）
+     */
+    REST,
+    
+    /**
+     * GraphQL API（複数リポジトリのコミット・統計・関連PRをまとめて取得）
+     */
+    GRAPHQL
+}
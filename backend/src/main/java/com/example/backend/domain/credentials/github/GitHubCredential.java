@@ -19,6 +19,8 @@ public class GitHubCredential {
     private final boolean isActive;
     private final LocalDateTime createdAt;
     private final LocalDateTime updatedAt;
+    @Builder.Default
+    private final GitHubCollectionMode collectionMode = GitHubCollectionMode.REST;
     
     public boolean hasOwner() {
         return owner != null && !owner.trim().isEmpty();
@@ -32,6 +34,10 @@ public class GitHubCredential {
         return hasOwner() && hasRepo();
     }
     
+    public boolean usesGraphQl() {
+        return collectionMode == GitHubCollectionMode.GRAPHQL;
+    }
+    
     public String getFullRepoName() {
         if (hasOwnerAndRepo()) {
             return owner + "/" + repo;
@@ -0,0 +1,21 @@
+package com.example.backend.domain.reports;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 日報サマリー
+ * 一覧表示用の軽量な射影で、本文全体やソースデータ（raw_data）は含まない
+ */
+@Getter
+@Builder
+public class DailyReportSummary {
+    
+    private final UUID id;
+    private final LocalDate reportDate;
+    private final String excerpt;
+    private final LocalDateTime updatedAt;
+}
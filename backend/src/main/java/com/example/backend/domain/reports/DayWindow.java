@@ -0,0 +1,80 @@
+package com.example.backend.domain.reports;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 日報の対象日を、ユーザーのタイムゾーンでの1日分の時刻範囲として表す値オブジェクト
+ * 範囲は [start, end) の半開区間で、夏時間の切り替え日も含めて正確な瞬間で表す
+ *
+ * @param date 対象日
+ * @param zone 対象日を解釈するタイムゾーン
+ */
+public record DayWindow(
+    LocalDate date,
+    ZoneId zone
+) {
+
+    /**
+     * 指定タイムゾーンでの1日の範囲を作成
+     *
+     * @param date 対象日
+     * @param zone タイムゾーン
+     * @return 1日の範囲
+     */
+    public static DayWindow of(LocalDate date, ZoneId zone) {
+        return new DayWindow(date, zone);
+    }
+
+    /**
+     * 範囲の開始時刻（この時刻を含む）
+     *
+     * @return 対象日の0時（タイムゾーン考慮）
+     */
+    public Instant start() {
+        return date.atStartOfDay(zone).toInstant();
+    }
+
+    /**
+     * 範囲の終了時刻（この時刻を含まない）
+     *
+     * @return 翌日の0時（タイムゾーン考慮）
+     */
+    public Instant end() {
+        return date.plusDays(1).atStartOfDay(zone).toInstant();
+    }
+
+    /**
+     * 指定時刻が範囲内かどうか
+     *
+     * @param instant 判定する時刻
+     * @return 範囲内の場合true
+     */
+    public boolean contains(Instant instant) {
+        return instant != null && !instant.isBefore(start()) && instant.isBefore(end());
+    }
+
+    /**
+     * 指定時刻が範囲内かどうか
+     *
+     * @param dateTime 判定する時刻
+     * @return 範囲内の場合true
+     */
+    public boolean contains(OffsetDateTime dateTime) {
+        return dateTime != null && contains(dateTime.toInstant());
+    }
+
+    /**
+     * UTCで表された日時が範囲内かどうか（外部APIのタイムスタンプはUTCで返される）
+     *
+     * @param utcDateTime UTCの日時
+     * @return 範囲内の場合true
+     */
+    public boolean containsUtc(LocalDateTime utcDateTime) {
+        return utcDateTime != null && contains(utcDateTime.toInstant(ZoneOffset.UTC));
+    }
+}
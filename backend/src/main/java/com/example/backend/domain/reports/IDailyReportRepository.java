@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * 日報リポジトリインターフェース
@@ -20,6 +21,26 @@ public interface IDailyReportRepository {
      */
     DailyReport save(DailyReport report);
     
+    /**
+     * 同じユーザー・日付の日報が存在しない場合のみ日報を挿入
+     * 重複チェックと挿入を1文で行うため、同時リクエストでも二重登録されない
+     * 
+     * @param report 保存する日報エンティティ
+     * @return 挿入された日報エンティティ（既に存在した場合はOptional.empty()）
+     */
+    Optional<DailyReport> insertIfAbsent(DailyReport report);
+    
+    /**
+     * 再生成結果で日報を更新（単一のUPDATE文で更新し、更新後の行を返す）
+     * 
+     * @param id 日報ID
+     * @param finalContent 再生成されたコンテンツ
+     * @param additionalNotes 追加メモ（nullの場合は既存の値を維持）
+     * @param rawData ソースデータのスナップショット（nullの場合は既存の値を維持）
+     * @return 更新後の日報エンティティ（存在しない場合はOptional.empty()）
+     */
+    Optional<DailyReport> updateGeneratedContent(UUID id, String finalContent, String additionalNotes, String rawData);
+    
     /**
      * IDで日報を取得
      * 
@@ -55,6 +76,29 @@ public interface IDailyReportRepository {
      */
     List<DailyReport> findByUserIdAndDateRange(UUID userId, LocalDate startDate, LocalDate endDate);
     
+    /**
+     * ユーザーの日報サマリーをキーセット方式で取得（日付降順・ID降順）
+     * 本文は先頭の抜粋のみを取得し、raw_dataは読み込まない
+     * 
+     * @param userId ユーザーID
+     * @param afterDate 前ページ最後の日報日付（先頭ページの場合はnull）
+     * @param afterId 前ページ最後の日報ID（先頭ページの場合はnull）
+     * @param limit 取得件数
+     * @return 日報サマリーのリスト
+     */
+    List<DailyReportSummary> findSummariesByUserId(UUID userId, LocalDate afterDate, UUID afterId, int limit);
+    
+    /**
+     * ユーザーの日報を日付昇順に1件ずつ読み出して処理する
+     * サーバーサイドカーソルで少しずつ取得するため、全件をメモリに載せない（トランザクション内で呼び出すこと）
+     * 
+     * @param userId ユーザーID
+     * @param startDate 開始日（nullの場合は制限なし）
+     * @param endDate 終了日（nullの場合は制限なし）
+     * @param action 各日報に対する処理
+     */
+    void forEachByUserId(UUID userId, LocalDate startDate, LocalDate endDate, Consumer<DailyReport> action);
+    
     
     /**
      * 日報を削除
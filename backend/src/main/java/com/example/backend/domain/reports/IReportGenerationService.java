@@ -1,5 +1,7 @@
 package com.example.backend.domain.reports;
 
+import reactor.core.publisher.Flux;
+
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -18,6 +20,7 @@ public interface IReportGenerationService {
      * @param togglData Togglからの時間記録データ
      * @param notionData Notionからのコンテンツデータ
      * @param additionalNotes ユーザーからの追加情報
+     * @param useCache 同一入力に対する保存済みの応答を使う場合true
      * @return 生成された日報コンテンツ
      */
     String generateReport(
@@ -26,7 +29,31 @@ public interface IReportGenerationService {
         String githubData,
         String togglData, 
         String notionData,
-        String additionalNotes
+        String additionalNotes,
+        boolean useCache
+    );
+    
+    /**
+     * 新規日報をストリーミングで生成する
+     * 生成されたMarkdownを逐次チャンクとして返す
+     * 
+     * @param userId ユーザーID
+     * @param reportDate 日報対象日
+     * @param githubData GitHubからの活動データ
+     * @param togglData Togglからの時間記録データ
+     * @param notionData Notionからのコンテンツデータ
+     * @param additionalNotes ユーザーからの追加情報
+     * @param useCache 同一入力に対する保存済みの応答を使う場合true
+     * @return 生成された日報コンテンツのチャンク
+     */
+    Flux<String> streamReport(
+        UUID userId,
+        LocalDate reportDate,
+        String githubData,
+        String togglData,
+        String notionData,
+        String additionalNotes,
+        boolean useCache
     );
     
     /**
@@ -40,6 +67,7 @@ public interface IReportGenerationService {
      * @param previousContent 前回生成されたコンテンツ
      * @param userFeedback ユーザーからのフィードバック
      * @param additionalNotes ユーザーからの追加情報
+     * @param useCache 同一入力に対する保存済みの応答を使う場合true
      * @return 再生成された日報コンテンツ
      */
     String regenerateReport(
@@ -50,6 +78,7 @@ public interface IReportGenerationService {
         String notionData,
         String previousContent,
         String userFeedback,
-        String additionalNotes
+        String additionalNotes,
+        boolean useCache
     );
 }
@@ -0,0 +1,25 @@
+package com.example.backend.domain.reports;
+
+/**
+ * 日報生成に使用する外部データソース
+ */
+public enum ReportDataSource {
+    GITHUB("GitHub"),
+    TOGGL("Toggl"),
+    NOTION("Notion");
+
+    private final String displayName;
+
+    ReportDataSource(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * 表示用のサービス名を取得
+     *
+     * @return サービス名
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
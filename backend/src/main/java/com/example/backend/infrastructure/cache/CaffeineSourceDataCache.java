@@ -0,0 +1,110 @@
+package com.example.backend.infrastructure.cache;
+
+import com.example.backend.common.config.SourceCacheProperties;
+import com.example.backend.domain.reports.ReportDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caffeineによる外部データソースキャッシュの実装
+ * 終了した日（ユーザーのタイムゾーンで翌日0時を過ぎた日）のデータは確定済みとして長いTTL、
+ * まだ終わっていない日のデータは短いTTLで保持し、
+ * 最大エントリ数を超えた場合は使用頻度の低いものから破棄する。
+ * ソースごとのヒット・ミス数を nippogen.source.cache.requests メトリクスとして記録する
+ */
+@Component
+@ConditionalOnProperty(name = "nippogen.source-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CaffeineSourceDataCache implements SourceDataCache {
+
+    private final Cache<SourceDataCacheKey, Object> cache;
+    private final Map<ReportDataSource, Counter> hitCounters = new EnumMap<>(ReportDataSource.class);
+    private final Map<ReportDataSource, Counter> missCounters = new EnumMap<>(ReportDataSource.class);
+
+    public CaffeineSourceDataCache(SourceCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfter(new DateAwareExpiry(properties))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sourceData");
+
+        for (ReportDataSource source : ReportDataSource.values()) {
+            hitCounters.put(source, requestCounter(meterRegistry, source, "hit"));
+            missCounters.put(source, requestCounter(meterRegistry, source, "miss"));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(SourceDataCacheKey key, Supplier<T> loader) {
+        AtomicBoolean loaded = new AtomicBoolean(false);
+
+        // 同じキーへの同時アクセスはCaffeineが1回のロードにまとめる
+        Object value = cache.get(key, k -> {
+            loaded.set(true);
+            return loader.get();
+        });
+
+        (loaded.get() ? missCounters : hitCounters).get(key.source()).increment();
+        return (T) value;
+    }
+
+    @Override
+    public <T> T refresh(SourceDataCacheKey key, Supplier<T> loader) {
+        T value = loader.get();
+        cache.put(key, value);
+        missCounters.get(key.source()).increment();
+        return value;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, ReportDataSource source, String result) {
+        return Counter.builder("nippogen.source.cache.requests")
+            .description("外部データソースキャッシュの参照数")
+            .tag("source", source.name().toLowerCase())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 対象日の範囲が終了しているかどうかでTTLを切り替えるExpiry
+     * サーバーのタイムゾーンの日付ではなく、キーの範囲の終了時刻と現在時刻を比べる
+     */
+    private static class DateAwareExpiry implements Expiry<SourceDataCacheKey, Object> {
+
+        private final SourceCacheProperties properties;
+
+        DateAwareExpiry(SourceCacheProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public long expireAfterCreate(SourceDataCacheKey key, Object value, long currentTime) {
+            boolean isFinishedDay = !key.window().end().isAfter(Instant.now());
+            return (isFinishedDay ? properties.getPastDayTtl() : properties.getTodayTtl()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(SourceDataCacheKey key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(SourceDataCacheKey key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.backend.infrastructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * キャッシュ無効時の実装
+ * 常にローダーを呼び出して外部APIから取得する
+ */
+@Component
+@ConditionalOnProperty(name = "nippogen.source-cache.enabled", havingValue = "false")
+public class NoOpSourceDataCache implements SourceDataCache {
+
+    @Override
+    public <T> T get(SourceDataCacheKey key, Supplier<T> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public <T> T refresh(SourceDataCacheKey key, Supplier<T> loader) {
+        return loader.get();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.infrastructure.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * 外部データソース（GitHub・Toggl・Notion）の日次データキャッシュ
+ * 同じ認証情報・同じ日付のデータを再取得しないための差し替え可能なキャッシュ層
+ */
+public interface SourceDataCache {
+
+    /**
+     * キャッシュから値を取得し、存在しない場合はローダーで取得してキャッシュする
+     * ローダーが例外を投げた場合はキャッシュせずにそのまま伝播する
+     *
+     * @param key キャッシュキー
+     * @param loader キャッシュミス時に外部APIから取得する処理
+     * @return キャッシュ済みまたは新たに取得した値
+     */
+    <T> T get(SourceDataCacheKey key, Supplier<T> loader);
+
+    /**
+     * キャッシュを使わずにローダーで取得し、取得結果でキャッシュを置き換える
+     * 強制リフレッシュ時に使用する
+     *
+     * @param key キャッシュキー
+     * @param loader 外部APIから取得する処理
+     * @return 新たに取得した値
+     */
+    <T> T refresh(SourceDataCacheKey key, Supplier<T> loader);
+}
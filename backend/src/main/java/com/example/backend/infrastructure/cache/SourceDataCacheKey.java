@@ -0,0 +1,36 @@
+package com.example.backend.infrastructure.cache;
+
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.domain.reports.ReportDataSource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * 外部データソースのレスポンスキャッシュのキー
+ *
+ * @param source データソース
+ * @param credentialId 取得に使用した認証情報ID
+ * @param window 対象日の範囲（ユーザーのタイムゾーンでの1日）
+ * @param variant 同じデータソースから形式の異なるデータを取得する場合の区別（取得方式など。区別しない場合は空文字）
+ */
+public record SourceDataCacheKey(
+    ReportDataSource source,
+    UUID credentialId,
+    DayWindow window,
+    String variant
+) {
+
+    public SourceDataCacheKey(ReportDataSource source, UUID credentialId, DayWindow window) {
+        this(source, credentialId, window, "");
+    }
+
+    /**
+     * 対象日
+     *
+     * @return 対象日
+     */
+    public LocalDate date() {
+        return window.date();
+    }
+}
@@ -1,30 +1,96 @@
 package com.example.backend.infrastructure.github;
 
 import com.example.backend.domain.credentials.github.GitHubCredential;
+import com.example.backend.domain.reports.DayWindow;
 import com.example.backend.infrastructure.github.dto.GitHubCommitDto;
+import com.example.backend.infrastructure.github.dto.GitHubEventDto;
 import com.example.backend.infrastructure.github.dto.GitHubRepositoryDto;
+import com.example.backend.infrastructure.github.dto.GitHubUserDto;
+import com.example.backend.infrastructure.http.ConditionalRequestFilter;
+import com.example.backend.infrastructure.http.RateLimitFilter;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GitHubApiService {
     
+    
+    /**
+     * コミット一覧APIの1ページあたりの取得件数（APIの上限値）
+     */
+    private static final int COMMITS_PER_PAGE = 100;
+    
+    /**
+     * コミット一覧の最大取得ページ数（1日あたり最大1000コミット）
+     */
+    private static final int MAX_COMMIT_PAGES = 10;
+    
+    /**
+     * コミット詳細APIの同時呼び出し数（全リポジトリで共有）
+     */
+    private static final int COMMIT_DETAIL_CONCURRENCY = 8;
+    
+    /**
+     * コミット一覧を同時に取得するリポジトリ数
+     */
+    private static final int REPOSITORY_CONCURRENCY = 4;
+    
+    /**
+     * イベント一覧APIの1ページあたりの取得件数
+     */
+    private static final int EVENTS_PER_PAGE = 100;
+    
+    /**
+     * イベント一覧の最大取得ページ数（APIは直近300件までしか返さない）
+     */
+    private static final int MAX_EVENT_PAGES = 3;
+    
+    /**
+     * 複数リポジトリを統合したコミットの並び順（コミット日時の新しい順）
+     */
+    private static final Comparator<GitHubCommitDto> COMMIT_TIMELINE_ORDER = Comparator.comparing(
+        GitHubCommitDto::getCommitDate, Comparator.nullsLast(Comparator.reverseOrder()));
+    
+    private final String apiBaseUrl;
     private final WebClient webClient;
     
-    public GitHubApiService() {
-        this.webClient = WebClient.builder()
-            .baseUrl("https://api.github.com")
+    public GitHubApiService(
+        WebClient.Builder webClientBuilder,
+        HttpClient externalApiHttpClient,
+        ConditionalRequestFilter conditionalRequestFilter,
+        RateLimitFilter rateLimitFilter,
+        @Value("${nippogen.github.api-base-url:https://api.github.com}") String apiBaseUrl
+    ) {
+        this.apiBaseUrl = apiBaseUrl;
+        this.webClient = webClientBuilder
+            .baseUrl(apiBaseUrl)
+            .clientConnector(new ReactorClientHttpConnector(externalApiHttpClient))
             .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github.v3+json")
             .defaultHeader(HttpHeaders.USER_AGENT, "Nippogen-Backend/1.0")
+            .filter(conditionalRequestFilter)
+            .filter(rateLimitFilter)
             .build();
     }
     
@@ -54,32 +120,35 @@ public class GitHubApiService {
     }
     
     /**
-     * 指定日のコミット履歴を取得
+     * 指定日のコミット履歴を、設定済みリポジトリとその日にpushしたリポジトリを横断して取得
+     * プッシュイベントからリポジトリを検出し、全リポジトリを並列に取得してSHAで重複を除いた時系列（新しい順）にまとめる。
+     * 各リポジトリのコミットはLinkヘッダーをたどって全ページを取得し、各コミットの詳細（追加・削除行数）を並列に補完する
      * 
      * @param credential GitHub認証情報
-     * @param date 対象日
-     * @return コミット履歴
+     * @param window 対象日の範囲
+     * @return コミット履歴（コミット日時の降順）
      */
-    public List<GitHubCommitDto> getCommitsByDate(GitHubCredential credential, LocalDate date) {
+    public List<GitHubCommitDto> getCommitsByDateAcrossRepositories(GitHubCredential credential, DayWindow window) {
         try {
-            String since = date.atStartOfDay().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
-            String until = date.plusDays(1).atStartOfDay().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
+            // UTCの瞬間（末尾Z）で渡すことで、クエリ文字列で「+」が空白として解釈されるのを避ける
+            String since = window.start().toString();
+            String until = window.end().toString();
             
-            List<GitHubCommitDto> commits = webClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/repos/{owner}/{repo}/commits")
-                    .queryParam("since", since)
-                    .queryParam("until", until)
-                    .queryParam("author", credential.getOwner()) // 自分のコミットのみ
-                    .build(credential.getOwner(), credential.getRepo()))
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + credential.getApiKey())
-                .retrieve()
-                .bodyToFlux(GitHubCommitDto.class)
-                .collectList()
+            String configuredRepository = credential.getOwner() + "/" + credential.getRepo();
+            
+            // 設定済みリポジトリのオーナーは組織の場合があるため、イベント・コミットの作者はトークンのユーザーで絞り込む
+            List<GitHubCommitDto> commits = fetchAuthenticatedLogin(credential)
+                .flatMap(login -> discoverPushedRepositories(credential, login, window)
+                    .map(discovered -> {
+                        Set<String> all = new LinkedHashSet<>();
+                        all.add(configuredRepository);
+                        all.addAll(discovered);
+                        return all;
+                    })
+                    .flatMapMany(repos -> fetchCommitsWithStats(credential, login, repos, since, until))
+                    .collectSortedList(COMMIT_TIMELINE_ORDER))
                 .block();
                 
-                
             return commits != null ? commits : List.of();
             
         } catch (WebClientResponseException e) {
@@ -99,58 +168,164 @@ public class GitHubApiService {
     }
     
     /**
-     * 指定期間のコミット統計を取得
+     * トークンの認証済みユーザーのログイン名を取得
+     * 設定済みリポジトリのオーナー（組織の場合がある）ではなく、このユーザーのイベント・コミットを収集する
+     */
+    private Mono<String> fetchAuthenticatedLogin(GitHubCredential credential) {
+        return webClient
+            .get()
+            .uri("/user")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + credential.getApiKey())
+            .retrieve()
+            .bodyToMono(GitHubUserDto.class)
+            .mapNotNull(GitHubUserDto::getLogin);
+    }
+    
+    /**
+     * 指定日に自分がpushしたリポジトリをユーザーのイベント一覧から検出
+     * イベントAPIの取得に失敗した場合は空集合を返し、設定済みリポジトリのみで収集を続ける
+     */
+    private Mono<Set<String>> discoverPushedRepositories(GitHubCredential credential, String login, DayWindow window) {
+        OffsetDateTime start = window.start().atOffset(ZoneOffset.UTC);
+        
+        URI firstPage = UriComponentsBuilder.fromUriString(apiBaseUrl)
+            .path("/users/{username}/events")
+            .queryParam("per_page", EVENTS_PER_PAGE)
+            .buildAndExpand(login)
+            .encode()
+            .toUri();
+        
+        return fetchPage(credential, firstPage, GitHubEventDto.class)
+            // イベントは新しい順に返るため、対象日より古いイベントが現れたら以降のページは取得しない
+            .expand(page -> page.next() != null && !page.reachedBefore(start, GitHubEventDto::getCreatedAt)
+                ? fetchPage(credential, page.next(), GitHubEventDto.class)
+                : Mono.empty())
+            .take(MAX_EVENT_PAGES)
+            .concatMapIterable(Page::items)
+            .filter(GitHubEventDto::isPushEvent)
+            .filter(event -> window.contains(event.getCreatedAt()))
+            .mapNotNull(GitHubEventDto::getRepositoryFullName)
+            .collect(Collectors.toCollection(LinkedHashSet<String>::new))
+            .map(Collections::unmodifiableSet)
+            .onErrorResume(e -> Mono.just(Set.of()));
+    }
+    
+    /**
+     * 複数リポジトリの期間内の自分のコミットを取得し、コミット詳細APIで統計情報を補完する
+     * リポジトリ一覧の取得と詳細取得はそれぞれ同時実行数を制限しており、リポジトリ数が増えても
+     * GitHub APIへの同時リクエスト数は一定に保たれる。同じSHAのコミットは1件にまとめる
+     */
+    private Flux<GitHubCommitDto> fetchCommitsWithStats(
+        GitHubCredential credential,
+        String author,
+        Collection<String> repositories,
+        String since,
+        String until
+    ) {
+        return Flux.fromIterable(repositories)
+            .flatMap(repository -> listCommits(credential, author, repository, since, until), REPOSITORY_CONCURRENCY)
+            .distinct(GitHubCommitDto::getSha)
+            // 一覧APIはstatsを返さないため、詳細APIで補完する（全リポジトリで同時実行数を共有）
+            .flatMap(commit -> fetchCommitDetail(credential, commit), COMMIT_DETAIL_CONCURRENCY);
+    }
+    
+    /**
+     * 1リポジトリの期間内の自分のコミットを、Linkヘッダーをたどって全ページ取得
+     */
+    private Flux<GitHubCommitDto> listCommits(
+        GitHubCredential credential,
+        String author,
+        String repository,
+        String since,
+        String until
+    ) {
+        URI firstPage = UriComponentsBuilder.fromUriString(apiBaseUrl)
+            .path("/repos/" + repository + "/commits")
+            .queryParam("since", since)
+            .queryParam("until", until)
+            .queryParam("author", author) // 自分のコミットのみ
+            .queryParam("per_page", COMMITS_PER_PAGE)
+            .build()
+            .encode()
+            .toUri();
+        
+        return fetchPage(credential, firstPage, GitHubCommitDto.class)
+            .expand(page -> page.next() != null ? fetchPage(credential, page.next(), GitHubCommitDto.class) : Mono.empty())
+            .take(MAX_COMMIT_PAGES)
+            .concatMapIterable(Page::items)
+            .doOnNext(commit -> commit.setRepository(repository));
+    }
+    
+    /**
+     * 一覧APIの1ページを取得し、Linkヘッダーから次ページのURLを取り出す
+     */
+    private <T> Mono<Page<T>> fetchPage(GitHubCredential credential, URI uri, Class<T> elementType) {
+        return webClient
+            .get()
+            .uri(uri)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + credential.getApiKey())
+            .retrieve()
+            .toEntityList(elementType)
+            .map(entity -> new Page<>(
+                entity.getBody() != null ? entity.getBody() : List.of(),
+                nextPageUri(entity.getHeaders())
+            ));
+    }
+    
+    /**
+     * コミット詳細を取得して統計情報（追加・削除行数）を補完
+     * 詳細の取得に失敗した場合は一覧から得たコミットをそのまま返す
+     */
+    private Mono<GitHubCommitDto> fetchCommitDetail(GitHubCredential credential, GitHubCommitDto commit) {
+        return webClient
+            .get()
+            .uri(apiBaseUrl + "/repos/" + commit.getRepository() + "/commits/{sha}", commit.getSha())
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + credential.getApiKey())
+            .retrieve()
+            .bodyToMono(GitHubCommitDto.class)
+            .doOnNext(detail -> detail.setRepository(commit.getRepository()))
+            .onErrorResume(e -> Mono.just(commit))
+            .defaultIfEmpty(commit);
+    }
+    
+    /**
+     * Linkヘッダー（{@code <url>; rel="next", <url>; rel="last"}）から次ページのURLを取得
      * 
-     * @param credential GitHub認証情報  
-     * @param startDate 開始日
-     * @param endDate 終了日
-     * @return コミット統計
+     * @return 次ページのURL（最終ページの場合はnull）
      */
-    public GitHubCommitStats getCommitStats(GitHubCredential credential, LocalDate startDate, LocalDate endDate) {
-        try {
-            String since = startDate.atStartOfDay().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
-            String until = endDate.plusDays(1).atStartOfDay().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
-            
-            List<GitHubCommitDto> commits = webClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/repos/{owner}/{repo}/commits")
-                    .queryParam("since", since)
-                    .queryParam("until", until)
-                    .queryParam("author", credential.getOwner())
-                    .build(credential.getOwner(), credential.getRepo()))
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + credential.getApiKey())
-                .retrieve()
-                .bodyToFlux(GitHubCommitDto.class)
-                .collectList()
-                .block();
-            
-            if (commits == null) {
-                return new GitHubCommitStats(0, 0, 0, List.of());
+    private static URI nextPageUri(HttpHeaders headers) {
+        String link = headers.getFirst(HttpHeaders.LINK);
+        if (link == null) {
+            return null;
+        }
+        
+        for (String part : link.split(",")) {
+            String[] segments = part.split(";");
+            if (segments.length < 2) {
+                continue;
+            }
+            for (int i = 1; i < segments.length; i++) {
+                if (segments[i].trim().equals("rel=\"next\"")) {
+                    String url = segments[0].trim();
+                    return URI.create(url.substring(1, url.length() - 1));
+                }
             }
-            
-            int totalCommits = commits.size();
-            int totalAdditions = commits.stream()
-                .mapToInt(commit -> commit.getStats() != null ? commit.getStats().getAdditions() : 0)
-                .sum();
-            int totalDeletions = commits.stream()
-                .mapToInt(commit -> commit.getStats() != null ? commit.getStats().getDeletions() : 0)
-                .sum();
-                
-            return new GitHubCommitStats(totalCommits, totalAdditions, totalDeletions, commits);
-            
-        } catch (Exception e) {
-            throw new RuntimeException("GitHubの統計データ取得に失敗しました。", e);
         }
+        return null;
     }
     
     /**
-     * コミット統計データクラス
+     * 一覧APIの1ページ分と次ページのURL
      */
-    public record GitHubCommitStats(
-        int totalCommits,
-        int totalAdditions,
-        int totalDeletions,
-        List<GitHubCommitDto> commits
-    ) {}
+    private record Page<T>(List<T> items, URI next) {
+        
+        /**
+         * ページ内に指定日時より古い要素があるかどうか（新しい順に並ぶ一覧の打ち切り判定に使う）
+         */
+        boolean reachedBefore(OffsetDateTime threshold, Function<T, OffsetDateTime> timestamp) {
+            return items.stream()
+                .map(timestamp)
+                .anyMatch(time -> time != null && time.isBefore(threshold));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,320 @@
+package com.example.backend.infrastructure.github;
+
+import com.example.backend.domain.credentials.github.GitHubCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.github.dto.GitHubCommitDto;
+import com.example.backend.infrastructure.http.RateLimitFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GitHub GraphQL APIによるコミット収集
+ * 複数リポジトリのコミット履歴・追加/削除行数・関連PRとレビューを、エイリアスでまとめた少数のクエリで取得する。
+ * 出力はREST版（{@link GitHubApiService}）と同じ {@link GitHubCommitDto} に正規化する
+ */
+@Service
+public class GitHubGraphQlApiService {
+    
+    /**
+     * 1リポジトリ・1クエリあたりのコミット取得件数（APIの上限値）
+     */
+    private static final int COMMITS_PER_PAGE = 100;
+    
+    /**
+     * コミット履歴の最大ページ数（1リポジトリ・1日あたり最大1000コミット）
+     */
+    private static final int MAX_COMMIT_PAGES = 10;
+    
+    /**
+     * 1クエリにまとめるリポジトリ数（クエリのノード数上限に収まるように制限）
+     */
+    private static final int REPOSITORIES_PER_QUERY = 10;
+    
+    /**
+     * 対象期間にコミットしたリポジトリとして検出する最大数
+     */
+    private static final int MAX_CONTRIBUTED_REPOSITORIES = 25;
+    
+    /**
+     * トークンの認証済みユーザー（viewer）と、期間内にコミットしたリポジトリ
+     * 設定済みリポジトリのオーナーは組織の場合があるため、ユーザーはオーナー名ではなくトークンから解決する
+     */
+    private static final String CONTRIBUTIONS_QUERY = """
+        query($from: DateTime!, $to: DateTime!) {
+          viewer {
+            login
+            id
+            contributionsCollection(from: $from, to: $to) {
+              commitContributionsByRepository(maxRepositories: %d) {
+                repository { nameWithOwner }
+              }
+            }
+          }
+        }
+        """.formatted(MAX_CONTRIBUTED_REPOSITORIES);
+    
+    /**
+     * リポジトリごとのコミット履歴の選択セット（%1$d: エイリアス番号）
+     */
+    private static final String COMMIT_HISTORY_SELECTION = """
+          r%1$d: repository(owner: $owner%1$d, name: $name%1$d) {
+            nameWithOwner
+            defaultBranchRef {
+              target {
+                ... on Commit {
+                  history(first: %2$d, since: $since, until: $until, author: {id: $authorId}, after: $after%1$d) {
+                    pageInfo { hasNextPage endCursor }
+                    nodes {
+                      oid
+                      message
+                      committedDate
+                      authoredDate
+                      additions
+                      deletions
+                      author { name }
+                      associatedPullRequests(first: 5) {
+                        nodes {
+                          number
+                          title
+                          url
+                          state
+                          reviews(first: 20) {
+                            totalCount
+                            nodes { author { login } }
+                          }
+                        }
+                      }
+                    }
+                  }
+                }
+              }
+            }
+          }
+        """;
+    
+    private static final Comparator<GitHubCommitDto> COMMIT_TIMELINE_ORDER = Comparator.comparing(
+        GitHubCommitDto::getCommitDate, Comparator.nullsLast(Comparator.reverseOrder()));
+    
+    private final WebClient webClient;
+    
+    public GitHubGraphQlApiService(
+        WebClient.Builder webClientBuilder,
+        HttpClient externalApiHttpClient,
+        RateLimitFilter rateLimitFilter,
+        @Value("${nippogen.github.graphql-url:https://api.github.com/graphql}") String graphQlUrl
+    ) {
+        this.webClient = webClientBuilder
+            .baseUrl(graphQlUrl)
+            .clientConnector(new ReactorClientHttpConnector(externalApiHttpClient))
+            .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .defaultHeader(HttpHeaders.USER_AGENT, "Nippogen-Backend/1.0")
+            .filter(rateLimitFilter)
+            .build();
+    }
+    
+    /**
+     * 指定日のコミット履歴を、設定済みリポジトリとその日にコミットしたリポジトリを横断して取得
+     * 
+     * @param credential GitHub認証情報
+     * @param window 対象日の範囲
+     * @return コミット履歴（コミット日時の降順、SHAで重複なし）
+     */
+    public List<GitHubCommitDto> getCommitsByDateAcrossRepositories(GitHubCredential credential, DayWindow window) {
+        try {
+            String since = window.start().toString();
+            String until = window.end().toString();
+            
+            // 1クエリ目: トークンのユーザーのノードIDと、期間内にコミットしたリポジトリ
+            JsonNode user = execute(credential, CONTRIBUTIONS_QUERY, Map.of(
+                "from", since,
+                "to", until
+            )).path("viewer");
+            if (user.isMissingNode() || user.isNull()) {
+                throw new RuntimeException("GitHubの認証済みユーザーを取得できませんでした。");
+            }
+            
+            Set<String> repositories = new LinkedHashSet<>();
+            if (credential.hasOwnerAndRepo()) {
+                repositories.add(credential.getFullRepoName());
+            }
+            for (JsonNode contribution : user.path("contributionsCollection").path("commitContributionsByRepository")) {
+                repositories.add(contribution.path("repository").path("nameWithOwner").asText());
+            }
+            
+            // 2クエリ目以降: リポジトリをまとめてコミット履歴を取得し、続きがあるリポジトリだけ次ページを取得
+            Map<String, GitHubCommitDto> commits = new LinkedHashMap<>();
+            Map<String, String> pending = new LinkedHashMap<>();
+            repositories.forEach(repository -> pending.put(repository, null));
+            
+            for (int page = 0; page < MAX_COMMIT_PAGES && !pending.isEmpty(); page++) {
+                Map<String, String> next = new LinkedHashMap<>();
+                List<String> batch = new ArrayList<>(pending.keySet());
+                
+                for (int start = 0; start < batch.size(); start += REPOSITORIES_PER_QUERY) {
+                    List<String> chunk = batch.subList(start, Math.min(start + REPOSITORIES_PER_QUERY, batch.size()));
+                    JsonNode data = fetchHistories(credential, user.path("id").asText(), since, until, chunk, pending);
+                    
+                    for (int i = 0; i < chunk.size(); i++) {
+                        JsonNode history = data.path("r" + i).path("defaultBranchRef").path("target").path("history");
+                        for (JsonNode node : history.path("nodes")) {
+                            commits.putIfAbsent(node.path("oid").asText(), toCommitDto(chunk.get(i), node));
+                        }
+                        JsonNode pageInfo = history.path("pageInfo");
+                        if (pageInfo.path("hasNextPage").asBoolean(false)) {
+                            next.put(chunk.get(i), pageInfo.path("endCursor").asText());
+                        }
+                    }
+                }
+                pending.clear();
+                pending.putAll(next);
+            }
+            
+            return commits.values().stream()
+                .sorted(COMMIT_TIMELINE_ORDER)
+                .toList();
+            
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                throw new RuntimeException("GitHub認証に失敗しました。APIキーを確認してください。", e);
+            } else if (e.getStatusCode() == HttpStatus.FORBIDDEN) {
+                throw new RuntimeException("GitHub APIへのアクセスが制限されています。", e);
+            }
+            
+            throw new RuntimeException("GitHub GraphQL APIの呼び出しに失敗しました: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 複数リポジトリのコミット履歴をエイリアス（r0, r1, ...）でまとめて1クエリで取得
+     */
+    private JsonNode fetchHistories(
+        GitHubCredential credential,
+        String authorId,
+        String since,
+        String until,
+        List<String> repositories,
+        Map<String, String> cursors
+    ) {
+        StringBuilder variableDefinitions = new StringBuilder("$since: GitTimestamp!, $until: GitTimestamp!, $authorId: ID!");
+        StringBuilder selections = new StringBuilder();
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("since", since);
+        variables.put("until", until);
+        variables.put("authorId", authorId);
+        
+        for (int i = 0; i < repositories.size(); i++) {
+            String[] ownerAndName = repositories.get(i).split("/", 2);
+            variableDefinitions.append(", $owner").append(i).append(": String!")
+                .append(", $name").append(i).append(": String!")
+                .append(", $after").append(i).append(": String");
+            selections.append(COMMIT_HISTORY_SELECTION.formatted(i, COMMITS_PER_PAGE));
+            variables.put("owner" + i, ownerAndName[0]);
+            variables.put("name" + i, ownerAndName.length > 1 ? ownerAndName[1] : "");
+            variables.put("after" + i, cursors.get(repositories.get(i)));
+        }
+        
+        String query = "query(" + variableDefinitions + ") {\n" + selections + "}";
+        return execute(credential, query, variables);
+    }
+    
+    /**
+     * GraphQLクエリを実行してdata部分を返す
+     * 一部のリポジトリにアクセスできない場合などの部分的なエラーは無視し、dataがない場合のみ例外にする
+     */
+    private JsonNode execute(GitHubCredential credential, String query, Map<String, Object> variables) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", query);
+        body.put("variables", variables);
+        
+        JsonNode response = webClient
+            .post()
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + credential.getApiKey())
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(JsonNode.class)
+            .block();
+        
+        if (response == null || response.path("data").isMissingNode() || response.path("data").isNull()) {
+            String message = response != null && response.has("errors")
+                ? response.path("errors").path(0).path("message").asText()
+                : "レスポンスが空です";
+            throw new RuntimeException("GitHub GraphQL APIの呼び出しに失敗しました: " + message);
+        }
+        return response.path("data");
+    }
+    
+    /**
+     * GraphQLのコミットノードをREST版と同じDTOに正規化
+     * REST版（commit.author.date）と同じく作成日時（authoredDate）を使い、
+     * リベース・チェリーピックされたコミットでも収集方式によって日付や並び順が変わらないようにする
+     */
+    private GitHubCommitDto toCommitDto(String repository, JsonNode node) {
+        GitHubCommitDto.CommitAuthor author = new GitHubCommitDto.CommitAuthor();
+        author.setName(node.path("author").path("name").asText(""));
+        String authoredDate = node.hasNonNull("authoredDate")
+            ? node.path("authoredDate").asText()
+            : node.path("committedDate").asText(null);
+        if (authoredDate != null) {
+            author.setDate(OffsetDateTime.parse(authoredDate)
+                .withOffsetSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime());
+        }
+        
+        GitHubCommitDto.CommitDetail detail = new GitHubCommitDto.CommitDetail();
+        detail.setMessage(node.path("message").asText(""));
+        detail.setAuthor(author);
+        
+        GitHubCommitDto.CommitStats stats = new GitHubCommitDto.CommitStats();
+        stats.setAdditions(node.path("additions").asInt());
+        stats.setDeletions(node.path("deletions").asInt());
+        stats.setTotal(stats.getAdditions() + stats.getDeletions());
+        
+        List<GitHubCommitDto.PullRequestRef> pullRequests = new ArrayList<>();
+        for (JsonNode pr : node.path("associatedPullRequests").path("nodes")) {
+            GitHubCommitDto.PullRequestRef ref = new GitHubCommitDto.PullRequestRef();
+            ref.setNumber(pr.path("number").asInt());
+            ref.setTitle(pr.path("title").asText());
+            ref.setUrl(pr.path("url").asText());
+            ref.setState(pr.path("state").asText());
+            ref.setReviewCount(pr.path("reviews").path("totalCount").asInt());
+            
+            Set<String> reviewers = new LinkedHashSet<>();
+            for (JsonNode review : pr.path("reviews").path("nodes")) {
+                String login = review.path("author").path("login").asText(null);
+                if (login != null) {
+                    reviewers.add(login);
+                }
+            }
+            ref.setReviewers(List.copyOf(reviewers));
+            pullRequests.add(ref);
+        }
+        
+        GitHubCommitDto commit = new GitHubCommitDto();
+        commit.setSha(node.path("oid").asText());
+        commit.setCommit(detail);
+        commit.setStats(stats);
+        commit.setRepository(repository);
+        commit.setPullRequests(pullRequests);
+        return commit;
+    }
+}
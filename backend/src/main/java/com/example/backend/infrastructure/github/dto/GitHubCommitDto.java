@@ -1,10 +1,12 @@
 package com.example.backend.infrastructure.github.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -25,6 +27,18 @@ public class GitHubCommitDto {
     @JsonProperty("committer")
     private GitHubUser committer;
     
+    /**
+     * コミットが属するリポジトリ（「owner/repo」形式）。APIレスポンスには含まれず、取得時に設定する
+     */
+    @JsonIgnore
+    private String repository;
+    
+    /**
+     * コミットに関連するプルリクエスト。GraphQLでの取得時のみ設定する
+     */
+    @JsonIgnore
+    private List<PullRequestRef> pullRequests;
+    
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class CommitDetail {
@@ -98,6 +112,25 @@ public class GitHubCommitDto {
         private String url;
     }
     
+    @Data
+    public static class PullRequestRef {
+        
+        private Integer number;
+        
+        private String title;
+        
+        private String url;
+        
+        private String state;
+        
+        private int reviewCount;
+        
+        /**
+         * レビューしたユーザーのログイン名（重複なし）
+         */
+        private List<String> reviewers;
+    }
+    
     // Utility methods
     public String getCommitMessage() {
         return commit != null ? commit.getMessage() : "";
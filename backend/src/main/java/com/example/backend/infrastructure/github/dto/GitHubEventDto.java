@@ -0,0 +1,43 @@
+package com.example.backend.infrastructure.github.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitHubEventDto {
+    
+    public static final String PUSH_EVENT = "PushEvent";
+    
+    @JsonProperty("type")
+    private String type;
+    
+    @JsonProperty("repo")
+    private EventRepository repo;
+    
+    @JsonProperty("created_at")
+    private OffsetDateTime createdAt;
+    
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class EventRepository {
+        
+        /**
+         * 「owner/repo」形式のリポジトリ名
+         */
+        @JsonProperty("name")
+        private String name;
+    }
+    
+    // Utility methods
+    public boolean isPushEvent() {
+        return PUSH_EVENT.equals(type);
+    }
+    
+    public String getRepositoryFullName() {
+        return repo != null ? repo.getName() : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.infrastructure.github.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * 認証済みユーザー（GET /user）のレスポンス
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitHubUserDto {
+    
+    @JsonProperty("id")
+    private Long id;
+    
+    @JsonProperty("login")
+    private String login;
+}
@@ -0,0 +1,169 @@
+package com.example.backend.infrastructure.http;
+
+import com.example.backend.common.config.ConditionalRequestProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 外部APIへのGETリクエストを条件付きリクエストにするWebClientフィルター
+ * ETag / Last-Modified を返したレスポンスを「リクエストURL + 認証情報」ごとに保存し、
+ * 次回以降は If-None-Match / If-Modified-Since を付けて送信する。
+ * 304 Not Modified が返った場合は保存済みの本文を 200 として返す
+ * （GitHubでは304はプライマリレート制限を消費しない）。
+ * Content-Lengthが不明、または保存対象の最大サイズを超えるレスポンスは、本文を読み込まずにそのまま返す。
+ * 結果は nippogen.http.conditional.requests メトリクスとして記録する
+ */
+@Component
+public class ConditionalRequestFilter implements ExchangeFilterFunction {
+
+    private final ConditionalRequestProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, StoredResponse> cache;
+
+    public ConditionalRequestFilter(ConditionalRequestProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumTotalSize().toBytes())
+            .weigher((String key, StoredResponse response) -> response.body().length())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "conditionalResponses");
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!properties.isEnabled() || !HttpMethod.GET.equals(request.method())) {
+            return next.exchange(request);
+        }
+
+        String key = cacheKey(request);
+        StoredResponse stored = cache.getIfPresent(key);
+        ClientRequest conditionalRequest = stored != null ? withValidators(request, stored) : request;
+
+        return next.exchange(conditionalRequest).flatMap(response -> {
+            if (stored != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                record(request, "not_modified");
+                return response.releaseBody().thenReturn(stored.toResponse(response));
+            }
+
+            HttpHeaders headers = response.headers().asHttpHeaders();
+            if (!response.statusCode().is2xxSuccessful()
+                || (headers.getETag() == null && headers.getFirst(HttpHeaders.LAST_MODIFIED) == null)) {
+                record(request, "uncacheable");
+                return Mono.just(response);
+            }
+
+            long maximumBodySize = properties.getMaximumBodySize().toBytes();
+            long contentLength = headers.getContentLength();
+            if (contentLength < 0 || contentLength > maximumBodySize) {
+                // 本文をバッファーに読み込まず、呼び出し元にストリームのまま渡す
+                record(request, contentLength < 0 ? "unknown_length" : "too_large");
+                return Mono.just(response);
+            }
+
+            record(request, stored != null ? "modified" : "miss");
+            // コーデックの上限（既定256KB）を通さず、Content-Lengthで確認済みのサイズまでを直接読み込む
+            return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), (int) contentLength)
+                .map(buffer -> {
+                    try {
+                        return buffer.toString(charset(headers));
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .defaultIfEmpty("")
+                .map(body -> {
+                    cache.put(key, StoredResponse.of(headers, body));
+                    return response.mutate().body(body).build();
+                });
+        });
+    }
+
+    private static Charset charset(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset()
+            : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 保存済みの検証子を条件付きヘッダーとして付与
+     */
+    private static ClientRequest withValidators(ClientRequest request, StoredResponse stored) {
+        return ClientRequest.from(request)
+            .headers(headers -> {
+                if (stored.etag() != null) {
+                    headers.set(HttpHeaders.IF_NONE_MATCH, stored.etag());
+                }
+                if (stored.lastModified() != null) {
+                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, stored.lastModified());
+                }
+            })
+            .build();
+    }
+
+    /**
+     * URLと認証情報からキャッシュキーを生成（APIキーはそのまま保持せずハッシュ化する）
+     */
+    private static String cacheKey(ClientRequest request) {
+        String authorization = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+        return CredentialDigest.sha256(authorization) + " " + request.url();
+    }
+
+    private void record(ClientRequest request, String result) {
+        meterRegistry.counter("nippogen.http.conditional.requests",
+                "host", String.valueOf(request.url().getHost()),
+                "result", result)
+            .increment();
+    }
+
+    /**
+     * 保存したレスポンス（ヘッダーと本文）と検証子
+     */
+    private record StoredResponse(String etag, String lastModified, HttpHeaders headers, String body) {
+
+        static StoredResponse of(HttpHeaders original, String body) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(original);
+            // 本文は文字列として再エンコードされるため、元の長さ・圧縮に関するヘッダーは引き継がない
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            return new StoredResponse(original.getETag(), original.getFirst(HttpHeaders.LAST_MODIFIED), headers, body);
+        }
+
+        /**
+         * 304レスポンスを保存済みの本文を持つ200レスポンスに置き換える
+         */
+        ClientResponse toResponse(ClientResponse notModified) {
+            return notModified.mutate()
+                .statusCode(HttpStatus.OK)
+                .headers(current -> {
+                    current.clear();
+                    current.addAll(headers);
+                })
+                .body(body)
+                .build();
+        }
+    }
+}
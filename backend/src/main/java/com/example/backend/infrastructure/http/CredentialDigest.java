@@ -0,0 +1,30 @@
+package com.example.backend.infrastructure.http;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 認証ヘッダーなどの秘密情報を、そのまま保持せずに識別するためのダイジェスト
+ */
+final class CredentialDigest {
+
+    private CredentialDigest() {
+    }
+
+    /**
+     * SHA-256ダイジェストの16進文字列を返す
+     *
+     * @param value 対象の文字列（nullの場合は空文字列として扱う）
+     * @return ダイジェスト
+     */
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((value != null ? value : "").getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256が利用できません", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.backend.infrastructure.http;
+
+/**
+ * 外部APIのレート制限により、許容される待機時間内にリクエストを送信できない場合の例外
+ */
+public class OutboundRateLimitException extends RuntimeException {
+
+    public OutboundRateLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.backend.infrastructure.http;
+
+import com.example.backend.common.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * 外部APIへのリクエストをレート制限に合わせて送信するWebClientフィルター
+ * レスポンスの X-RateLimit-Remaining / X-RateLimit-Reset / Retry-After から認証情報ごとの残量を追跡し、
+ * 残量が少なくなるとリセット時刻まで均等に間隔を空け、制限に達した場合はリセット（Retry-After）まで待ってから送信する。
+ * 429などのレート制限レスポンスは待機したうえで再試行するため、大量の日報生成時も一斉に失敗せず徐々に減速する。
+ * 残量・待機時間を nippogen.http.ratelimit.* メトリクスとして公開する
+ */
+@Component
+public class RateLimitFilter implements ExchangeFilterFunction {
+
+    private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ProviderState> providersByHost = new HashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        properties.getProviders().forEach((name, provider) -> {
+            ProviderState state = new ProviderState(name, provider, properties);
+            providersByHost.put(provider.getHost(), state);
+
+            Gauge.builder("nippogen.http.ratelimit.remaining", state, ProviderState::minRemaining)
+                .description("認証情報ごとの残りリクエスト数の最小値（未取得の場合はNaN）")
+                .tag("provider", name)
+                .register(meterRegistry);
+            Gauge.builder("nippogen.http.ratelimit.blocked", state, ProviderState::blockedCount)
+                .description("レート制限によりリセット待ちの認証情報の数")
+                .tag("provider", name)
+                .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        ProviderState provider = providersByHost.get(request.url().getHost());
+        if (!properties.isEnabled() || provider == null) {
+            return next.exchange(request);
+        }
+
+        Budget budget = provider.budgetFor(request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+        return exchange(request, next, provider, budget, 0);
+    }
+
+    private Mono<ClientResponse> exchange(
+        ClientRequest request,
+        ExchangeFunction next,
+        ProviderState provider,
+        Budget budget,
+        int attempt
+    ) {
+        long now = System.currentTimeMillis();
+        long waitMillis = Math.max(
+            budget.reserve(now, provider.config.getMinInterval().toMillis(), provider.config.getReserve()),
+            provider.budget.reserve(now, provider.config.getProviderMinInterval().toMillis(), 0)
+        );
+
+        if (waitMillis > properties.getMaxWait().toMillis()) {
+            meterRegistry.counter("nippogen.http.ratelimit.rejected", "provider", provider.name).increment();
+            return Mono.error(new OutboundRateLimitException(
+                provider.name + " APIのレート制限により " + waitMillis / 1000 + " 秒以上の待機が必要なため送信を中止しました"));
+        }
+
+        Timer.builder("nippogen.http.ratelimit.wait")
+            .description("レート制御による送信待ち時間")
+            .tag("provider", provider.name)
+            .register(meterRegistry)
+            .record(Duration.ofMillis(waitMillis));
+
+        Mono<ClientResponse> send = Mono.defer(() -> next.exchange(request));
+        Mono<ClientResponse> delayed = waitMillis > 0
+            ? Mono.delay(Duration.ofMillis(waitMillis)).then(send)
+            : send;
+
+        return delayed.flatMap(response -> {
+            boolean limited = budget.update(response.statusCode(), response.headers().asHttpHeaders(),
+                System.currentTimeMillis(), properties.getDefaultRetryAfter().toMillis());
+            if (!limited) {
+                return Mono.just(response);
+            }
+
+            meterRegistry.counter("nippogen.http.ratelimit.throttled", "provider", provider.name).increment();
+            if (attempt >= properties.getMaxRetries()) {
+                return Mono.just(response);
+            }
+            // 待機時間は次回のreserveで計算されるため、ここでは本文を破棄して再送するだけでよい
+            return response.releaseBody().then(exchange(request, next, provider, budget, attempt + 1));
+        });
+    }
+
+    /**
+     * プロバイダーごとの状態（プロバイダー全体の送信間隔と、認証情報ごとの残量）
+     */
+    private static class ProviderState {
+
+        private final String name;
+        private final RateLimitProperties.Provider config;
+        private final Budget budget = new Budget();
+
+        /**
+         * 認証情報ごとの残量。しばらく使われていない認証情報は破棄し、件数も上限で抑える
+         */
+        private final Cache<String, Budget> budgetsByCredential;
+
+        ProviderState(String name, RateLimitProperties.Provider config, RateLimitProperties properties) {
+            this.name = name;
+            this.config = config;
+            this.budgetsByCredential = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedCredentials())
+                .expireAfterAccess(properties.getCredentialIdleTimeout())
+                .build();
+        }
+
+        Budget budgetFor(String authorization) {
+            // 認証ヘッダーの値そのものはキーにせず、衝突しないSHA-256ダイジェストで識別する
+            return budgetsByCredential.get(CredentialDigest.sha256(authorization), key -> new Budget());
+        }
+
+        double minRemaining() {
+            OptionalLong min = budgetsByCredential.asMap().values().stream()
+                .mapToLong(Budget::remaining)
+                .filter(remaining -> remaining >= 0)
+                .min();
+            return min.isPresent() ? min.getAsLong() : Double.NaN;
+        }
+
+        double blockedCount() {
+            long now = System.currentTimeMillis();
+            return budgetsByCredential.asMap().values().stream()
+                .filter(budget -> budget.isBlocked(now))
+                .count();
+        }
+    }
+
+    /**
+     * 1つの認証情報（またはプロバイダー全体）の送信予定と残量
+     */
+    private static class Budget {
+
+        /**
+         * 残りリクエスト数（不明な場合は-1）
+         */
+        private long remaining = -1;
+
+        /**
+         * 残量がリセットされる時刻（エポックミリ秒、不明な場合は0）
+         */
+        private long resetAt;
+
+        /**
+         * Retry-Afterなどにより送信を控える時刻（エポックミリ秒）
+         */
+        private long blockedUntil;
+
+        /**
+         * 次のリクエストを送信できる最も早い時刻（エポックミリ秒）
+         */
+        private long nextAvailableAt;
+
+        /**
+         * 次のリクエストの送信枠を予約し、送信までの待機時間を返す
+         */
+        synchronized long reserve(long now, long minIntervalMillis, int reserve) {
+            long start = Math.max(Math.max(now, nextAvailableAt), blockedUntil);
+            long interval = minIntervalMillis;
+
+            if (remaining >= 0 && resetAt > 0) {
+                if (start >= resetAt) {
+                    // リセット時刻を過ぎたら残量は次のレスポンスで取得し直す
+                    remaining = -1;
+                } else if (remaining == 0) {
+                    start = resetAt;
+                    remaining = -1;
+                } else if (remaining <= reserve) {
+                    // 残量が少ない場合はリセットまで均等に間隔を空ける
+                    interval = Math.max(interval, (resetAt - start) / remaining);
+                }
+            }
+            if (remaining > 0) {
+                remaining--;
+            }
+
+            nextAvailableAt = start + interval;
+            return start - now;
+        }
+
+        /**
+         * レスポンスヘッダーから残量を更新し、レート制限を受けたかどうかを返す
+         */
+        synchronized boolean update(HttpStatusCode status, HttpHeaders headers, long now, long defaultRetryAfterMillis) {
+            Long headerRemaining = parseLong(headers.getFirst(RATE_LIMIT_REMAINING));
+            Long headerReset = parseLong(headers.getFirst(RATE_LIMIT_RESET));
+            Long retryAfterSeconds = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+
+            if (headerRemaining != null) {
+                remaining = headerRemaining;
+            }
+            if (headerReset != null) {
+                resetAt = headerReset * 1000;
+            }
+
+            boolean limited = status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                || (status.isSameCodeAs(HttpStatus.FORBIDDEN)
+                    && (retryAfterSeconds != null || Long.valueOf(0).equals(headerRemaining)));
+            if (!limited) {
+                return false;
+            }
+
+            if (retryAfterSeconds != null) {
+                blockedUntil = Math.max(blockedUntil, now + retryAfterSeconds * 1000);
+            } else if (remaining == 0 && resetAt > now) {
+                blockedUntil = Math.max(blockedUntil, resetAt);
+            } else {
+                blockedUntil = Math.max(blockedUntil, now + defaultRetryAfterMillis);
+            }
+            return true;
+        }
+
+        synchronized long remaining() {
+            return remaining;
+        }
+
+        synchronized boolean isBlocked(long now) {
+            return blockedUntil > now;
+        }
+
+        private static Long parseLong(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                // Retry-AfterのHTTP日付形式などは無視して既定の待機時間を使う
+                return null;
+            }
+        }
+    }
+}
@@ -1,34 +1,67 @@
 package com.example.backend.infrastructure.notion;
 
 import com.example.backend.domain.credentials.notion.NotionCredential;
+import com.example.backend.domain.reports.DayWindow;
 import com.example.backend.infrastructure.notion.dto.NotionPageDto;
 import com.example.backend.infrastructure.notion.dto.NotionDatabaseDto;
 import com.example.backend.infrastructure.notion.dto.NotionSearchResultDto;
 import com.example.backend.infrastructure.notion.dto.NotionUserDto;
+import com.example.backend.infrastructure.http.ConditionalRequestFilter;
+import com.example.backend.infrastructure.http.RateLimitFilter;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class NotionApiService {
     
+    /**
+     * データベースクエリの1ページあたりの取得件数（APIの上限値）
+     */
+    private static final int QUERY_PAGE_SIZE = 100;
+    
+    /**
+     * データベースクエリの最大取得ページ数
+     */
+    private static final int MAX_QUERY_PAGES = 50;
+    
+    /**
+     * ブロック子要素の最大取得ページ数（1ブロックあたり最大1000件）
+     */
+    private static final int MAX_BLOCK_CHILDREN_PAGES = 10;
+    
     private final WebClient webClient;
     
-    public NotionApiService() {
-        this.webClient = WebClient.builder()
+    public NotionApiService(
+        WebClient.Builder webClientBuilder,
+        HttpClient externalApiHttpClient,
+        ConditionalRequestFilter conditionalRequestFilter,
+        RateLimitFilter rateLimitFilter
+    ) {
+        this.webClient = webClientBuilder
             .baseUrl("https://api.notion.com/v1")
+            .clientConnector(new ReactorClientHttpConnector(externalApiHttpClient))
             .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
             .defaultHeader("Notion-Version", "2022-06-28")
             .defaultHeader(HttpHeaders.USER_AGENT, "Nippogen-Backend/1.0")
+            .filter(conditionalRequestFilter)
+            .filter(rateLimitFilter)
             .build();
     }
     
@@ -64,50 +97,136 @@ public class NotionApiService {
      * 
      * @param credential Notion認証情報
      * @param databaseId データベースID
-     * @param date 対象日（フィルタリング用、nullの場合は全件取得）
+     * @param window 対象日の範囲（フィルタリング用、nullの場合は全件取得）
      * @return ページリスト
      */
-    public List<NotionPageDto> getPagesByDatabase(NotionCredential credential, String databaseId, LocalDate date) {
-        try {
-            String authHeader = "Bearer " + credential.getApiKey();
-            
-            // フィルタ条件を構築
-            Map<String, Object> filter = null;
-            if (date != null) {
-                String dateString = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
-                filter = Map.of(
-                    "property", "Created time", // Notionのデフォルトプロパティ
-                    "date", Map.of(
-                        "on_or_after", dateString
+    public List<NotionPageDto> getPagesByDatabase(NotionCredential credential, String databaseId, DayWindow window) {
+        // フィルタ条件を構築（ページの作成日時が対象日の範囲内のもの）
+        // データベースごとのプロパティ名に依存しないよう、タイムスタンプフィルターを使用する
+        Map<String, Object> filter = null;
+        if (window != null) {
+            filter = Map.of(
+                "and", List.of(
+                    Map.of(
+                        "timestamp", "created_time",
+                        "created_time", Map.of("on_or_after", window.start().toString())
+                    ),
+                    Map.of(
+                        "timestamp", "created_time",
+                        "created_time", Map.of("before", window.end().toString())
                     )
-                );
-            }
-            
-            Map<String, Object> requestBody = Map.of(
-                "page_size", 100
+                )
             );
+        }
+        
+        return queryDatabase(credential, databaseId, filter, null);
+    }
+    
+    /**
+     * 指定日時以降に編集されたページを、編集日時の古い順に取得（増分同期用）
+     * 
+     * @param credential Notion認証情報
+     * @param databaseId データベースID
+     * @param since この日時以降に編集されたページを取得する
+     * @return ページリスト（最終編集日時の昇順）
+     */
+    public List<NotionPageDto> getPagesEditedSince(NotionCredential credential, String databaseId, Instant since) {
+        Map<String, Object> filter = Map.of(
+            "timestamp", "last_edited_time",
+            "last_edited_time", Map.of("on_or_after", since.toString())
+        );
+        List<Map<String, Object>> sorts = List.of(Map.of(
+            "timestamp", "last_edited_time",
+            "direction", "ascending"
+        ));
+        
+        return queryDatabase(credential, databaseId, filter, sorts);
+    }
+    
+    /**
+     * ブロック（ページ）の直下の子ブロックを取得
+     * has_more / next_cursor をたどって全件を返す。ネストした子ブロックは含まないため、
+     * has_children が true のブロックは呼び出し側で再帰的に取得する
+     * 
+     * @param credential Notion認証情報
+     * @param blockId ブロックID（ページIDも指定可能）
+     * @return 子ブロック（APIのJSONのまま）
+     */
+    public Flux<JsonNode> getBlockChildren(NotionCredential credential, String blockId) {
+        String authHeader = "Bearer " + credential.getApiKey();
+        
+        return fetchBlockChildrenPage(authHeader, blockId, null)
+            .expand(page -> page.path("has_more").asBoolean(false) && page.hasNonNull("next_cursor")
+                ? fetchBlockChildrenPage(authHeader, blockId, page.get("next_cursor").asText())
+                : Mono.empty())
+            .take(MAX_BLOCK_CHILDREN_PAGES)
+            .concatMapIterable(page -> page.path("results"))
+            .onErrorMap(WebClientResponseException.class, e -> e.getStatusCode() == HttpStatus.NOT_FOUND
+                ? new RuntimeException("指定されたNotionページが見つかりません。", e)
+                : new RuntimeException("Notion APIの呼び出しに失敗しました: " + e.getMessage(), e));
+    }
+    
+    private Mono<JsonNode> fetchBlockChildrenPage(String authHeader, String blockId, String cursor) {
+        return webClient
+            .get()
+            .uri(uriBuilder -> uriBuilder
+                .path("/blocks/{block_id}/children")
+                .queryParam("page_size", QUERY_PAGE_SIZE)
+                .queryParamIfPresent("start_cursor", Optional.ofNullable(cursor))
+                .build(blockId))
+            .header(HttpHeaders.AUTHORIZATION, authHeader)
+            .retrieve()
+            .bodyToMono(JsonNode.class);
+    }
+    
+    /**
+     * データベースをクエリし、has_more / next_cursor をたどって全ページを取得
+     */
+    private List<NotionPageDto> queryDatabase(
+        NotionCredential credential,
+        String databaseId,
+        Map<String, Object> filter,
+        List<Map<String, Object>> sorts
+    ) {
+        try {
+            String authHeader = "Bearer " + credential.getApiKey();
+            List<NotionPageDto> pages = new ArrayList<>();
+            String cursor = null;
             
-            if (filter != null) {
-                requestBody = Map.of(
-                    "page_size", 100,
-                    "filter", filter
-                );
-            }
-            
-            NotionSearchResultDto result = webClient
-                .post()
-                .uri("/databases/{database_id}/query", databaseId)
-                .header(HttpHeaders.AUTHORIZATION, authHeader)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(NotionSearchResultDto.class)
-                .block();
+            for (int page = 0; page < MAX_QUERY_PAGES; page++) {
+                Map<String, Object> requestBody = new HashMap<>();
+                requestBody.put("page_size", QUERY_PAGE_SIZE);
+                if (filter != null) {
+                    requestBody.put("filter", filter);
+                }
+                if (sorts != null) {
+                    requestBody.put("sorts", sorts);
+                }
+                if (cursor != null) {
+                    requestBody.put("start_cursor", cursor);
+                }
                 
-            if (result != null && result.getResults() != null) {
-                return result.getResults();
-            }
+                NotionSearchResultDto result = webClient
+                    .post()
+                    .uri("/databases/{database_id}/query", databaseId)
+                    .header(HttpHeaders.AUTHORIZATION, authHeader)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToMono(NotionSearchResultDto.class)
+                    .block();
+                    
+                if (result == null || result.getResults() == null) {
+                    break;
+                }
+                pages.addAll(result.getResults());
                 
-            return List.of();
+                if (!Boolean.TRUE.equals(result.getHasMore()) || result.getNextCursor() == null) {
+                    break;
+                }
+                cursor = result.getNextCursor();
+            }
+            
+            return pages;
             
         } catch (WebClientResponseException e) {
             if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
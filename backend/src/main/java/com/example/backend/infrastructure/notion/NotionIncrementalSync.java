@@ -0,0 +1,161 @@
+package com.example.backend.infrastructure.notion;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.domain.credentials.notion.NotionCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.notion.dto.NotionPageDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notionデータベースの増分同期
+ * データベースごとに取得済みページと最後に見た last_edited_time（同期カーソル）をメモリ上に保持し、
+ * 以降の収集ではカーソル以降に編集されたページだけを取得して差分を反映する。
+ * そのため日々の収集コストはデータベースの大きさではなく、前回以降の編集量に比例する。
+ * 保持期間より古い日付の収集は、範囲を絞ったデータベースクエリで直接取得する。
+ * 同期状態は件数と最終参照からの期間で破棄し、Notion APIの呼び出しはロックの外で行う
+ */
+@Component
+public class NotionIncrementalSync {
+
+    private final NotionApiService notionApiService;
+    private final CollectionProperties collectionProperties;
+    private final Cache<String, DatabaseState> states;
+
+    public NotionIncrementalSync(
+        NotionApiService notionApiService,
+        CollectionProperties collectionProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.notionApiService = notionApiService;
+        this.collectionProperties = collectionProperties;
+        this.states = Caffeine.newBuilder()
+            .maximumSize(collectionProperties.getNotionSyncMaximumDatabases())
+            .expireAfterAccess(collectionProperties.getNotionSyncIdleTimeout())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, states, "notionSync");
+    }
+
+    /**
+     * 対象日の範囲内に作成されたページを、増分同期したページから取得
+     *
+     * @param credential Notion認証情報
+     * @param databaseId データベースID
+     * @param window 対象日の範囲
+     * @return ページリスト（作成日時の昇順）
+     */
+    public List<NotionPageDto> getPagesCreatedIn(NotionCredential credential, String databaseId, DayWindow window) {
+        Instant retainedFrom = Instant.now().minus(collectionProperties.getNotionSyncRetention());
+        if (window.start().isBefore(retainedFrom)) {
+            return notionApiService.getPagesByDatabase(credential, databaseId, window);
+        }
+
+        DatabaseState state = states.get(credential.getId() + ":" + databaseId, key -> new DatabaseState());
+
+        // 初回（または保持済みの範囲より前の日付）は対象日の開始時刻から、それ以外はカーソルから取得する
+        Instant editedSince;
+        synchronized (state) {
+            editedSince = state.covers(window.start()) ? state.cursor : window.start();
+        }
+
+        // Notionの last_edited_time は分単位のため、カーソルと同時刻のページも取り直してIDで重複を除く
+        List<NotionPageDto> edited = notionApiService.getPagesEditedSince(credential, databaseId, editedSince);
+
+        synchronized (state) {
+            state.merge(edited);
+            if (!state.covers(editedSince)) {
+                // editedSince以降に編集されたページはすべて取得済みのため、その時刻以降に作成されたページを網羅している
+                state.coveredFrom = editedSince;
+            }
+            if (state.cursor == null || state.cursor.isBefore(editedSince)) {
+                state.cursor = editedSince;
+            }
+            state.discardCreatedBefore(retainedFrom);
+
+            return state.pages.values().stream()
+                .filter(page -> !Boolean.TRUE.equals(page.getArchived()))
+                .filter(page -> window.containsUtc(page.getCreatedTime()))
+                .sorted(Comparator.comparing(NotionPageDto::getCreatedTime))
+                .toList();
+        }
+    }
+
+    private static Instant toInstant(LocalDateTime utcDateTime) {
+        return utcDateTime != null ? utcDateTime.toInstant(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * 1データベース分の同期状態
+     * 同じデータベースへの同時の同期は、それぞれが取得した結果をこの状態にマージする
+     */
+    private static class DatabaseState {
+
+        /**
+         * 取得済みページ（キーはページID）。アーカイブされたページも、古い取得結果で復活しないよう保持する
+         */
+        private final Map<String, NotionPageDto> pages = new HashMap<>();
+
+        /**
+         * このページ集合が網羅している作成日時の下限
+         */
+        private Instant coveredFrom;
+
+        /**
+         * 同期カーソル（最後に見た last_edited_time）
+         */
+        private Instant cursor;
+
+        boolean covers(Instant from) {
+            return coveredFrom != null && !from.isBefore(coveredFrom);
+        }
+
+        /**
+         * 取得したページを反映する。同時に取得した結果の順序が前後しても、編集日時が新しい方を残す
+         */
+        void merge(List<NotionPageDto> edited) {
+            for (NotionPageDto page : edited) {
+                if (page.getId() == null) {
+                    continue;
+                }
+                pages.merge(page.getId(), page, (current, fetched) -> isNewer(current, fetched) ? current : fetched);
+                Instant editedAt = toInstant(page.getLastEditedTime());
+                if (editedAt != null && (cursor == null || editedAt.isAfter(cursor))) {
+                    cursor = editedAt;
+                }
+            }
+        }
+
+        /**
+         * 保持期間より前に作成されたページを破棄する
+         */
+        void discardCreatedBefore(Instant retainedFrom) {
+            if (coveredFrom.isBefore(retainedFrom)) {
+                coveredFrom = retainedFrom;
+                pages.values().removeIf(page -> {
+                    Instant created = toInstant(page.getCreatedTime());
+                    return created != null && created.isBefore(retainedFrom);
+                });
+            }
+        }
+
+        private static boolean isNewer(NotionPageDto current, NotionPageDto fetched) {
+            return current.getLastEditedTime() != null
+                && fetched.getLastEditedTime() != null
+                && current.getLastEditedTime().isAfter(fetched.getLastEditedTime());
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.backend.infrastructure.notion;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.common.config.RateLimitProperties;
+import com.example.backend.domain.credentials.notion.NotionCredential;
+import com.example.backend.infrastructure.notion.dto.NotionPageDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Notionページの本文取得コンポーネント
+ * ページのブロックを子ブロックまでたどって取得し、簡潔なMarkdownに変換する。
+ * 変換結果はページIDと last_edited_time をキーにキャッシュするため、更新されていないページは再取得しない。
+ * Notionへのリクエストは RateLimitFilter により認証情報ごとに min-interval の間隔を空けて送られ、
+ * 同時に送っても速くならないため、ページ単位で1件ずつ取得して締め切りまでに取得できたページを確実に使う
+ */
+@Component
+public class NotionPageContentService {
+
+    /**
+     * 子ブロックをたどる最大の深さ（ページ直下を0とする）
+     */
+    private static final int MAX_DEPTH = 3;
+
+    /**
+     * レート制御設定（nippogen.rate-limit.providers）でのNotionのプロバイダー名
+     */
+    private static final String NOTION_PROVIDER = "notion";
+
+    /**
+     * キャッシュする本文の合計文字数の上限
+     */
+    private static final long MAXIMUM_CACHED_CHARACTERS = 16_000_000L;
+
+    /**
+     * 参照されなくなったキャッシュを破棄するまでの時間
+     */
+    private static final Duration CACHE_EXPIRE_AFTER_ACCESS = Duration.ofDays(7);
+
+    private final NotionApiService notionApiService;
+    private final CollectionProperties collectionProperties;
+    private final RateLimitProperties rateLimitProperties;
+    private final Cache<PageContentKey, String> cache;
+
+    public NotionPageContentService(
+        NotionApiService notionApiService,
+        CollectionProperties collectionProperties,
+        RateLimitProperties rateLimitProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.notionApiService = notionApiService;
+        this.collectionProperties = collectionProperties;
+        this.rateLimitProperties = rateLimitProperties;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(MAXIMUM_CACHED_CHARACTERS)
+            .weigher((PageContentKey key, String content) -> content.length())
+            .expireAfterAccess(CACHE_EXPIRE_AFTER_ACCESS)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "notionPageContent");
+    }
+
+    /**
+     * 複数ページの本文を取得
+     * キャッシュにないページだけを、ページの順に1件ずつ子ブロックまで取得し、取得できたページから順にキャッシュする。
+     * 送るリクエスト数は、Notionの送信間隔で notion-content-timeout までに送れる数までに制限し、
+     * 全体で notion-content-timeout を超えた場合は打ち切る。
+     * 取得に失敗した・打ち切られたページは空文字列として扱い、キャッシュしない（ページのメタデータはそのまま使える）
+     *
+     * @param credential Notion認証情報
+     * @param pages 対象ページ
+     * @return ページIDをキーとした本文（Markdown）
+     */
+    public Map<String, String> getContents(NotionCredential credential, List<NotionPageDto> pages) {
+        Map<String, String> contents = new LinkedHashMap<>();
+        Map<String, PageContentKey> missing = new LinkedHashMap<>();
+        for (NotionPageDto page : pages) {
+            if (page.getId() == null || contents.containsKey(page.getId())) {
+                continue;
+            }
+            PageContentKey key = new PageContentKey(page.getId(), page.getLastEditedTime());
+            String cached = cache.getIfPresent(key);
+            contents.put(page.getId(), cached != null ? cached : "");
+            if (cached == null) {
+                missing.put(page.getId(), key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return contents;
+        }
+
+        // 締め切りで打ち切った時点までに取得できたページの本文
+        Map<String, String> fetched = new ConcurrentHashMap<>();
+        AtomicInteger remainingRequests = new AtomicInteger(requestBudget());
+        Flux.fromIterable(missing.entrySet())
+            .concatMap(entry -> fetchContent(credential, entry.getKey(), remainingRequests)
+                .doOnNext(content -> {
+                    cache.put(entry.getValue(), content);
+                    fetched.put(entry.getKey(), content);
+                }))
+            .then()
+            .timeout(collectionProperties.getNotionContentTimeout())
+            .onErrorResume(TimeoutException.class, e -> Mono.empty())
+            .block();
+
+        contents.putAll(fetched);
+        return contents;
+    }
+
+    /**
+     * 1回の本文取得で送るリクエスト数の上限
+     * Notionへのリクエストは認証情報ごとに min-interval の間隔を空けて送られるため、
+     * notion-content-timeout までに送れる数を超えた分は送らない（350ms間隔・5秒の場合は14件）
+     */
+    private int requestBudget() {
+        RateLimitProperties.Provider notion = rateLimitProperties.getProviders().get(NOTION_PROVIDER);
+        if (!rateLimitProperties.isEnabled() || notion == null || notion.getMinInterval().toMillis() <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        long budget = collectionProperties.getNotionContentTimeout().toMillis() / notion.getMinInterval().toMillis();
+        return Math.clamp(budget, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 1ページの本文を子ブロックまで取得してMarkdownに変換
+     *
+     * @return 本文（子ブロックの取得に失敗した・リクエスト数の上限に達した場合は空のMono）
+     */
+    private Mono<String> fetchContent(NotionCredential credential, String pageId, AtomicInteger remainingRequests) {
+        // ブロックIDをキーとした子ブロック
+        Map<String, List<JsonNode>> childrenById = new ConcurrentHashMap<>();
+        return fetchChildren(credential, List.of(pageId), 0, childrenById, remainingRequests)
+            .then(Mono.fromSupplier(() -> render(childrenById, pageId, 0)))
+            .map(lines -> truncate(String.join("\n", lines)))
+            .onErrorResume(e -> Mono.empty());
+    }
+
+    /**
+     * 同じ階層のブロックの子要素を順に取得し、子ブロックを持つものを次の階層として取得する
+     * いずれかのブロックの取得に失敗した場合は、そのページの残りのブロックは取得しない
+     *
+     * @param blockIds 子要素を取得するブロックID
+     * @param depth 取得する子要素の深さ
+     */
+    private Mono<Void> fetchChildren(
+        NotionCredential credential,
+        List<String> blockIds,
+        int depth,
+        Map<String, List<JsonNode>> childrenById,
+        AtomicInteger remainingRequests
+    ) {
+        if (blockIds.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Flux.fromIterable(blockIds)
+            .concatMap(blockId -> getBlockChildren(credential, blockId, remainingRequests)
+                .collectList()
+                .doOnNext(children -> childrenById.put(blockId, children)))
+            .flatMapIterable(children -> depth < MAX_DEPTH ? children : List.<JsonNode>of())
+            .filter(this::hasRenderableChildren)
+            .map(block -> block.path("id").asText())
+            .collectList()
+            .flatMap(next -> fetchChildren(credential, next, depth + 1, childrenById, remainingRequests));
+    }
+
+    private Flux<JsonNode> getBlockChildren(NotionCredential credential, String blockId, AtomicInteger remainingRequests) {
+        return Flux.defer(() -> remainingRequests.getAndDecrement() > 0
+            ? notionApiService.getBlockChildren(credential, blockId)
+            : Flux.error(new IllegalStateException("Notionページ本文の取得リクエスト数の上限に達しました")));
+    }
+
+    /**
+     * 取得済みの子ブロックをMarkdownの行に変換する（子ブロックを持つ場合はインデントして続ける）
+     *
+     * @return Markdownの行（子要素を取得できていないブロックを含む場合はnull）
+     */
+    private List<String> render(Map<String, List<JsonNode>> childrenById, String blockId, int depth) {
+        List<JsonNode> children = childrenById.get(blockId);
+        if (children == null) {
+            return null;
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (JsonNode block : children) {
+            String line = toMarkdown(block, depth);
+            if (line != null) {
+                lines.add(line);
+            }
+            if (hasRenderableChildren(block) && depth < MAX_DEPTH) {
+                List<String> childLines = render(childrenById, block.path("id").asText(), depth + 1);
+                if (childLines == null) {
+                    return null;
+                }
+                lines.addAll(childLines);
+            }
+        }
+        return lines;
+    }
+
+    private boolean hasRenderableChildren(JsonNode block) {
+        // 子ページ・子データベースは別のページとして扱い、中身はたどらない
+        String type = block.path("type").asText();
+        return block.path("has_children").asBoolean(false)
+            && !"child_page".equals(type)
+            && !"child_database".equals(type);
+    }
+
+    /**
+     * 1ブロックをMarkdownの1行に変換（本文を持たないブロックはnull）
+     */
+    private String toMarkdown(JsonNode block, int depth) {
+        String type = block.path("type").asText();
+        JsonNode body = block.path(type);
+        String text = plainText(body.path("rich_text"));
+        String indent = "  ".repeat(depth);
+
+        String line = switch (type) {
+            case "heading_1" -> "# " + text;
+            case "heading_2" -> "## " + text;
+            case "heading_3" -> "### " + text;
+            case "bulleted_list_item", "toggle" -> "- " + text;
+            case "numbered_list_item" -> "1. " + text;
+            case "to_do" -> (body.path("checked").asBoolean(false) ? "- [x] " : "- [ ] ") + text;
+            case "quote", "callout" -> "> " + text;
+            case "code" -> "```" + body.path("language").asText("") + "\n" + text + "\n```";
+            case "divider" -> "---";
+            case "child_page", "child_database" -> "[" + body.path("title").asText("") + "]";
+            case "bookmark", "embed", "link_preview" -> body.path("url").asText("");
+            case "table_row" -> StreamSupport.stream(body.path("cells").spliterator(), false)
+                .map(this::plainText)
+                .collect(Collectors.joining(" | ", "| ", " |"));
+            default -> text;
+        };
+
+        return line.isBlank() ? null : indent + line;
+    }
+
+    private String plainText(JsonNode richText) {
+        return StreamSupport.stream(richText.spliterator(), false)
+            .map(part -> part.path("plain_text").asText(""))
+            .collect(Collectors.joining());
+    }
+
+    private String truncate(String content) {
+        int maxLength = collectionProperties.getNotionContentMaxLength();
+        return content.length() > maxLength ? content.substring(0, maxLength) + "…" : content;
+    }
+
+    /**
+     * 本文キャッシュのキー（ページが編集されると last_edited_time が変わり、別のキーになる）
+     */
+    private record PageContentKey(String pageId, LocalDateTime lastEditedTime) {}
+}
@@ -2,12 +2,14 @@ package com.example.backend.infrastructure.repositories.credentials.github;
 
 import static com.example.backend.jooq.tables.JGithubCredentials.GITHUB_CREDENTIALS;
 
+import com.example.backend.domain.credentials.github.GitHubCollectionMode;
 import com.example.backend.domain.credentials.github.GitHubCredential;
 import com.example.backend.domain.credentials.github.IGitHubCredentialRepository;
 import com.example.backend.infrastructure.github.GitHubApiService;
 
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -41,11 +43,31 @@ public class GitHubCredentialRepository implements IGitHubCredentialRepository {
 
     @Override
     public GitHubCredential save(GitHubCredential credential) {
-        if (existsById(credential.getId())) {
-            return update(credential);
-        } else {
-            return insert(credential);
-        }
+        // 存在確認を挟まず、INSERT ... ON CONFLICT (id) DO UPDATE の1文で新規作成・更新を行う
+        var record = dsl.insertInto(GITHUB_CREDENTIALS)
+                .set(GITHUB_CREDENTIALS.ID, credential.getId())
+                .set(GITHUB_CREDENTIALS.USER_ID, credential.getUserId())
+                .set(GITHUB_CREDENTIALS.API_KEY, credential.getApiKey())
+                .set(GITHUB_CREDENTIALS.BASE_URL, credential.getBaseUrl())
+                .set(GITHUB_CREDENTIALS.OWNER, credential.getOwner())
+                .set(GITHUB_CREDENTIALS.REPO, credential.getRepo())
+                .set(GITHUB_CREDENTIALS.IS_ACTIVE, credential.isActive())
+                .set(GITHUB_CREDENTIALS.CREATED_AT, credential.getCreatedAt())
+                .set(GITHUB_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
+                .set(GITHUB_CREDENTIALS.COLLECTION_MODE, credential.getCollectionMode().name())
+                .onConflict(GITHUB_CREDENTIALS.ID)
+                .doUpdate()
+                .set(GITHUB_CREDENTIALS.API_KEY, DSL.excluded(GITHUB_CREDENTIALS.API_KEY))
+                .set(GITHUB_CREDENTIALS.BASE_URL, DSL.excluded(GITHUB_CREDENTIALS.BASE_URL))
+                .set(GITHUB_CREDENTIALS.OWNER, DSL.excluded(GITHUB_CREDENTIALS.OWNER))
+                .set(GITHUB_CREDENTIALS.REPO, DSL.excluded(GITHUB_CREDENTIALS.REPO))
+                .set(GITHUB_CREDENTIALS.IS_ACTIVE, DSL.excluded(GITHUB_CREDENTIALS.IS_ACTIVE))
+                .set(GITHUB_CREDENTIALS.UPDATED_AT, DSL.excluded(GITHUB_CREDENTIALS.UPDATED_AT))
+                .set(GITHUB_CREDENTIALS.COLLECTION_MODE, DSL.excluded(GITHUB_CREDENTIALS.COLLECTION_MODE))
+                .returning()
+                .fetchOne();
+        
+        return mapToEntity(record);
     }
 
 
@@ -110,38 +132,6 @@ public class GitHubCredentialRepository implements IGitHubCredentialRepository {
                 .fetchOne(0, Long.class);
     }
 
-    private GitHubCredential insert(GitHubCredential credential) {
-        var record = dsl.insertInto(GITHUB_CREDENTIALS)
-                .set(GITHUB_CREDENTIALS.ID, credential.getId())
-                .set(GITHUB_CREDENTIALS.USER_ID, credential.getUserId())
-                .set(GITHUB_CREDENTIALS.API_KEY, credential.getApiKey())
-                .set(GITHUB_CREDENTIALS.BASE_URL, credential.getBaseUrl())
-                .set(GITHUB_CREDENTIALS.OWNER, credential.getOwner())
-                .set(GITHUB_CREDENTIALS.REPO, credential.getRepo())
-                .set(GITHUB_CREDENTIALS.IS_ACTIVE, credential.isActive())
-                .set(GITHUB_CREDENTIALS.CREATED_AT, credential.getCreatedAt())
-                .set(GITHUB_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
-                .returning()
-                .fetchOne();
-        
-        return mapToEntity(record);
-    }
-
-    private GitHubCredential update(GitHubCredential credential) {
-        var record = dsl.update(GITHUB_CREDENTIALS)
-                .set(GITHUB_CREDENTIALS.API_KEY, credential.getApiKey())
-                .set(GITHUB_CREDENTIALS.BASE_URL, credential.getBaseUrl())
-                .set(GITHUB_CREDENTIALS.OWNER, credential.getOwner())
-                .set(GITHUB_CREDENTIALS.REPO, credential.getRepo())
-                .set(GITHUB_CREDENTIALS.IS_ACTIVE, credential.isActive())
-                .set(GITHUB_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
-                .where(GITHUB_CREDENTIALS.ID.eq(credential.getId()))
-                .returning()
-                .fetchOne();
-        
-        return mapToEntity(record);
-    }
-
     private GitHubCredential mapToEntity(org.jooq.Record record) {
         return GitHubCredential.builder()
                 .id(record.get(GITHUB_CREDENTIALS.ID))
@@ -153,6 +143,7 @@ public class GitHubCredentialRepository implements IGitHubCredentialRepository {
                 .isActive(record.get(GITHUB_CREDENTIALS.IS_ACTIVE))
                 .createdAt(record.get(GITHUB_CREDENTIALS.CREATED_AT))
                 .updatedAt(record.get(GITHUB_CREDENTIALS.UPDATED_AT))
+                .collectionMode(GitHubCollectionMode.valueOf(record.get(GITHUB_CREDENTIALS.COLLECTION_MODE)))
                 .build();
     }
 }
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.jooq.JSONB;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,11 +27,33 @@ public class NotionCredentialRepository implements INotionCredentialRepository {
 
     @Override
     public NotionCredential save(NotionCredential credential) {
-        if (existsById(credential.getId())) {
-            return update(credential);
-        } else {
-            return insert(credential);
-        }
+        // 存在確認を挟まず、INSERT ... ON CONFLICT (id) DO UPDATE の1文で新規作成・更新を行う
+        var record = dsl.insertInto(NOTION_CREDENTIALS)
+                .set(NOTION_CREDENTIALS.ID, credential.getId())
+                .set(NOTION_CREDENTIALS.USER_ID, credential.getUserId())
+                .set(NOTION_CREDENTIALS.API_KEY, credential.getApiKey())
+                .set(NOTION_CREDENTIALS.DATABASE_ID, credential.getDatabaseId())
+                .set(NOTION_CREDENTIALS.TITLE_PROPERTY, credential.getTitleProperty())
+                .set(NOTION_CREDENTIALS.STATUS_PROPERTY, credential.getStatusProperty())
+                .set(NOTION_CREDENTIALS.DATE_PROPERTY, credential.getDateProperty())
+                .set(NOTION_CREDENTIALS.FILTER_CONDITIONS, mapToJsonb(credential.getFilterConditions()))
+                .set(NOTION_CREDENTIALS.IS_ACTIVE, credential.isActive())
+                .set(NOTION_CREDENTIALS.CREATED_AT, credential.getCreatedAt())
+                .set(NOTION_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
+                .onConflict(NOTION_CREDENTIALS.ID)
+                .doUpdate()
+                .set(NOTION_CREDENTIALS.API_KEY, DSL.excluded(NOTION_CREDENTIALS.API_KEY))
+                .set(NOTION_CREDENTIALS.DATABASE_ID, DSL.excluded(NOTION_CREDENTIALS.DATABASE_ID))
+                .set(NOTION_CREDENTIALS.TITLE_PROPERTY, DSL.excluded(NOTION_CREDENTIALS.TITLE_PROPERTY))
+                .set(NOTION_CREDENTIALS.STATUS_PROPERTY, DSL.excluded(NOTION_CREDENTIALS.STATUS_PROPERTY))
+                .set(NOTION_CREDENTIALS.DATE_PROPERTY, DSL.excluded(NOTION_CREDENTIALS.DATE_PROPERTY))
+                .set(NOTION_CREDENTIALS.FILTER_CONDITIONS, DSL.excluded(NOTION_CREDENTIALS.FILTER_CONDITIONS))
+                .set(NOTION_CREDENTIALS.IS_ACTIVE, DSL.excluded(NOTION_CREDENTIALS.IS_ACTIVE))
+                .set(NOTION_CREDENTIALS.UPDATED_AT, DSL.excluded(NOTION_CREDENTIALS.UPDATED_AT))
+                .returning()
+                .fetchOne();
+        
+        return mapToEntity(record);
     }
 
 
@@ -101,42 +124,6 @@ public class NotionCredentialRepository implements INotionCredentialRepository {
         return true;
     }
 
-    private NotionCredential insert(NotionCredential credential) {
-        var record = dsl.insertInto(NOTION_CREDENTIALS)
-                .set(NOTION_CREDENTIALS.ID, credential.getId())
-                .set(NOTION_CREDENTIALS.USER_ID, credential.getUserId())
-                .set(NOTION_CREDENTIALS.API_KEY, credential.getApiKey())
-                .set(NOTION_CREDENTIALS.DATABASE_ID, credential.getDatabaseId())
-                .set(NOTION_CREDENTIALS.TITLE_PROPERTY, credential.getTitleProperty())
-                .set(NOTION_CREDENTIALS.STATUS_PROPERTY, credential.getStatusProperty())
-                .set(NOTION_CREDENTIALS.DATE_PROPERTY, credential.getDateProperty())
-                .set(NOTION_CREDENTIALS.FILTER_CONDITIONS, mapToJsonb(credential.getFilterConditions()))
-                .set(NOTION_CREDENTIALS.IS_ACTIVE, credential.isActive())
-                .set(NOTION_CREDENTIALS.CREATED_AT, credential.getCreatedAt())
-                .set(NOTION_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
-                .returning()
-                .fetchOne();
-        
-        return mapToEntity(record);
-    }
-
-    private NotionCredential update(NotionCredential credential) {
-        var record = dsl.update(NOTION_CREDENTIALS)
-                .set(NOTION_CREDENTIALS.API_KEY, credential.getApiKey())
-                .set(NOTION_CREDENTIALS.DATABASE_ID, credential.getDatabaseId())
-                .set(NOTION_CREDENTIALS.TITLE_PROPERTY, credential.getTitleProperty())
-                .set(NOTION_CREDENTIALS.STATUS_PROPERTY, credential.getStatusProperty())
-                .set(NOTION_CREDENTIALS.DATE_PROPERTY, credential.getDateProperty())
-                .set(NOTION_CREDENTIALS.FILTER_CONDITIONS, mapToJsonb(credential.getFilterConditions()))
-                .set(NOTION_CREDENTIALS.IS_ACTIVE, credential.isActive())
-                .set(NOTION_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
-                .where(NOTION_CREDENTIALS.ID.eq(credential.getId()))
-                .returning()
-                .fetchOne();
-        
-        return mapToEntity(record);
-    }
-
     private NotionCredential mapToEntity(org.jooq.Record record) {
         JSONB filterConditionsJsonb = record.get(NOTION_CREDENTIALS.FILTER_CONDITIONS);
         Map<String, Object> filterConditions = null;
@@ -7,6 +7,7 @@ import com.example.backend.domain.credentials.toggl.ITogglCredentialRepository;
 
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.util.Arrays;
@@ -21,11 +22,35 @@ public class TogglCredentialRepository implements ITogglCredentialRepository {
 
     @Override
     public TogglCredential save(TogglCredential credential) {
-        if (existsById(credential.getId())) {
-            return update(credential);
-        } else {
-            return insert(credential);
-        }
+        // 存在確認を挟まず、INSERT ... ON CONFLICT (id) DO UPDATE の1文で新規作成・更新を行う
+        var record = dsl.insertInto(TOGGL_CREDENTIALS)
+                .set(TOGGL_CREDENTIALS.ID, credential.getId())
+                .set(TOGGL_CREDENTIALS.USER_ID, credential.getUserId())
+                .set(TOGGL_CREDENTIALS.API_KEY, credential.getApiKey())
+                .set(TOGGL_CREDENTIALS.WORKSPACE_ID, credential.getWorkspaceId())
+                .set(TOGGL_CREDENTIALS.PROJECT_IDS, credential.getProjectIds() != null ? 
+                    credential.getProjectIds().toArray(new Integer[0]) : null)
+                .set(TOGGL_CREDENTIALS.DEFAULT_TAGS, credential.getDefaultTags() != null ? 
+                    credential.getDefaultTags().toArray(new String[0]) : null)
+                .set(TOGGL_CREDENTIALS.TIME_ZONE, credential.getTimeZone())
+                .set(TOGGL_CREDENTIALS.INCLUDE_WEEKENDS, credential.isIncludeWeekends())
+                .set(TOGGL_CREDENTIALS.IS_ACTIVE, credential.isActive())
+                .set(TOGGL_CREDENTIALS.CREATED_AT, credential.getCreatedAt())
+                .set(TOGGL_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
+                .onConflict(TOGGL_CREDENTIALS.ID)
+                .doUpdate()
+                .set(TOGGL_CREDENTIALS.API_KEY, DSL.excluded(TOGGL_CREDENTIALS.API_KEY))
+                .set(TOGGL_CREDENTIALS.WORKSPACE_ID, DSL.excluded(TOGGL_CREDENTIALS.WORKSPACE_ID))
+                .set(TOGGL_CREDENTIALS.PROJECT_IDS, DSL.excluded(TOGGL_CREDENTIALS.PROJECT_IDS))
+                .set(TOGGL_CREDENTIALS.DEFAULT_TAGS, DSL.excluded(TOGGL_CREDENTIALS.DEFAULT_TAGS))
+                .set(TOGGL_CREDENTIALS.TIME_ZONE, DSL.excluded(TOGGL_CREDENTIALS.TIME_ZONE))
+                .set(TOGGL_CREDENTIALS.INCLUDE_WEEKENDS, DSL.excluded(TOGGL_CREDENTIALS.INCLUDE_WEEKENDS))
+                .set(TOGGL_CREDENTIALS.IS_ACTIVE, DSL.excluded(TOGGL_CREDENTIALS.IS_ACTIVE))
+                .set(TOGGL_CREDENTIALS.UPDATED_AT, DSL.excluded(TOGGL_CREDENTIALS.UPDATED_AT))
+                .returning()
+                .fetchOne();
+        
+        return mapToEntity(record);
     }
 
 
@@ -96,46 +121,6 @@ public class TogglCredentialRepository implements ITogglCredentialRepository {
         return true;
     }
 
-    private TogglCredential insert(TogglCredential credential) {
-        var record = dsl.insertInto(TOGGL_CREDENTIALS)
-                .set(TOGGL_CREDENTIALS.ID, credential.getId())
-                .set(TOGGL_CREDENTIALS.USER_ID, credential.getUserId())
-                .set(TOGGL_CREDENTIALS.API_KEY, credential.getApiKey())
-                .set(TOGGL_CREDENTIALS.WORKSPACE_ID, credential.getWorkspaceId())
-                .set(TOGGL_CREDENTIALS.PROJECT_IDS, credential.getProjectIds() != null ? 
-                    credential.getProjectIds().toArray(new Integer[0]) : null)
-                .set(TOGGL_CREDENTIALS.DEFAULT_TAGS, credential.getDefaultTags() != null ? 
-                    credential.getDefaultTags().toArray(new String[0]) : null)
-                .set(TOGGL_CREDENTIALS.TIME_ZONE, credential.getTimeZone())
-                .set(TOGGL_CREDENTIALS.INCLUDE_WEEKENDS, credential.isIncludeWeekends())
-                .set(TOGGL_CREDENTIALS.IS_ACTIVE, credential.isActive())
-                .set(TOGGL_CREDENTIALS.CREATED_AT, credential.getCreatedAt())
-                .set(TOGGL_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
-                .returning()
-                .fetchOne();
-        
-        return mapToEntity(record);
-    }
-
-    private TogglCredential update(TogglCredential credential) {
-        var record = dsl.update(TOGGL_CREDENTIALS)
-                .set(TOGGL_CREDENTIALS.API_KEY, credential.getApiKey())
-                .set(TOGGL_CREDENTIALS.WORKSPACE_ID, credential.getWorkspaceId())
-                .set(TOGGL_CREDENTIALS.PROJECT_IDS, credential.getProjectIds() != null ? 
-                    credential.getProjectIds().toArray(new Integer[0]) : null)
-                .set(TOGGL_CREDENTIALS.DEFAULT_TAGS, credential.getDefaultTags() != null ? 
-                    credential.getDefaultTags().toArray(new String[0]) : null)
-                .set(TOGGL_CREDENTIALS.TIME_ZONE, credential.getTimeZone())
-                .set(TOGGL_CREDENTIALS.INCLUDE_WEEKENDS, credential.isIncludeWeekends())
-                .set(TOGGL_CREDENTIALS.IS_ACTIVE, credential.isActive())
-                .set(TOGGL_CREDENTIALS.UPDATED_AT, credential.getUpdatedAt())
-                .where(TOGGL_CREDENTIALS.ID.eq(credential.getId()))
-                .returning()
-                .fetchOne();
-        
-        return mapToEntity(record);
-    }
-
     private TogglCredential mapToEntity(org.jooq.Record record) {
         Integer[] projectIdsArray = record.get(TOGGL_CREDENTIALS.PROJECT_IDS);
         String[] defaultTagsArray = record.get(TOGGL_CREDENTIALS.DEFAULT_TAGS);
@@ -3,10 +3,13 @@ package com.example.backend.infrastructure.repositories.reports;
 import static com.example.backend.jooq.tables.JDailyReports.DAILY_REPORTS;
 
 import com.example.backend.domain.reports.DailyReport;
+import com.example.backend.domain.reports.DailyReportSummary;
 import com.example.backend.domain.reports.IDailyReportRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.jooq.JSONB;
 
@@ -25,16 +29,82 @@ import org.jooq.JSONB;
 @RequiredArgsConstructor
 public class DailyReportRepository implements IDailyReportRepository {
     
+    /**
+     * サマリー一覧で返す本文抜粋の最大文字数
+     */
+    private static final int SUMMARY_EXCERPT_LENGTH = 200;
+    
+    private static final String EXCERPT = "excerpt";
+    
+    /**
+     * エクスポート時に1回のラウンドトリップで取得する行数
+     */
+    private static final int EXPORT_FETCH_SIZE = 500;
+    
     private final DSLContext dsl;
 
     @Override
     public DailyReport save(DailyReport report) {
         
-        if (existsById(report.getId())) {
-            return update(report);
-        } else {
-            return insert(report);
-        }
+        // 存在確認を挟まず、INSERT ... ON CONFLICT (id) DO UPDATE の1文で保存する
+        // 別IDの日報が同じユーザー・日付に既にある場合は、従来どおり一意制約違反になる
+        var record = dsl.insertInto(DAILY_REPORTS)
+                .set(DAILY_REPORTS.ID, report.getId())
+                .set(DAILY_REPORTS.USER_ID, report.getUserId())
+                .set(DAILY_REPORTS.REPORT_DATE, report.getReportDate())
+                .set(DAILY_REPORTS.RAW_DATA, report.getRawData() != null ? JSONB.valueOf(report.getRawData()) : null)
+                .set(DAILY_REPORTS.FINAL_CONTENT, report.getFinalContent())
+                .set(DAILY_REPORTS.ADDITIONAL_NOTES, report.getAdditionalNotes())
+                .set(DAILY_REPORTS.CREATED_AT, report.getCreatedAt())
+                .set(DAILY_REPORTS.UPDATED_AT, report.getUpdatedAt())
+                .onConflict(DAILY_REPORTS.ID)
+                .doUpdate()
+                .set(DAILY_REPORTS.RAW_DATA, DSL.excluded(DAILY_REPORTS.RAW_DATA))
+                .set(DAILY_REPORTS.FINAL_CONTENT, DSL.excluded(DAILY_REPORTS.FINAL_CONTENT))
+                .set(DAILY_REPORTS.ADDITIONAL_NOTES, DSL.excluded(DAILY_REPORTS.ADDITIONAL_NOTES))
+                .set(DAILY_REPORTS.UPDATED_AT, LocalDateTime.now())
+                .returning()
+                .fetchOne();
+        
+        return mapToEntity(record);
+    }
+    
+    @Override
+    public Optional<DailyReport> insertIfAbsent(DailyReport report) {
+        
+        // 同じユーザー・日付の日報が既にある場合は何もせず、RETURNINGが0行になる
+        return dsl.insertInto(DAILY_REPORTS)
+                .set(DAILY_REPORTS.ID, report.getId())
+                .set(DAILY_REPORTS.USER_ID, report.getUserId())
+                .set(DAILY_REPORTS.REPORT_DATE, report.getReportDate())
+                .set(DAILY_REPORTS.RAW_DATA, report.getRawData() != null ? JSONB.valueOf(report.getRawData()) : null)
+                .set(DAILY_REPORTS.FINAL_CONTENT, report.getFinalContent())
+                .set(DAILY_REPORTS.ADDITIONAL_NOTES, report.getAdditionalNotes())
+                .set(DAILY_REPORTS.CREATED_AT, report.getCreatedAt())
+                .set(DAILY_REPORTS.UPDATED_AT, report.getUpdatedAt())
+                .onConflict(DAILY_REPORTS.USER_ID, DAILY_REPORTS.REPORT_DATE)
+                .doNothing()
+                .returning()
+                .fetchOptional()
+                .map(this::mapToEntity);
+    }
+    
+    @Override
+    public Optional<DailyReport> updateGeneratedContent(UUID id, String finalContent, String additionalNotes, String rawData) {
+        
+        return dsl.update(DAILY_REPORTS)
+                .set(DAILY_REPORTS.FINAL_CONTENT, finalContent)
+                .set(DAILY_REPORTS.ADDITIONAL_NOTES, additionalNotes != null
+                        ? DSL.val(additionalNotes)
+                        : DAILY_REPORTS.ADDITIONAL_NOTES)
+                .set(DAILY_REPORTS.RAW_DATA, rawData != null
+                        ? DSL.val(JSONB.valueOf(rawData))
+                        : DAILY_REPORTS.RAW_DATA)
+                .set(DAILY_REPORTS.UPDATED_AT, LocalDateTime.now())
+                .where(DAILY_REPORTS.ID.eq(id))
+                .returning()
+                .fetchOptional()
+                .map(this::mapToEntity);
     }
     
     @Override
@@ -77,6 +147,53 @@ public class DailyReportRepository implements IDailyReportRepository {
                 .map(this::mapToEntity);
     }
     
+    @Override
+    public List<DailyReportSummary> findSummariesByUserId(UUID userId, LocalDate afterDate, UUID afterId, int limit) {
+        
+        Condition afterCursor = afterDate != null && afterId != null
+                ? DSL.row(DAILY_REPORTS.REPORT_DATE, DAILY_REPORTS.ID).lt(afterDate, afterId)
+                : DSL.noCondition();
+        
+        return dsl.select(
+                    DAILY_REPORTS.ID,
+                    DAILY_REPORTS.REPORT_DATE,
+                    DSL.left(DAILY_REPORTS.FINAL_CONTENT, SUMMARY_EXCERPT_LENGTH).as(EXCERPT),
+                    DAILY_REPORTS.UPDATED_AT)
+                .from(DAILY_REPORTS)
+                .where(DAILY_REPORTS.USER_ID.eq(userId).and(afterCursor))
+                .orderBy(DAILY_REPORTS.REPORT_DATE.desc(), DAILY_REPORTS.ID.desc())
+                .limit(limit)
+                .fetch(record -> DailyReportSummary.builder()
+                        .id(record.get(DAILY_REPORTS.ID))
+                        .reportDate(record.get(DAILY_REPORTS.REPORT_DATE))
+                        .excerpt(record.get(EXCERPT, String.class))
+                        .updatedAt(record.get(DAILY_REPORTS.UPDATED_AT))
+                        .build());
+    }
+    
+    @Override
+    public void forEachByUserId(UUID userId, LocalDate startDate, LocalDate endDate, Consumer<DailyReport> action) {
+        
+        Condition condition = DAILY_REPORTS.USER_ID.eq(userId);
+        if (startDate != null) {
+            condition = condition.and(DAILY_REPORTS.REPORT_DATE.ge(startDate));
+        }
+        if (endDate != null) {
+            condition = condition.and(DAILY_REPORTS.REPORT_DATE.le(endDate));
+        }
+        
+        // fetchSizeを指定したfetchLazyで、PostgreSQLのカーソルからEXPORT_FETCH_SIZE件ずつ取得する
+        try (var cursor = dsl.selectFrom(DAILY_REPORTS)
+                .where(condition)
+                .orderBy(DAILY_REPORTS.REPORT_DATE.asc(), DAILY_REPORTS.ID.asc())
+                .fetchSize(EXPORT_FETCH_SIZE)
+                .fetchLazy()) {
+            for (var record : cursor) {
+                action.accept(mapToEntity(record));
+            }
+        }
+    }
+    
     
     @Override
     public boolean deleteById(UUID id) {
@@ -117,49 +234,6 @@ public class DailyReportRepository implements IDailyReportRepository {
     }
     
     
-    /**
-     * 新しい日報レコードを挿入
-     * 
-     * @param report 日報エンティティ
-     * @return 挿入された日報エンティティ
-     */
-    private DailyReport insert(DailyReport report) {
-        
-        dsl.insertInto(DAILY_REPORTS)
-                .set(DAILY_REPORTS.ID, report.getId())
-                .set(DAILY_REPORTS.USER_ID, report.getUserId())
-                .set(DAILY_REPORTS.REPORT_DATE, report.getReportDate())
-                .set(DAILY_REPORTS.RAW_DATA, report.getRawData() != null ? JSONB.valueOf(report.getRawData()) : null)
-                .set(DAILY_REPORTS.FINAL_CONTENT, report.getFinalContent())
-                .set(DAILY_REPORTS.ADDITIONAL_NOTES, report.getAdditionalNotes())
-                .set(DAILY_REPORTS.CREATED_AT, report.getCreatedAt())
-                .set(DAILY_REPORTS.UPDATED_AT, report.getUpdatedAt())
-                .execute();
-        
-        return report;
-    }
-    
-    /**
-     * 既存の日報レコードを更新
-     * 
-     * @param report 日報エンティティ
-     * @return 更新された日報エンティティ
-     */
-    private DailyReport update(DailyReport report) {
-        
-        dsl.update(DAILY_REPORTS)
-                .set(DAILY_REPORTS.RAW_DATA, report.getRawData() != null ? JSONB.valueOf(report.getRawData()) : null)
-                .set(DAILY_REPORTS.FINAL_CONTENT, report.getFinalContent())
-                .set(DAILY_REPORTS.ADDITIONAL_NOTES, report.getAdditionalNotes())
-                .set(DAILY_REPORTS.UPDATED_AT, LocalDateTime.now())
-                .where(DAILY_REPORTS.ID.eq(report.getId()))
-                .execute();
-        
-        return report.toBuilder()
-                .updatedAt(LocalDateTime.now())
-                .build();
-    }
-    
     /**
      * JOOQレコードをDailyReportエンティティにマッピング
      * 
@@ -0,0 +1,160 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import com.example.backend.common.config.LlmCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * AI応答のキャッシュ
+ * 正規化したシステムプロンプト・ユーザープロンプト・モデル設定のハッシュ値をキーに応答を保持し、
+ * ダブルクリックやクライアントの再試行など同一入力の再実行ではAIを呼び出さずに保存済みの応答を返す。
+ * 同じキーの同時呼び出しは1回のAI呼び出しにまとめられる。
+ * AIの呼び出しはキャッシュのロックの外（呼び出し元のスレッド）で行い、後続の呼び出しは応答のFutureを待つ
+ */
+@Component
+public class LlmResponseCache {
+
+    private final LlmCacheProperties properties;
+    private final AsyncCache<String, String> cache;
+
+    public LlmResponseCache(LlmCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumTotalLength())
+            .weigher((String key, String content) -> content.length())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "llmResponse");
+    }
+
+    /**
+     * キャッシュ済みの応答を返し、なければAIを呼び出して保存する
+     *
+     * @param key {@link #key} で作成したキー
+     * @param useCache falseの場合はキャッシュを参照せずに呼び出し、結果で置き換える
+     * @param loader AIの呼び出し
+     * @return 応答
+     */
+    public String get(String key, boolean useCache, Supplier<String> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        if (!useCache) {
+            String content = loader.get();
+            store(key, content);
+            return content;
+        }
+
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        CompletableFuture<String> existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            String content = loader.get();
+            if (content == null || content.isBlank()) {
+                cache.asMap().remove(key, loading);
+            }
+            loading.complete(content);
+            return content;
+        } catch (Throwable e) {
+            // 失敗した呼び出しはキャッシュせず、待っていた呼び出しには同じ例外を返す
+            // （Errorでも完了させないと、同じプロンプトの以降の呼び出しが待ち続ける）
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * ストリーミング応答版。キャッシュ済みの場合は応答全体を1チャンクで返し、
+     * なければストリームをそのまま流して、正常に完了した時点で全文を保存する
+     *
+     * @param key {@link #key} で作成したキー
+     * @param useCache falseの場合はキャッシュを参照せずに呼び出し、結果で置き換える
+     * @param loader AIのストリーミング呼び出し
+     * @return 応答のチャンク
+     */
+    public Flux<String> stream(String key, boolean useCache, Supplier<Flux<String>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        if (useCache) {
+            // 呼び出し中の応答は待たずに、保存済みの応答だけを使う
+            CompletableFuture<String> cached = cache.getIfPresent(key);
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+                return Flux.just(cached.join());
+            }
+        }
+
+        StringBuilder content = new StringBuilder();
+        return loader.get()
+            .doOnNext(content::append)
+            .doOnComplete(() -> store(key, content.toString()));
+    }
+
+    /**
+     * キャッシュキーを作成
+     * 改行コードと行末の空白を正規化してからSHA-256でハッシュする
+     *
+     * @param modelOptions モデル名・温度など応答に影響するモデル設定
+     * @param systemPrompt システムプロンプト
+     * @param userPrompt ユーザープロンプト
+     * @return キャッシュキー
+     */
+    public static String key(String modelOptions, String systemPrompt, String userPrompt) {
+        String normalized = String.join("\u0000", normalize(modelOptions), normalize(systemPrompt), normalize(userPrompt));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256が利用できません", e);
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\r\n", "\n").lines()
+            .map(String::stripTrailing)
+            .collect(Collectors.joining("\n"))
+            .strip();
+    }
+
+    private void store(String key, String content) {
+        if (content != null && !content.isBlank()) {
+            cache.put(key, CompletableFuture.completedFuture(content));
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.backend.infrastructure.repositories.reports;
 
 import com.example.backend.domain.reports.IReportGenerationService;
+import com.example.backend.infrastructure.repositories.reports.PromptCompactor.CompactedSources;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -16,9 +19,25 @@ import java.util.UUID;
 public class OpenAiIReportGenerationService implements IReportGenerationService {
     
     private final ChatClient chatClient;
+    private final PromptCompactor promptCompactor;
+    private final LlmResponseCache llmResponseCache;
     
-    public OpenAiIReportGenerationService(ChatClient.Builder chatClientBuilder) {
+    /**
+     * 応答に影響するモデル設定（応答キャッシュのキーに含める）
+     */
+    private final String modelOptions;
+    
+    public OpenAiIReportGenerationService(
+        ChatClient.Builder chatClientBuilder,
+        PromptCompactor promptCompactor,
+        LlmResponseCache llmResponseCache,
+        @Value("${spring.ai.openai.chat.options.model:}") String model,
+        @Value("${spring.ai.openai.chat.options.temperature:}") String temperature
+    ) {
         this.chatClient = chatClientBuilder.build();
+        this.promptCompactor = promptCompactor;
+        this.llmResponseCache = llmResponseCache;
+        this.modelOptions = "model=" + model + ",temperature=" + temperature;
     }
     
     private static final String SYSTEM_PROMPT = """
@@ -45,7 +64,8 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         String githubData,
         String togglData, 
         String notionData,
-        String additionalNotes
+        String additionalNotes,
+        boolean useCache
     ) {
         try {
             
@@ -53,7 +73,7 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
                 reportDate, githubData, togglData, notionData, additionalNotes
             );
             
-            String generatedContent = callOpenAI(userPrompt);
+            String generatedContent = callOpenAI(userPrompt, useCache);
             
             return generatedContent;
             
@@ -62,6 +82,26 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         }
     }
     
+    @Override
+    public Flux<String> streamReport(
+        UUID userId,
+        LocalDate reportDate,
+        String githubData,
+        String togglData,
+        String notionData,
+        String additionalNotes,
+        boolean useCache
+    ) {
+        return Flux.defer(() -> {
+            String userPrompt = buildGenerationPrompt(
+                reportDate, githubData, togglData, notionData, additionalNotes
+            );
+            
+            return streamOpenAI(userPrompt, useCache);
+        })
+        .onErrorMap(e -> new RuntimeException("AI日報生成に失敗しました", e));
+    }
+    
     @Override
     public String regenerateReport(
         UUID userId,
@@ -71,7 +111,8 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         String notionData,
         String previousContent,
         String userFeedback,
-        String additionalNotes
+        String additionalNotes,
+        boolean useCache
     ) {
         try {
             
@@ -80,7 +121,7 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
                 previousContent, userFeedback, additionalNotes
             );
             
-            String regeneratedContent = callOpenAI(userPrompt);
+            String regeneratedContent = callOpenAI(userPrompt, useCache);
             
             return regeneratedContent;
             
@@ -91,6 +132,7 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
     
     /**
      * 新規日報生成用プロンプトを構築
+     * ソースデータはトークン予算に収まるように圧縮してから埋め込む
      */
     private String buildGenerationPrompt(
         LocalDate reportDate,
@@ -99,32 +141,39 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         String notionData,
         String additionalNotes
     ) {
+        CompactedSources sources = promptCompactor.compact(
+            githubData, togglData, notionData, SYSTEM_PROMPT + nullToEmpty(additionalNotes));
+        githubData = sources.githubData();
+        togglData = sources.togglData();
+        notionData = sources.notionData();
+        
         StringBuilder prompt = new StringBuilder();
         prompt.append("## 日報作成対象日\n");
         prompt.append(reportDate.format(DateTimeFormatter.ofPattern("yyyy年MM月dd日"))).append("\n\n");
         
         prompt.append("## 利用可能なデータ\n\n");
+        prompt.append(PromptDataEncoder.FORMAT_DESCRIPTION).append("\n");
         
         // GitHubデータ
         prompt.append("### GitHubアクティビティ\n");
-        if (githubData != null && !githubData.equals("{}")) {
-            prompt.append("```json\n").append(githubData).append("\n```\n\n");
+        if (hasData(githubData)) {
+            prompt.append("```\n").append(githubData).append("\n```\n\n");
         } else {
             prompt.append("データなし\n\n");
         }
         
         // Togglデータ
         prompt.append("### 時間記録（Toggl）\n");
-        if (togglData != null && !togglData.equals("{}")) {
-            prompt.append("```json\n").append(togglData).append("\n```\n\n");
+        if (hasData(togglData)) {
+            prompt.append("```\n").append(togglData).append("\n```\n\n");
         } else {
             prompt.append("データなし\n\n");
         }
         
         // Notionデータ
         prompt.append("### ドキュメント・メモ（Notion）\n");
-        if (notionData != null && !notionData.equals("{}")) {
-            prompt.append("```json\n").append(notionData).append("\n```\n\n");
+        if (hasData(notionData)) {
+            prompt.append("```\n").append(notionData).append("\n```\n\n");
         } else {
             prompt.append("データなし\n\n");
         }
@@ -142,6 +191,7 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
     
     /**
      * 日報再生成用プロンプトを構築
+     * 前回の日報・フィードバックの分を差し引いた予算に収まるように、ソースデータを圧縮してから埋め込む
      */
     private String buildRegenerationPrompt(
         LocalDate reportDate,
@@ -152,6 +202,13 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         String userFeedback,
         String additionalNotes
     ) {
+        CompactedSources sources = promptCompactor.compact(
+            githubData, togglData, notionData,
+            SYSTEM_PROMPT + nullToEmpty(previousContent) + nullToEmpty(userFeedback) + nullToEmpty(additionalNotes));
+        githubData = sources.githubData();
+        togglData = sources.togglData();
+        notionData = sources.notionData();
+        
         StringBuilder prompt = new StringBuilder();
         prompt.append("## 日報再生成対象日\n");
         prompt.append(reportDate.format(DateTimeFormatter.ofPattern("yyyy年MM月dd日"))).append("\n\n");
@@ -166,27 +223,28 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         
         // データセクションは新規生成と同じ
         prompt.append("## 利用可能なデータ\n\n");
+        prompt.append(PromptDataEncoder.FORMAT_DESCRIPTION).append("\n");
         
         // GitHubデータ
         prompt.append("### GitHubアクティビティ\n");
-        if (githubData != null && !githubData.equals("{}")) {
-            prompt.append("```json\n").append(githubData).append("\n```\n\n");
+        if (hasData(githubData)) {
+            prompt.append("```\n").append(githubData).append("\n```\n\n");
         } else {
             prompt.append("データなし\n\n");
         }
         
         // Togglデータ
         prompt.append("### 時間記録（Toggl）\n");
-        if (togglData != null && !togglData.equals("{}")) {
-            prompt.append("```json\n").append(togglData).append("\n```\n\n");
+        if (hasData(togglData)) {
+            prompt.append("```\n").append(togglData).append("\n```\n\n");
         } else {
             prompt.append("データなし\n\n");
         }
         
         // Notionデータ
         prompt.append("### ドキュメント・メモ（Notion）\n");
-        if (notionData != null && !notionData.equals("{}")) {
-            prompt.append("```json\n").append(notionData).append("\n```\n\n");
+        if (hasData(notionData)) {
+            prompt.append("```\n").append(notionData).append("\n```\n\n");
         } else {
             prompt.append("データなし\n\n");
         }
@@ -202,14 +260,37 @@ public class OpenAiIReportGenerationService implements IReportGenerationService
         return prompt.toString();
     }
     
+    private static boolean hasData(String data) {
+        return data != null && !data.isBlank() && !data.equals("{}");
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+    
     /**
      * OpenAI APIを呼び出して日報を生成
+     * 同一のプロンプト・モデル設定に対する応答がキャッシュにあれば、APIを呼び出さずに返す
      */
-    private String callOpenAI(String userPrompt) {
-        return chatClient.prompt()
+    private String callOpenAI(String userPrompt, boolean useCache) {
+        String cacheKey = LlmResponseCache.key(modelOptions, SYSTEM_PROMPT, userPrompt);
+        return llmResponseCache.get(cacheKey, useCache, () -> chatClient.prompt()
             .system(SYSTEM_PROMPT)
             .user(userPrompt)
             .call()
-            .content();
+            .content());
+    }
+    
+    /**
+     * OpenAI APIをストリーミングモードで呼び出して日報を生成
+     * 同一のプロンプト・モデル設定に対する応答がキャッシュにあれば、全文を1チャンクで返す
+     */
+    private Flux<String> streamOpenAI(String userPrompt, boolean useCache) {
+        String cacheKey = LlmResponseCache.key(modelOptions, SYSTEM_PROMPT, userPrompt);
+        return llmResponseCache.stream(cacheKey, useCache, () -> chatClient.prompt()
+            .system(SYSTEM_PROMPT)
+            .user(userPrompt)
+            .stream()
+            .content());
     }
 }
@@ -0,0 +1,325 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import com.example.backend.common.config.PromptProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * 日報生成プロンプトに埋め込むソースデータの圧縮
+ * セクション（GitHub / Toggl / Notion）を {@link PromptDataEncoder} の表形式にしたときのトークン数を見積もり、
+ * 予算を超える場合は次の順に段階的に圧縮する。
+ * 1. 長い文字列フィールドの切り詰め
+ * 2. コミットの要約（1行目のメッセージと行数のみ）、Togglの時間記録のプロジェクト・説明ごとの集約、Notionページのメタデータ削減
+ * 3. それでも収まらない場合は、各セクションを残りの予算で均等に切り詰める
+ * 推定トークン数は nippogen.prompt.tokens メトリクスとして、収集したJSONのまま（raw）、表形式にエンコードした圧縮前（before）、
+ * 圧縮後（after）の3段階で記録する。before と after は同じ表形式で測るため、その差は圧縮だけの効果になり、
+ * raw と before の差がエンコードの効果になる
+ */
+@Component
+public class PromptCompactor {
+
+    /**
+     * 切り詰めたことを示す末尾の印
+     */
+    private static final String ELLIPSIS = "…";
+
+    private final PromptProperties properties;
+    private final PromptDataEncoder promptDataEncoder;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary tokensRaw;
+    private final DistributionSummary tokensBefore;
+    private final DistributionSummary tokensAfter;
+    private final MeterRegistry meterRegistry;
+
+    public PromptCompactor(
+        PromptProperties properties,
+        PromptDataEncoder promptDataEncoder,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.promptDataEncoder = promptDataEncoder;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.tokensRaw = tokenSummary(meterRegistry, "raw");
+        this.tokensBefore = tokenSummary(meterRegistry, "before");
+        this.tokensAfter = tokenSummary(meterRegistry, "after");
+    }
+
+    /**
+     * ソースデータを予算内に収まるように圧縮し、プロンプト用の表形式にエンコード
+     *
+     * @param githubData GitHubデータ（JSON文字列）
+     * @param togglData Togglデータ（JSON文字列）
+     * @param notionData Notionデータ（JSON文字列）
+     * @param fixedPrompt ソースデータ以外のプロンプト本文（前回の日報・フィードバック・追加情報など）
+     * @return 圧縮・エンコード後のソースデータ
+     */
+    public CompactedSources compact(String githubData, String togglData, String notionData, String fixedPrompt) {
+        int budget = Math.max(0, properties.getMaxInputTokens() - TokenEstimator.estimate(fixedPrompt));
+        CompactedSources sources = new CompactedSources(githubData, togglData, notionData);
+        tokensRaw.record(sources.estimateTokens());
+        int encodedTokens = encode(sources).estimateTokens();
+        tokensBefore.record(encodedTokens);
+
+        String level = "none";
+        if (encodedTokens > budget) {
+            level = "fields";
+            sources = sources.map(this::truncateFields);
+        }
+        if (encode(sources).estimateTokens() > budget) {
+            level = "summary";
+            sources = new CompactedSources(
+                transform(sources.githubData(), this::summarizeCommits),
+                transform(sources.togglData(), this::mergeTimeEntries),
+                transform(sources.notionData(), this::reducePages)
+            );
+        }
+        sources = encode(sources);
+        if (sources.estimateTokens() > budget) {
+            level = "truncate";
+            sources = truncateSections(sources, budget);
+        }
+
+        tokensAfter.record(sources.estimateTokens());
+        meterRegistry.counter("nippogen.prompt.compactions", "level", level).increment();
+        return sources;
+    }
+
+    /**
+     * 長い文字列フィールドを切り詰める（Notionの本文は専用の上限を使う）
+     */
+    private String truncateFields(String json) {
+        return transform(json, root -> {
+            truncateTextNodes(root);
+            return root;
+        });
+    }
+
+    private void truncateTextNodes(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            List<Map.Entry<String, JsonNode>> entries = new ArrayList<>(object.properties());
+            for (Map.Entry<String, JsonNode> entry : entries) {
+                JsonNode value = entry.getValue();
+                if (value.isTextual()) {
+                    int limit = "content".equals(entry.getKey())
+                        ? properties.getMaxContentLength()
+                        : properties.getMaxFieldLength();
+                    object.put(entry.getKey(), truncate(value.asText(), limit));
+                } else {
+                    truncateTextNodes(value);
+                }
+            }
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode value = array.get(i);
+                if (value.isTextual()) {
+                    array.set(i, array.textNode(truncate(value.asText(), properties.getMaxFieldLength())));
+                } else {
+                    truncateTextNodes(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * コミットを要約する（メッセージは1行目のみ、SHA・作者・日時は省き、プルリクエストは番号とタイトルのみ）
+     */
+    private JsonNode summarizeCommits(JsonNode root) {
+        JsonNode commits = root.path("commits");
+        if (!(root instanceof ObjectNode object) || !commits.isArray()) {
+            return root;
+        }
+
+        ArrayNode summarized = objectMapper.createArrayNode();
+        for (JsonNode commit : commits) {
+            ObjectNode item = summarized.addObject();
+            item.put("repository", commit.path("repository").asText(""));
+            item.put("message", firstLine(commit.path("message").asText("")));
+            item.put("additions", commit.path("additions").asInt(0));
+            item.put("deletions", commit.path("deletions").asInt(0));
+
+            Set<String> pullRequests = new LinkedHashSet<>();
+            commit.path("pullRequests").forEach(pr ->
+                pullRequests.add("#" + pr.path("number").asText() + " " + pr.path("title").asText("")));
+            if (!pullRequests.isEmpty()) {
+                ArrayNode prs = item.putArray("pullRequests");
+                pullRequests.forEach(prs::add);
+            }
+        }
+        object.set("commits", summarized);
+        return object;
+    }
+
+    /**
+     * Togglの時間記録をプロジェクト・説明ごとに集約する（開始・終了時刻や重複した表示用の値は省く）
+     */
+    private JsonNode mergeTimeEntries(JsonNode root) {
+        JsonNode timeEntries = root.path("timeEntries");
+        if (!(root instanceof ObjectNode object) || !timeEntries.isArray()) {
+            return root;
+        }
+
+        Map<String, ObjectNode> merged = new LinkedHashMap<>();
+        for (JsonNode entry : timeEntries) {
+            long projectId = entry.path("projectId").asLong(0);
+            String description = entry.path("description").asText("");
+            ObjectNode item = merged.computeIfAbsent(projectId + "\u0000" + description, key -> {
+                ObjectNode created = objectMapper.createObjectNode();
+                created.put("projectId", projectId);
+                created.put("description", description);
+                created.put("durationSeconds", 0L);
+                created.put("count", 0);
+                created.putArray("tags");
+                return created;
+            });
+            item.put("durationSeconds", item.path("durationSeconds").asLong() + Math.max(0L, entry.path("duration").asLong(0)));
+            item.put("count", item.path("count").asInt() + 1);
+
+            ArrayNode tags = (ArrayNode) item.path("tags");
+            entry.path("tags").forEach(tag -> {
+                if (!containsText(tags, tag.asText())) {
+                    tags.add(tag.asText());
+                }
+            });
+        }
+
+        ArrayNode entries = objectMapper.createArrayNode();
+        merged.values().forEach(entries::add);
+        object.remove("timeEntries");
+        object.set("entriesByProject", entries);
+        return object;
+    }
+
+    /**
+     * Notionページのメタデータを減らし、本文をさらに短くする
+     */
+    private JsonNode reducePages(JsonNode root) {
+        JsonNode pages = root.path("pages");
+        if (!(root instanceof ObjectNode object) || !pages.isArray()) {
+            return root;
+        }
+
+        ArrayNode reduced = objectMapper.createArrayNode();
+        for (JsonNode page : pages) {
+            ObjectNode item = reduced.addObject();
+            item.put("title", page.path("title").asText(""));
+            item.put("lastEditedTime", page.path("lastEditedTime").asText(""));
+            String content = page.path("content").asText("");
+            if (!content.isEmpty()) {
+                item.put("content", truncate(content, properties.getMaxContentLength() / 4));
+            }
+        }
+        object.set("pages", reduced);
+        return object;
+    }
+
+    /**
+     * 各セクションを残りの予算で切り詰める（予算を使い切らないセクションの余りは他のセクションに回す）
+     */
+    private CompactedSources truncateSections(CompactedSources sources, int budget) {
+        String[] sections = {sources.githubData(), sources.togglData(), sources.notionData()};
+        int[] tokens = new int[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            tokens[i] = TokenEstimator.estimate(sections[i]);
+        }
+
+        // 小さいセクションから順に割り当て、余った予算を残りのセクションで分け合う
+        Integer[] order = {0, 1, 2};
+        Arrays.sort(order, (a, b) -> Integer.compare(tokens[a], tokens[b]));
+        int remaining = budget;
+        for (int n = 0; n < order.length; n++) {
+            int i = order[n];
+            int share = remaining / (order.length - n);
+            if (tokens[i] > share && sections[i] != null) {
+                sections[i] = TokenEstimator.truncate(sections[i], Math.max(0, share - 1)) + ELLIPSIS;
+                tokens[i] = share;
+            }
+            remaining -= tokens[i];
+        }
+        return new CompactedSources(sections[0], sections[1], sections[2]);
+    }
+
+    private CompactedSources encode(CompactedSources sources) {
+        return sources.map(promptDataEncoder::encode);
+    }
+
+    /**
+     * JSON文字列を変換する（JSONとして解釈できない場合やエラー情報の場合はそのまま返す）
+     */
+    private String transform(String json, UnaryOperator<JsonNode> operator) {
+        if (json == null || json.isBlank()) {
+            return json;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            if (root == null || root.has("error")) {
+                return json;
+            }
+            return objectMapper.writeValueAsString(operator.apply(root));
+        } catch (Exception e) {
+            return json;
+        }
+    }
+
+    private static boolean containsText(ArrayNode array, String text) {
+        for (JsonNode element : array) {
+            if (element.asText().equals(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstLine(String text) {
+        int newline = text.indexOf('\n');
+        return newline >= 0 ? text.substring(0, newline).trim() : text.trim();
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() > maxLength ? text.substring(0, maxLength) + ELLIPSIS : text;
+    }
+
+    private static DistributionSummary tokenSummary(MeterRegistry meterRegistry, String stage) {
+        return DistributionSummary.builder("nippogen.prompt.tokens")
+            .description("日報生成プロンプトのソースデータの推定トークン数")
+            .baseUnit("tokens")
+            .tag("stage", stage)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 圧縮後のソースデータ（compactの戻り値は表形式にエンコード済み）
+     */
+    public record CompactedSources(
+        String githubData,
+        String togglData,
+        String notionData
+    ) {
+
+        int estimateTokens() {
+            return TokenEstimator.estimate(githubData)
+                + TokenEstimator.estimate(togglData)
+                + TokenEstimator.estimate(notionData);
+        }
+
+        CompactedSources map(UnaryOperator<String> operator) {
+            return new CompactedSources(operator.apply(githubData), operator.apply(togglData), operator.apply(notionData));
+        }
+    }
+}
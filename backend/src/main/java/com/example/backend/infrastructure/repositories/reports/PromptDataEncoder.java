@@ -0,0 +1,159 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * プロンプトに埋め込むソースデータのコンパクトな表形式エンコーダー
+ * 収集データ（JSON）を、キーを毎件繰り返すJSONの代わりに次の形式へ変換する。
+ * - スカラー値は「キー: 値」の1行（入れ子のオブジェクトは「親.子」のキー）
+ * - オブジェクトの配列は「名前[件数]{列|列|...}:」の見出し行に続けて1件1行を「|」区切りで記載
+ * - 既定値（空文字・0・false・空配列）は省略し、全件が既定値の列は見出しごと省く
+ * - 他の列から導出できる表示用の値（formattedDuration など）は出力しない
+ */
+@Component
+public class PromptDataEncoder {
+
+    /**
+     * プロンプトに添える形式の説明
+     */
+    public static final String FORMAT_DESCRIPTION = """
+        データは表形式で記載しています。「キー: 値」は単一の値、「名前[件数]{列|列|...}:」は表の見出しで、
+        続く各行が1件を「|」区切りで表します。空欄・記載のない項目は空・0・falseを意味し、「;」は複数の値の区切りです。
+        """;
+
+    /**
+     * 他の列から導出できるため出力しないフィールド
+     */
+    private static final Set<String> DERIVED_FIELDS = Set.of("formattedDuration", "durationHours");
+
+    /**
+     * 小数の最大桁数
+     */
+    private static final int DECIMAL_SCALE = 2;
+
+    private final ObjectMapper objectMapper;
+
+    public PromptDataEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * ソースデータをエンコード
+     *
+     * @param json ソースデータ（JSON文字列）
+     * @return エンコード結果（JSONとして解釈できない場合は入力をそのまま返す）
+     */
+    public String encode(String json) {
+        if (json == null || json.isBlank()) {
+            return json;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            if (root == null || !root.isObject()) {
+                return json;
+            }
+            List<String> lines = new ArrayList<>();
+            encodeObject(root, "", lines);
+            return String.join("\n", lines);
+        } catch (Exception e) {
+            return json;
+        }
+    }
+
+    private void encodeObject(JsonNode object, String prefix, List<String> lines) {
+        for (Map.Entry<String, JsonNode> field : object.properties()) {
+            String key = prefix + field.getKey();
+            JsonNode value = field.getValue();
+            if (DERIVED_FIELDS.contains(field.getKey()) || isDefault(value)) {
+                continue;
+            }
+
+            if (value.isObject()) {
+                encodeObject(value, key + ".", lines);
+            } else if (value.isArray() && containsObjects(value)) {
+                encodeTable(key, value, lines);
+            } else {
+                lines.add(key + ": " + cell(value));
+            }
+        }
+    }
+
+    private void encodeTable(String name, JsonNode rows, List<String> lines) {
+        // 全件が既定値の列は省き、列の順序は最初に現れた順とする
+        Set<String> columns = new LinkedHashSet<>();
+        for (JsonNode row : rows) {
+            for (Map.Entry<String, JsonNode> field : row.properties()) {
+                if (!DERIVED_FIELDS.contains(field.getKey()) && !isDefault(field.getValue())) {
+                    columns.add(field.getKey());
+                }
+            }
+        }
+
+        lines.add(name + "[" + rows.size() + "]{" + String.join("|", columns) + "}:");
+        for (JsonNode row : rows) {
+            lines.add(columns.stream()
+                .map(column -> isDefault(row.path(column)) ? "" : cell(row.path(column)))
+                .collect(Collectors.joining("|")));
+        }
+    }
+
+    /**
+     * 表のセル・スカラー値の文字列表現（区切り文字と改行はエスケープする）
+     */
+    private String cell(JsonNode value) {
+        if (value.isArray() && !containsObjects(value)) {
+            return StreamSupport.stream(value.spliterator(), false)
+                .map(this::cell)
+                .collect(Collectors.joining(";"));
+        }
+        if (value.isContainerNode()) {
+            return escape(value.toString());
+        }
+        if (value.isFloatingPointNumber()) {
+            return value.decimalValue().setScale(DECIMAL_SCALE, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+        }
+        return escape(value.asText());
+    }
+
+    private static boolean isDefault(JsonNode value) {
+        if (value == null || value.isMissingNode() || value.isNull()) {
+            return true;
+        }
+        if (value.isTextual()) {
+            return value.asText().isEmpty();
+        }
+        if (value.isNumber()) {
+            return value.decimalValue().compareTo(BigDecimal.ZERO) == 0;
+        }
+        if (value.isBoolean()) {
+            return !value.asBoolean();
+        }
+        return value.isContainerNode() && value.isEmpty();
+    }
+
+    private static boolean containsObjects(JsonNode array) {
+        for (JsonNode element : array) {
+            if (element.isObject()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("|", "\\|").replace("\r", "").replace("\n", "\\n");
+    }
+}
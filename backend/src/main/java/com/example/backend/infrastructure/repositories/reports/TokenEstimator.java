@@ -0,0 +1,65 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+/**
+ * プロンプトのトークン数の概算
+ * トークナイザーを使わずに、ASCII文字は約4文字で1トークン、日本語などの非ASCII文字は1文字で1トークンとして見積もる
+ * （日本語を多く含むプロンプトでは実際のトークン数をやや多めに見積もる）
+ */
+final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * テキストの推定トークン数
+     *
+     * @param text テキスト（nullの場合は0）
+     * @return 推定トークン数
+     */
+    static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + other;
+    }
+
+    /**
+     * 推定トークン数が上限に収まるようにテキストの末尾を切り詰める
+     *
+     * @param text テキスト
+     * @param maxTokens 推定トークン数の上限
+     * @return 切り詰めたテキスト（収まる場合はそのまま）
+     */
+    static String truncate(String text, int maxTokens) {
+        if (estimate(text) <= maxTokens) {
+            return text;
+        }
+        int tokens = 0;
+        int ascii = 0;
+        int end = 0;
+        while (end < text.length()) {
+            if (text.charAt(end) < 0x80) {
+                ascii++;
+                if (ascii % 4 == 1) {
+                    tokens++;
+                }
+            } else {
+                tokens++;
+            }
+            if (tokens > maxTokens) {
+                break;
+            }
+            end++;
+        }
+        return text.substring(0, end);
+    }
+}
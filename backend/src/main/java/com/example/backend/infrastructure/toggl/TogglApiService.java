@@ -1,31 +1,72 @@
 package com.example.backend.infrastructure.toggl;
 
 import com.example.backend.domain.credentials.toggl.TogglCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.http.RateLimitFilter;
+import com.example.backend.infrastructure.toggl.dto.TogglDetailedReportRowDto;
+import com.example.backend.infrastructure.toggl.dto.TogglSummaryReportDto;
+import com.example.backend.infrastructure.toggl.dto.TogglTagDto;
 import com.example.backend.infrastructure.toggl.dto.TogglTimeEntryDto;
 import com.example.backend.infrastructure.toggl.dto.TogglUserDto;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class TogglApiService {
     
+    /**
+     * Toggl Reports API v3 のベースURL（時間記録APIとはパスが異なるため絶対URLで指定する）
+     */
+    private static final String REPORTS_API_BASE_URL = "https://api.track.toggl.com/reports/api/v3";
+    
+    /**
+     * 詳細レポートの1ページあたりの取得行数
+     */
+    private static final int REPORT_ROWS_PER_PAGE = 50;
+    
+    /**
+     * 詳細レポートの最大取得ページ数
+     */
+    private static final int MAX_REPORT_PAGES = 20;
+    
+    /**
+     * 詳細レポートの次ページ先頭行を示すレスポンスヘッダー
+     */
+    private static final String NEXT_ROW_NUMBER_HEADER = "X-Next-Row-Number";
+    
     private final WebClient webClient;
     
-    public TogglApiService() {
-        this.webClient = WebClient.builder()
+    public TogglApiService(
+        WebClient.Builder webClientBuilder,
+        HttpClient externalApiHttpClient,
+        RateLimitFilter rateLimitFilter
+    ) {
+        this.webClient = webClientBuilder
             .baseUrl("https://api.track.toggl.com/api/v9")
+            .clientConnector(new ReactorClientHttpConnector(externalApiHttpClient))
             .defaultHeader(HttpHeaders.CONTENT_TYPE, "application/json")
             .defaultHeader(HttpHeaders.USER_AGENT, "Nippogen-Backend/1.0")
+            .filter(rateLimitFilter)
             .build();
     }
     
@@ -58,16 +99,17 @@ public class TogglApiService {
     
     /**
      * 指定日の時間記録を取得
+     * 開始・終了をRFC3339の時刻で指定し、ユーザーのタイムゾーンでの1日分だけを取得する
      * 
      * @param credential Toggl認証情報
-     * @param date 対象日
+     * @param window 対象日の範囲
      * @return 時間記録リスト
      */
-    public List<TogglTimeEntryDto> getTimeEntriesByDate(TogglCredential credential, LocalDate date) {
+    public List<TogglTimeEntryDto> getTimeEntriesByDate(TogglCredential credential, DayWindow window) {
         try {
             String authHeader = createAuthorizationHeader(credential.getApiKey());
-            String startDate = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String endDate = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
+            String startDate = window.start().toString();
+            String endDate = window.end().toString();
             
             List<TogglTimeEntryDto> timeEntries = webClient
                 .get()
@@ -99,19 +141,262 @@ public class TogglApiService {
         }
     }
     
+    /**
+     * 指定期間の作業時間をReports APIでサーバー側集計して取得
+     * プロジェクト別・説明別の合計はサマリーレポート、タグ別の合計はグループ化した詳細レポート（ページング）から求めるため、
+     * 週・月単位の期間でも時間記録を1件ずつ転送せずに数回のリクエストで集計できる
+     * 
+     * @param credential Toggl認証情報
+     * @param startDate 開始日
+     * @param endDate 終了日（この日を含む）
+     * @return 集計結果
+     */
+    public TogglReportSummary getReportSummary(TogglCredential credential, LocalDate startDate, LocalDate endDate) {
+        try {
+            String authHeader = createAuthorizationHeader(credential.getApiKey());
+            Long workspaceId = resolveWorkspaceId(credential, authHeader);
+            Map<String, Object> period = Map.of(
+                "start_date", startDate.format(DateTimeFormatter.ISO_LOCAL_DATE),
+                "end_date", endDate.format(DateTimeFormatter.ISO_LOCAL_DATE)
+            );
+            
+            List<ProjectTotal> projects = fetchProjectTotals(authHeader, workspaceId, period);
+            List<TagTotal> tags = fetchTagTotals(authHeader, workspaceId, period);
+            long totalSeconds = projects.stream().mapToLong(ProjectTotal::seconds).sum();
+            
+            return new TogglReportSummary(workspaceId, totalSeconds, projects, tags);
+            
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                throw new RuntimeException("Toggl認証に失敗しました。APIトークンを確認してください。", e);
+            } else if (e.getStatusCode() == HttpStatus.FORBIDDEN) {
+                throw new RuntimeException("Toggl Reports APIへのアクセスが制限されています。", e);
+            }
+            
+            throw new RuntimeException("Toggl Reports APIの呼び出しに失敗しました: " + e.getMessage(), e);
+            
+        } catch (Exception e) {
+            throw new RuntimeException("Togglのレポートデータ取得中にエラーが発生しました。", e);
+        }
+    }
+    
+    /**
+     * 指定日の作業時間をReports APIで集計して取得
+     * Reports APIの期間はTogglのプロフィールのタイムゾーンでの日付として解釈されるため、
+     * 前後1日を含めてグループ化した詳細レポートを取得し、開始時刻が対象日の範囲に含まれる時間記録だけを集計する
+     * 
+     * @param credential Toggl認証情報
+     * @param window 対象日の範囲
+     * @return 集計結果
+     */
+    public TogglReportSummary getReportSummary(TogglCredential credential, DayWindow window) {
+        try {
+            String authHeader = createAuthorizationHeader(credential.getApiKey());
+            Long workspaceId = resolveWorkspaceId(credential, authHeader);
+            Map<String, Object> period = Map.of(
+                "start_date", window.date().minusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE),
+                "end_date", window.date().plusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE)
+            );
+            
+            Map<Long, Map<String, Long>> secondsByProject = new LinkedHashMap<>();
+            Map<Long, Long> secondsByTagId = new LinkedHashMap<>();
+            for (TogglDetailedReportRowDto row : fetchDetailedRows(authHeader, workspaceId, period)) {
+                long seconds = row.getTimeEntries() == null ? 0L : row.getTimeEntries().stream()
+                    .filter(entry -> window.contains(entry.getStart()))
+                    .mapToLong(entry -> entry.getSeconds() != null ? entry.getSeconds() : 0L)
+                    .sum();
+                if (seconds == 0L) {
+                    continue;
+                }
+                String description = row.getDescription() != null ? row.getDescription() : "";
+                secondsByProject.computeIfAbsent(row.getProjectId(), id -> new LinkedHashMap<>())
+                    .merge(description, seconds, Long::sum);
+                if (row.getTagIds() != null) {
+                    row.getTagIds().forEach(tagId -> secondsByTagId.merge(tagId, seconds, Long::sum));
+                }
+            }
+            
+            List<ProjectTotal> projects = secondsByProject.entrySet().stream()
+                .map(project -> {
+                    List<EntryTotal> entries = project.getValue().entrySet().stream()
+                        .map(entry -> new EntryTotal(entry.getKey(), entry.getValue()))
+                        .sorted(Comparator.comparingLong(EntryTotal::seconds).reversed())
+                        .toList();
+                    return new ProjectTotal(project.getKey(), entries.stream().mapToLong(EntryTotal::seconds).sum(), entries);
+                })
+                .sorted(Comparator.comparingLong(ProjectTotal::seconds).reversed())
+                .toList();
+            long totalSeconds = projects.stream().mapToLong(ProjectTotal::seconds).sum();
+            
+            return new TogglReportSummary(workspaceId, totalSeconds, projects, toTagTotals(authHeader, workspaceId, secondsByTagId));
+            
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                throw new RuntimeException("Toggl認証に失敗しました。APIトークンを確認してください。", e);
+            } else if (e.getStatusCode() == HttpStatus.FORBIDDEN) {
+                throw new RuntimeException("Toggl Reports APIへのアクセスが制限されています。", e);
+            }
+            
+            throw new RuntimeException("Toggl Reports APIの呼び出しに失敗しました: " + e.getMessage(), e);
+            
+        } catch (Exception e) {
+            throw new RuntimeException("Togglのレポートデータ取得中にエラーが発生しました。", e);
+        }
+    }
+    
+    /**
+     * サマリーレポート（プロジェクト別 > 説明別）からプロジェクトごとの合計時間を取得
+     */
+    private List<ProjectTotal> fetchProjectTotals(String authHeader, Long workspaceId, Map<String, Object> period) {
+        Map<String, Object> body = new HashMap<>(period);
+        body.put("grouping", "projects");
+        body.put("sub_grouping", "time_entries");
+        
+        TogglSummaryReportDto summary = webClient
+            .post()
+            .uri(REPORTS_API_BASE_URL + "/workspace/{workspaceId}/summary/time_entries", workspaceId)
+            .header(HttpHeaders.AUTHORIZATION, authHeader)
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(TogglSummaryReportDto.class)
+            .block();
+            
+        if (summary == null || summary.getGroups() == null) {
+            return List.of();
+        }
+        
+        return summary.getGroups().stream()
+            .map(group -> {
+                List<EntryTotal> entries = group.getSubGroups() == null ? List.of() : group.getSubGroups().stream()
+                    .map(sub -> new EntryTotal(
+                        sub.getTitle() != null ? sub.getTitle() : "",
+                        sub.getSeconds() != null ? sub.getSeconds() : 0L))
+                    .sorted(Comparator.comparingLong(EntryTotal::seconds).reversed())
+                    .toList();
+                return new ProjectTotal(group.getId(), entries.stream().mapToLong(EntryTotal::seconds).sum(), entries);
+            })
+            .sorted(Comparator.comparingLong(ProjectTotal::seconds).reversed())
+            .toList();
+    }
+    
+    /**
+     * グループ化した詳細レポートをページングで取得し、タグごとの合計時間を求める
+     * （サマリーレポートはタグ単位のグルーピングに対応していないため）
+     */
+    private List<TagTotal> fetchTagTotals(String authHeader, Long workspaceId, Map<String, Object> period) {
+        Map<Long, Long> secondsByTagId = new LinkedHashMap<>();
+        for (TogglDetailedReportRowDto row : fetchDetailedRows(authHeader, workspaceId, period)) {
+            if (row.getTagIds() == null) {
+                continue;
+            }
+            long seconds = row.getTotalSeconds();
+            row.getTagIds().forEach(tagId -> secondsByTagId.merge(tagId, seconds, Long::sum));
+        }
+        return toTagTotals(authHeader, workspaceId, secondsByTagId);
+    }
+    
+    /**
+     * グループ化した詳細レポートの全行をページングで取得
+     */
+    private List<TogglDetailedReportRowDto> fetchDetailedRows(String authHeader, Long workspaceId, Map<String, Object> period) {
+        List<TogglDetailedReportRowDto> rows = new ArrayList<>();
+        Integer firstRowNumber = null;
+        
+        for (int page = 0; page < MAX_REPORT_PAGES; page++) {
+            Map<String, Object> body = new HashMap<>(period);
+            body.put("grouped", true);
+            body.put("page_size", REPORT_ROWS_PER_PAGE);
+            if (firstRowNumber != null) {
+                body.put("first_row_number", firstRowNumber);
+            }
+            
+            ResponseEntity<List<TogglDetailedReportRowDto>> response = webClient
+                .post()
+                .uri(REPORTS_API_BASE_URL + "/workspace/{workspaceId}/search/time_entries", workspaceId)
+                .header(HttpHeaders.AUTHORIZATION, authHeader)
+                .bodyValue(body)
+                .retrieve()
+                .toEntityList(TogglDetailedReportRowDto.class)
+                .block();
+                
+            if (response == null || response.getBody() == null) {
+                break;
+            }
+            
+            rows.addAll(response.getBody());
+            
+            String nextRowNumber = response.getHeaders().getFirst(NEXT_ROW_NUMBER_HEADER);
+            if (nextRowNumber == null || nextRowNumber.isBlank()) {
+                break;
+            }
+            firstRowNumber = Integer.valueOf(nextRowNumber.trim());
+        }
+        return rows;
+    }
+    
+    /**
+     * タグIDごとの合計時間を、ワークスペースのタグ名に変換して時間の長い順に並べる
+     */
+    private List<TagTotal> toTagTotals(String authHeader, Long workspaceId, Map<Long, Long> secondsByTagId) {
+        if (secondsByTagId.isEmpty()) {
+            return List.of();
+        }
+        
+        // 詳細レポートはタグIDしか返さないため、ワークスペースのタグ一覧で名前に変換する
+        List<TogglTagDto> workspaceTags = webClient
+            .get()
+            .uri("/workspaces/{workspaceId}/tags", workspaceId)
+            .header(HttpHeaders.AUTHORIZATION, authHeader)
+            .retrieve()
+            .bodyToFlux(TogglTagDto.class)
+            .collectList()
+            .block();
+        Map<Long, String> tagNames = workspaceTags == null ? Map.of() : workspaceTags.stream()
+            .filter(tag -> tag.getId() != null && tag.getName() != null)
+            .collect(Collectors.toMap(TogglTagDto::getId, TogglTagDto::getName, (first, second) -> first));
+        
+        List<TagTotal> tags = new ArrayList<>();
+        secondsByTagId.forEach((tagId, seconds) ->
+            tags.add(new TagTotal(tagNames.getOrDefault(tagId, String.valueOf(tagId)), seconds)));
+        tags.sort(Comparator.comparingLong(TagTotal::seconds).reversed());
+        return tags;
+    }
+    
+    /**
+     * レポート対象のワークスペースIDを決定する（認証情報に未設定の場合はユーザーの既定ワークスペース）
+     */
+    private Long resolveWorkspaceId(TogglCredential credential, String authHeader) {
+        if (credential.getWorkspaceId() != null) {
+            return credential.getWorkspaceId();
+        }
+        
+        TogglUserDto user = webClient
+            .get()
+            .uri("/me")
+            .header(HttpHeaders.AUTHORIZATION, authHeader)
+            .retrieve()
+            .bodyToMono(TogglUserDto.class)
+            .block();
+            
+        Long workspaceId = user != null ? user.getDefaultWorkspaceId() : null;
+        return Objects.requireNonNull(workspaceId, "Togglのワークスペースを特定できませんでした");
+    }
+    
     /**
      * 指定期間の時間記録統計を取得
+     * 全件の時間記録を転送して集計するため、長い期間の集計には {@link #getReportSummary} を使用する
      * 
      * @param credential Toggl認証情報
      * @param startDate 開始日
-     * @param endDate 終了日
+     * @param endDate 終了日（この日を含む）
      * @return 時間記録統計
      */
     public TogglTimeStats getTimeStats(TogglCredential credential, LocalDate startDate, LocalDate endDate) {
         try {
             String authHeader = createAuthorizationHeader(credential.getApiKey());
+            // end_dateは含まれないため、終了日の翌日を指定する
             String start = startDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String end = endDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+            String end = endDate.plusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE);
             
             List<TogglTimeEntryDto> timeEntries = webClient
                 .get()
@@ -157,6 +442,41 @@ public class TogglApiService {
         return "Basic " + encodedCredentials;
     }
     
+    /**
+     * Reports APIによる作業時間の集計結果
+     */
+    public record TogglReportSummary(
+        Long workspaceId,
+        long totalSeconds,
+        List<ProjectTotal> projects,
+        List<TagTotal> tags
+    ) {}
+    
+    /**
+     * プロジェクトごとの合計時間（projectIdがnullの場合はプロジェクト未設定）
+     */
+    public record ProjectTotal(
+        Long projectId,
+        long seconds,
+        List<EntryTotal> entries
+    ) {}
+    
+    /**
+     * 説明ごとの合計時間
+     */
+    public record EntryTotal(
+        String description,
+        long seconds
+    ) {}
+    
+    /**
+     * タグごとの合計時間（複数タグが付いた時間記録は各タグに計上される）
+     */
+    public record TagTotal(
+        String name,
+        long seconds
+    ) {}
+    
     /**
      * 時間記録統計データクラス
      */
@@ -0,0 +1,56 @@
+package com.example.backend.infrastructure.toggl.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Toggl Reports API v3 の詳細レポートの1行
+ * groupedを指定した場合は、説明・プロジェクト・タグが同じ時間記録が1行にまとめられる
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TogglDetailedReportRowDto {
+    
+    @JsonProperty("project_id")
+    private Long projectId;
+    
+    @JsonProperty("description")
+    private String description;
+    
+    @JsonProperty("tag_ids")
+    private List<Long> tagIds;
+    
+    @JsonProperty("billable")
+    private Boolean billable;
+    
+    @JsonProperty("time_entries")
+    private List<TimeEntry> timeEntries;
+    
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TimeEntry {
+        
+        @JsonProperty("id")
+        private Long id;
+        
+        @JsonProperty("seconds")
+        private Long seconds;
+        
+        @JsonProperty("start")
+        private OffsetDateTime start;
+    }
+    
+    // Utility methods
+    public long getTotalSeconds() {
+        if (timeEntries == null) {
+            return 0L;
+        }
+        return timeEntries.stream()
+            .mapToLong(entry -> entry.getSeconds() != null ? entry.getSeconds() : 0L)
+            .sum();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.backend.infrastructure.toggl.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Toggl Reports API v3 のサマリーレポート（プロジェクト別・説明別に集計済みの作業時間）
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TogglSummaryReportDto {
+    
+    @JsonProperty("groups")
+    private List<Group> groups;
+    
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Group {
+        
+        /**
+         * プロジェクトID（プロジェクト未設定の場合はnull）
+         */
+        @JsonProperty("id")
+        private Long id;
+        
+        @JsonProperty("sub_groups")
+        private List<SubGroup> subGroups;
+    }
+    
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class SubGroup {
+        
+        @JsonProperty("id")
+        private Long id;
+        
+        /**
+         * 時間記録の説明
+         */
+        @JsonProperty("title")
+        private String title;
+        
+        @JsonProperty("seconds")
+        private Long seconds;
+    }
+}
@@ -2,14 +2,20 @@ package com.example.backend.presentation.controllers.reports;
 
 import com.example.backend.application.dto.reports.DailyReportDto;
 import com.example.backend.application.usecases.reports.ReportUseCase;
+import com.example.backend.application.usecases.reports.ReportExportFormat;
+import com.example.backend.application.usecases.reports.ReportExportUseCase;
 import com.example.backend.application.usecases.reports.ReportGenerationUseCase;
+import com.example.backend.application.usecases.reports.ReportGenerationJobUseCase;
 import com.example.backend.common.exceptions.ReportNotFoundException;
 import com.example.backend.common.util.CommonApiResponses;
 import com.example.backend.presentation.dto.reports.DailyReportListResponseDto;
+import com.example.backend.presentation.dto.reports.DailyReportSummaryPageResponseDto;
 import com.example.backend.presentation.dto.reports.DailyReportUpdateRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationJobResponseDto;
 import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
 import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
 import com.example.backend.presentation.dto.reports.ReportRegenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportStreamEventDto;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,7 +30,11 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +51,8 @@ public class ReportController {
     
     private final ReportUseCase reportUseCase;
     private final ReportGenerationUseCase reportGenerationUseCase;
+    private final ReportGenerationJobUseCase reportGenerationJobUseCase;
+    private final ReportExportUseCase reportExportUseCase;
     
     @GetMapping
     @Operation(
@@ -74,6 +86,85 @@ public class ReportController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/summaries")
+    @Operation(
+        summary = "日報サマリー一覧取得", 
+        description = "本文の抜粋のみを含む軽量な日報一覧を、日付の新しい順にカーソル方式でページングして取得"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "日報サマリーの取得に成功",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = DailyReportSummaryPageResponseDto.class)
+            )
+        )
+    })
+    @CommonApiResponses.StandardErrorResponses
+    public ResponseEntity<DailyReportSummaryPageResponseDto> getReportSummaries(
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId,
+            
+            @Parameter(description = "前ページのレスポンスで返されたnextCursor（先頭ページの場合は省略）")
+            @RequestParam(required = false) String cursor,
+            
+            @Parameter(description = "取得件数（最大100）", example = "20")
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        DailyReportSummaryPageResponseDto response = reportUseCase.getReportSummaries(userId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/export")
+    @Operation(
+        summary = "日報エクスポート", 
+        description = "ユーザーの日報を日付の古い順にストリーミングで出力する。"
+            + "format=ndjson は1行1日報のJSON、format=markdown は1日報1ファイルのMarkdownをまとめたZIPを返す"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "エクスポートを開始",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "application/zip")
+            }
+        ),
+        @ApiResponse(responseCode = "503", description = "同時に実行できるエクスポート数の上限に達している", content = @Content)
+    })
+    @CommonApiResponses.StandardErrorResponses
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId,
+            
+            @Parameter(description = "出力形式 (ndjson / markdown)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            
+            @Parameter(description = "開始日 (YYYY-MM-DD形式)", example = "2024-01-01")
+            @RequestParam(required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            
+            @Parameter(description = "終了日 (YYYY-MM-DD形式)", example = "2024-12-31")
+            @RequestParam(required = false) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        ReportExportFormat exportFormat = ReportExportFormat.from(format);
+        // エクスポート中はDBコネクションを保持するため、レスポンスを開始する前に実行枠を確保する（上限に達している場合は503）
+        ReportExportUseCase.ExportSlot slot = reportExportUseCase.reserve();
+        StreamingResponseBody body = outputStream -> {
+            try (slot) {
+                reportExportUseCase.export(userId, startDate, endDate, exportFormat, outputStream);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"reports." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+    
     @GetMapping("/{date}")
     @Operation(
         summary = "日付指定日報取得", 
@@ -157,7 +248,7 @@ public class ReportController {
     @PostMapping("/generate")
     @Operation(
         summary = "AI日報生成", 
-        description = "GitHub、Toggl、NotionデータをもとにAIで新しい日報を生成"
+        description = "GitHub、Toggl、NotionデータをもとにAIで新しい日報を生成。同じ対象日・同じ内容の生成が実行中の場合はその結果を返す"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -167,23 +258,128 @@ public class ReportController {
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
                 schema = @Schema(implementation = ReportGenerationResponseDto.class)
             )
-        )
+        ),
+        @ApiResponse(responseCode = "409", description = "同じ対象日の日報を別の内容で生成中", content = @Content)
     })
     @CommonApiResponses.StandardErrorResponses
     public ResponseEntity<ReportGenerationResponseDto> generateReport(
             @Parameter(description = "ユーザーID", required = true)
             @RequestHeader("X-User-Id") UUID userId,
+            @Parameter(description = "冪等キー。同じキーでの再送には保存済みの生成結果を返す")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Parameter(description = "日報生成リクエスト", required = true)
             @RequestBody ReportGenerationRequestDto request
     ) {
-        ReportGenerationResponseDto response = reportGenerationUseCase.generateReport(userId, request);
+        ReportGenerationResponseDto response = reportGenerationUseCase.generateReport(userId, request, idempotencyKey);
         return ResponseEntity.status(201).body(response);
     }
     
+    @PostMapping(
+        value = "/generate/stream",
+        produces = { MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    @Operation(
+        summary = "AI日報ストリーミング生成", 
+        description = "生成中の日報Markdownを差分チャンクとしてSSEまたはNDJSONで逐次返す。完了時に日報を保存し、COMPLETEDイベントで保存結果を返す"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "生成イベントストリーム",
+            content = @Content(
+                mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                schema = @Schema(implementation = ReportStreamEventDto.class)
+            )
+        )
+    })
+    @CommonApiResponses.StandardErrorResponses
+    public Flux<ReportStreamEventDto> streamReport(
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId,
+            @Parameter(description = "日報生成リクエスト", required = true)
+            @RequestBody ReportGenerationRequestDto request
+    ) {
+        return reportGenerationUseCase.streamReport(userId, request);
+    }
+    
+    @PostMapping("/jobs")
+    @Operation(
+        summary = "AI日報生成ジョブ投入", 
+        description = "日報生成を非同期ジョブとして投入し、ジョブIDを即座に返す。進捗はポーリングまたはSSEで取得する"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202", 
+            description = "ジョブの投入に成功",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ReportGenerationJobResponseDto.class)
+            )
+        ),
+        @ApiResponse(responseCode = "503", description = "ジョブキューが満杯", content = @Content)
+    })
+    @CommonApiResponses.StandardErrorResponses
+    public ResponseEntity<ReportGenerationJobResponseDto> submitGenerationJob(
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId,
+            @Parameter(description = "日報生成リクエスト", required = true)
+            @RequestBody ReportGenerationRequestDto request
+    ) {
+        ReportGenerationJobResponseDto response = reportGenerationJobUseCase.submit(userId, request);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/reports/jobs/" + response.getJobId()))
+            .body(response);
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    @Operation(
+        summary = "AI日報生成ジョブ状態取得", 
+        description = "非同期日報生成ジョブの進行状態と、完了時は生成結果を取得"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "ジョブ状態の取得に成功",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ReportGenerationJobResponseDto.class)
+            )
+        )
+    })
+    @CommonApiResponses.WithNotFound
+    public ResponseEntity<ReportGenerationJobResponseDto> getGenerationJob(
+            @Parameter(description = "ジョブID", required = true)
+            @PathVariable UUID jobId,
+            
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId
+    ) {
+        return ResponseEntity.ok(reportGenerationJobUseCase.getJob(userId, jobId));
+    }
+    
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "AI日報生成ジョブ進捗購読", 
+        description = "Server-Sent Eventsで収集・生成・保存の進捗を受け取る。終了時に接続が閉じられる"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "進捗イベントストリーム")
+    })
+    @CommonApiResponses.WithNotFound
+    public SseEmitter streamGenerationJobEvents(
+            @Parameter(description = "ジョブID", required = true)
+            @PathVariable UUID jobId,
+            
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId
+    ) {
+        return reportGenerationJobUseCase.subscribe(userId, jobId);
+    }
+    
     @PostMapping("/{id}/regenerate")
     @Operation(
         summary = "AI日報再生成", 
-        description = "ユーザーフィードバックと追加情報で既存の日報を再生成"
+        description = "ユーザーフィードバックと追加情報で既存の日報を再生成。生成時に保存したソースデータを再利用し、forceRefresh指定時と生成時に取得に失敗していたサービスのみ外部サービスから再取得する"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -200,11 +396,15 @@ public class ReportController {
             @Parameter(description = "日報ID", required = true)
             @PathVariable UUID id,
             
+            @Parameter(description = "ユーザーID", required = true)
+            @RequestHeader("X-User-Id") UUID userId,
+            
             @Parameter(description = "日報再生成リクエスト", required = true)
             @RequestBody ReportRegenerationRequestDto request
     ) {
         ReportGenerationResponseDto response = reportGenerationUseCase.regenerateReport(
-            id, request.getUserFeedback(), request.getAdditionalNotes()
+            userId, id, request.getUserFeedback(), request.getAdditionalNotes(), request.shouldForceRefresh(),
+            request.shouldSkipCache()
         );
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,19 @@
+package com.example.backend.presentation.dto.reports;
+
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+import com.example.backend.application.dto.reports.DailyReportSummaryDto;
+
+/**
+ * 日報サマリー一覧レスポンスDTO
+ * カーソル方式のページング結果を転送するためのDTO
+ */
+@Getter
+@Builder
+public class DailyReportSummaryPageResponseDto {
+    private final List<DailyReportSummaryDto> summaries;
+    private final String nextCursor;
+    private final boolean hasMore;
+}
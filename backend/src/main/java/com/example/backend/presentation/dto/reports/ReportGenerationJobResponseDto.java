@@ -0,0 +1,25 @@
+package com.example.backend.presentation.dto.reports;
+
+import com.example.backend.application.usecases.reports.ReportGenerationPhase;
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 日報生成ジョブレスポンスDTO
+ * 非同期日報生成ジョブの状態を返すためのDTO
+ */
+@Getter
+@Builder
+public class ReportGenerationJobResponseDto {
+    
+    private final UUID jobId;
+    private final LocalDate reportDate;
+    private final ReportGenerationPhase status;
+    private final ReportGenerationResponseDto result;
+    private final String errorMessage;
+    private final LocalDateTime submittedAt;
+    private final LocalDateTime updatedAt;
+}
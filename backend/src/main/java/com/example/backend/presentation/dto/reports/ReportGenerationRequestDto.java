@@ -16,6 +16,12 @@ public class ReportGenerationRequestDto {
     private final LocalDate reportDate;
     private final String additionalNotes;
     
+    /**
+     * trueの場合は同一入力に対する保存済みのAI応答があればそれを使う
+     * 既定では使わない（削除して作り直した日報が以前と同じ本文にならないよう、毎回AIを呼び出す）
+     */
+    private final Boolean useCache;
+    
     /**
      * 必須項目の検証
      *
@@ -25,4 +31,13 @@ public class ReportGenerationRequestDto {
         return reportDate != null;
     }
     
+    /**
+     * AI応答キャッシュを使うか
+     * 
+     * @return useCacheがtrueの場合true
+     */
+    public boolean shouldUseCache() {
+        return Boolean.TRUE.equals(useCache);
+    }
+    
 }
@@ -16,6 +16,16 @@ public class ReportRegenerationRequestDto {
     private final String userFeedback;
     private final String additionalNotes;
     
+    /**
+     * trueの場合は保存済みのソースデータスナップショットを使わず、外部サービスから再取得する
+     */
+    private final Boolean forceRefresh;
+    
+    /**
+     * trueの場合は保存済みのAI応答を使わずにAIを呼び出す（応答キャッシュは新しい結果で置き換える）
+     */
+    private final Boolean skipCache;
+    
     /**
      * 必須項目の検証
      * 
@@ -24,4 +34,22 @@ public class ReportRegenerationRequestDto {
     public boolean isValid() {
         return reportId != null;
     }
+    
+    /**
+     * 強制リフレッシュが指定されているか
+     * 
+     * @return forceRefreshがtrueの場合true
+     */
+    public boolean shouldForceRefresh() {
+        return Boolean.TRUE.equals(forceRefresh);
+    }
+    
+    /**
+     * AI応答キャッシュの利用を見送るか
+     * 
+     * @return skipCacheがtrueの場合true
+     */
+    public boolean shouldSkipCache() {
+        return Boolean.TRUE.equals(skipCache);
+    }
 }
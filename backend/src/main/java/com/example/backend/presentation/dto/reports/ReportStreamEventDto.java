@@ -0,0 +1,51 @@
+package com.example.backend.presentation.dto.reports;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 日報ストリーミング生成イベントDTO
+ * ストリーミング生成中に送信する差分チャンク・完了・エラーの各イベントを表すDTO
+ */
+@Getter
+@Builder
+public class ReportStreamEventDto {
+    
+    private final EventType type;
+    private final String content;
+    private final ReportGenerationResponseDto result;
+    private final String errorMessage;
+    
+    /**
+     * イベント種別
+     */
+    public enum EventType {
+        /** 生成されたMarkdownの差分チャンク */
+        DELTA,
+        /** 生成完了（保存済みの日報を含む） */
+        COMPLETED,
+        /** 生成失敗 */
+        ERROR
+    }
+    
+    public static ReportStreamEventDto delta(String content) {
+        return ReportStreamEventDto.builder()
+            .type(EventType.DELTA)
+            .content(content)
+            .build();
+    }
+    
+    public static ReportStreamEventDto completed(ReportGenerationResponseDto result) {
+        return ReportStreamEventDto.builder()
+            .type(EventType.COMPLETED)
+            .result(result)
+            .build();
+    }
+    
+    public static ReportStreamEventDto error(String errorMessage) {
+        return ReportStreamEventDto.builder()
+            .type(EventType.ERROR)
+            .errorMessage(errorMessage)
+            .build();
+    }
+}
@@ -0,0 +1,3 @@
+-- GitHubデータの収集方式（REST / GRAPHQL）を認証情報ごとに選択できるようにする
+ALTER TABLE github_credentials
+    ADD COLUMN collection_mode VARCHAR(20) NOT NULL DEFAULT 'REST';
@@ -0,0 +1,254 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.application.dto.reports.ReportSourceDataDto;
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.common.config.SourceCacheProperties;
+import com.example.backend.domain.credentials.github.GitHubCredential;
+import com.example.backend.domain.credentials.github.IGitHubCredentialRepository;
+import com.example.backend.domain.credentials.notion.INotionCredentialRepository;
+import com.example.backend.domain.credentials.toggl.ITogglCredentialRepository;
+import com.example.backend.domain.credentials.toggl.TogglCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.cache.CaffeineSourceDataCache;
+import com.example.backend.infrastructure.cache.SourceDataCache;
+import com.example.backend.infrastructure.cache.SourceDataCacheKey;
+import com.example.backend.infrastructure.github.GitHubApiService;
+import com.example.backend.infrastructure.github.GitHubGraphQlApiService;
+import com.example.backend.infrastructure.github.dto.GitHubCommitDto;
+import com.example.backend.infrastructure.notion.NotionApiService;
+import com.example.backend.infrastructure.notion.NotionIncrementalSync;
+import com.example.backend.infrastructure.notion.NotionPageContentService;
+import com.example.backend.infrastructure.toggl.TogglApiService;
+import com.example.backend.infrastructure.toggl.dto.TogglTimeEntryDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 外部APIの障害を注入し、サーキットブレーカーが開いた後のデータ収集を確認するテスト
+ */
+class ReportDataCollectorTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.of(2025, 9, 1);
+
+    /**
+     * 2回中1回以上の失敗でサーキットブレーカーを開き、テスト中は開いたままにする
+     */
+    private static final int CALLS_TO_OPEN = 2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GitHubApiService gitHubApiService;
+    private TogglApiService togglApiService;
+    private ITogglCredentialRepository togglCredentialRepository;
+    private CollectionProperties collectionProperties;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ReportDataCollector reportDataCollector;
+
+    @BeforeEach
+    void setUp() {
+        gitHubApiService = mock(GitHubApiService.class);
+        togglApiService = mock(TogglApiService.class);
+        togglCredentialRepository = mock(ITogglCredentialRepository.class);
+        collectionProperties = new CollectionProperties();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(CALLS_TO_OPEN)
+            .minimumNumberOfCalls(CALLS_TO_OPEN)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(10))
+            .build());
+        reportDataCollector = newCollector(new PassThroughSourceDataCache());
+    }
+
+    @Test
+    @DisplayName("障害が続いてサーキットブレーカーが開くと、外部APIを呼ばずに利用不可として扱う")
+    void returnsUnavailableWhenCircuitIsOpen() throws Exception {
+        when(gitHubApiService.getCommitsByDateAcrossRepositories(any(), any()))
+            .thenThrow(new IllegalStateException("GitHub API 503"));
+
+        for (int i = 0; i < CALLS_TO_OPEN; i++) {
+            JsonNode failed = githubSection(reportDataCollector.collect(USER_ID, DATE));
+            assertThat(failed.path("error").asText()).contains("GitHub API 503");
+            assertThat(failed.has("unavailable")).isFalse();
+        }
+        assertThat(circuitBreakerRegistry.circuitBreaker("github").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        ReportSourceDataDto result = reportDataCollector.collect(USER_ID, DATE);
+
+        JsonNode github = githubSection(result);
+        assertThat(github.path("unavailable").asBoolean()).isTrue();
+        assertThat(github.path("error").asText()).contains("GitHub");
+        verify(gitHubApiService, times(CALLS_TO_OPEN)).getCommitsByDateAcrossRepositories(any(), any());
+        // 障害中のサービス以外は通常どおり収集される
+        assertThat(objectMapper.readTree(result.getTogglData()).has("unavailable")).isFalse();
+        assertThat(objectMapper.readTree(result.getNotionData()).has("unavailable")).isFalse();
+    }
+
+    @Test
+    @DisplayName("サーキットブレーカーが開いていても、キャッシュ済みのデータは返す")
+    void servesCachedDataWhileCircuitIsOpen() throws Exception {
+        circuitBreakerRegistry.circuitBreaker("github").transitionToOpenState();
+        CachedSourceDataCache cache = new CachedSourceDataCache();
+        reportDataCollector = newCollector(cache);
+
+        assertThat(githubSection(reportDataCollector.collect(USER_ID, DATE)).path("unavailable").asBoolean()).isTrue();
+
+        cache.cached = List.of();
+        JsonNode github = githubSection(reportDataCollector.collect(USER_ID, DATE));
+
+        assertThat(github.has("error")).isFalse();
+        assertThat(github.path("summary").path("totalCommits").asInt()).isZero();
+        verify(gitHubApiService, never()).getCommitsByDateAcrossRepositories(any(), any());
+    }
+
+    @Test
+    @DisplayName("リポジトリ名・作成者・プルリクエストの項目が欠けたコミットも、エラーにせず収集する")
+    void collectsCommitsWithMissingFields() throws Exception {
+        GitHubCommitDto commit = new GitHubCommitDto();
+        commit.setSha("0123456789abcdef");
+        GitHubCommitDto.PullRequestRef pullRequest = new GitHubCommitDto.PullRequestRef();
+        pullRequest.setNumber(1);
+        commit.setPullRequests(List.of(pullRequest));
+        when(gitHubApiService.getCommitsByDateAcrossRepositories(any(), any())).thenReturn(List.of(commit));
+
+        JsonNode github = githubSection(reportDataCollector.collect(USER_ID, DATE));
+
+        assertThat(github.has("error")).isFalse();
+        JsonNode collected = github.path("commits").get(0);
+        assertThat(collected.path("sha").asText()).isEqualTo("0123456");
+        assertThat(collected.path("repository").isNull()).isTrue();
+        assertThat(collected.path("pullRequests").get(0).path("title").isNull()).isTrue();
+        assertThat(collected.path("pullRequests").get(0).path("reviewers").isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Togglの取得方式を切り替えても、別の方式でキャッシュした値を取り違えない")
+    void separatesTogglCacheByMode() throws Exception {
+        TogglCredential credential = TogglCredential.builder()
+            .id(UUID.randomUUID())
+            .userId(USER_ID)
+            .apiKey("token")
+            .workspaceId(1L)
+            .isActive(true)
+            .build();
+        when(togglCredentialRepository.findActiveByUserId(USER_ID)).thenReturn(List.of(credential));
+        TogglTimeEntryDto entry = new TogglTimeEntryDto();
+        entry.setDescription("実装");
+        entry.setDuration(1800L);
+        when(togglApiService.getTimeEntriesByDate(any(), any())).thenReturn(List.of(entry));
+        when(togglApiService.getReportSummary(any(), any(DayWindow.class)))
+            .thenReturn(new TogglApiService.TogglReportSummary(1L, 3600L, List.of(), List.of()));
+        reportDataCollector = newCollector(new CaffeineSourceDataCache(new SourceCacheProperties(), new SimpleMeterRegistry()));
+
+        JsonNode timeEntries = objectMapper.readTree(reportDataCollector.collect(USER_ID, DATE).getTogglData());
+        collectionProperties.setTogglMode(CollectionProperties.TogglMode.REPORTS);
+        JsonNode reports = objectMapper.readTree(reportDataCollector.collect(USER_ID, DATE).getTogglData());
+        collectionProperties.setTogglMode(CollectionProperties.TogglMode.TIME_ENTRIES);
+        JsonNode cachedTimeEntries = objectMapper.readTree(reportDataCollector.collect(USER_ID, DATE).getTogglData());
+
+        assertThat(timeEntries.path("summary").path("totalEntries").asInt()).isEqualTo(1);
+        assertThat(reports.has("error")).isFalse();
+        assertThat(reports.path("summary").path("totalDurationSeconds").asLong()).isEqualTo(3600L);
+        assertThat(cachedTimeEntries.has("error")).isFalse();
+        assertThat(cachedTimeEntries.path("summary").path("totalEntries").asInt()).isEqualTo(1);
+        verify(togglApiService, times(1)).getTimeEntriesByDate(any(), any());
+        // Reports APIにも他のデータソースと同じ対象日の範囲（タイムゾーン）を渡す
+        verify(togglApiService).getReportSummary(credential, DayWindow.of(DATE, ZoneOffset.UTC));
+    }
+
+    private ReportDataCollector newCollector(SourceDataCache sourceDataCache) {
+        IGitHubCredentialRepository gitHubCredentialRepository = mock(IGitHubCredentialRepository.class);
+        when(gitHubCredentialRepository.findActiveByUserId(USER_ID)).thenReturn(List.of(GitHubCredential.builder()
+            .id(UUID.randomUUID())
+            .userId(USER_ID)
+            .apiKey("token")
+            .owner("owner")
+            .repo("repo")
+            .isActive(true)
+            .build()));
+        DayWindowResolver dayWindowResolver = mock(DayWindowResolver.class);
+        when(dayWindowResolver.resolve(eq(USER_ID), any())).thenReturn(DayWindow.of(DATE, ZoneOffset.UTC));
+
+        // 認証情報を登録していないToggl・Notionは、外部APIを呼ばずにエラー情報を返す
+        return new ReportDataCollector(
+            gitHubApiService,
+            mock(GitHubGraphQlApiService.class),
+            togglApiService,
+            mock(NotionApiService.class),
+            mock(NotionIncrementalSync.class),
+            mock(NotionPageContentService.class),
+            gitHubCredentialRepository,
+            togglCredentialRepository,
+            mock(INotionCredentialRepository.class),
+            sourceDataCache,
+            collectionProperties,
+            dayWindowResolver,
+            circuitBreakerRegistry,
+            BulkheadRegistry.ofDefaults(),
+            objectMapper
+        );
+    }
+
+    private JsonNode githubSection(ReportSourceDataDto result) throws Exception {
+        return objectMapper.readTree(result.getGithubData());
+    }
+
+    /**
+     * 常にローダーで取得するキャッシュ（障害をそのまま外部API呼び出しに届ける）
+     */
+    private static class PassThroughSourceDataCache implements SourceDataCache {
+
+        @Override
+        public <T> T get(SourceDataCacheKey key, Supplier<T> loader) {
+            return loader.get();
+        }
+
+        @Override
+        public <T> T refresh(SourceDataCacheKey key, Supplier<T> loader) {
+            return loader.get();
+        }
+    }
+
+    /**
+     * cachedが設定されている場合はローダーを呼ばずにその値を返すキャッシュ
+     */
+    private static class CachedSourceDataCache implements SourceDataCache {
+
+        private volatile Object cached;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(SourceDataCacheKey key, Supplier<T> loader) {
+            return cached != null ? (T) cached : loader.get();
+        }
+
+        @Override
+        public <T> T refresh(SourceDataCacheKey key, Supplier<T> loader) {
+            return loader.get();
+        }
+    }
+}
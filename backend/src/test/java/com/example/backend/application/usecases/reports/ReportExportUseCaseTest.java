@@ -0,0 +1,196 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.ExportProperties;
+import com.example.backend.common.exceptions.ReportExportRejectedException;
+import com.example.backend.common.util.DailyReportMapper;
+import com.example.backend.domain.reports.DailyReport;
+import com.example.backend.domain.reports.IDailyReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ReportExportUseCaseTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+    /**
+     * 1日報あたりの本文の長さ（10万件で約100MBの出力になる）
+     */
+    private static final String CONTENT = "## 作業内容\n" + "x".repeat(1000);
+
+    private IDailyReportRepository dailyReportRepository;
+    private ExportProperties exportProperties;
+    private ReportExportUseCase reportExportUseCase;
+
+    @BeforeEach
+    void setUp() {
+        dailyReportRepository = mock(IDailyReportRepository.class);
+        exportProperties = new ExportProperties();
+        reportExportUseCase = new ReportExportUseCase(
+            dailyReportRepository,
+            new DailyReportMapper(),
+            new ObjectMapper().findAndRegisterModules(),
+            exportProperties
+        );
+    }
+
+    @Test
+    @DisplayName("10万件の日報をエクスポートしても、ヒープ使用量が出力量に比例して増えない")
+    void exportsHundredThousandReportsWithConstantHeap() throws IOException {
+        int total = 100_000;
+        long[] heapDuringExport = {0};
+        long heapBefore = usedHeapAfterGc();
+        stubReports(total, index -> {
+            if (index == total / 2) {
+                heapDuringExport[0] = usedHeapAfterGc();
+            }
+        });
+
+        CountingOutputStream output = new CountingOutputStream();
+        reportExportUseCase.export(USER_ID, null, null, ReportExportFormat.NDJSON, output);
+
+        assertThat(output.lines).isEqualTo(total);
+        assertThat(output.bytes).isGreaterThan(100L * total);
+        // 半分（約50MB）を書き出した時点でも、保持しているのは書き込み中の1件分だけ
+        assertThat(heapDuringExport[0] - heapBefore).isLessThan(32L * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("Markdown形式では1日報1ファイルのZIPを書き出す")
+    void writesOneMarkdownFilePerReport() throws IOException {
+        stubReports(3, index -> { });
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reportExportUseCase.export(USER_ID, null, null, ReportExportFormat.MARKDOWN, output);
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+                assertThat(new String(zip.readAllBytes(), StandardCharsets.UTF_8))
+                    .startsWith("# 日報 " + entry.getName().replace(".md", ""))
+                    .contains(CONTENT);
+            }
+        }
+        assertThat(entries).containsExactly("2000-01-01.md", "2000-01-02.md", "2000-01-03.md");
+    }
+
+    @Test
+    @DisplayName("同時エクスポート数の上限に達している間は受け付けず、枠を返すと再び受け付ける")
+    void rejectsExportsBeyondConcurrencyLimit() {
+        exportProperties.setMaxConcurrentExports(2);
+        reportExportUseCase = new ReportExportUseCase(
+            dailyReportRepository, new DailyReportMapper(), new ObjectMapper(), exportProperties);
+
+        ReportExportUseCase.ExportSlot first = reportExportUseCase.reserve();
+        ReportExportUseCase.ExportSlot second = reportExportUseCase.reserve();
+        assertThatThrownBy(reportExportUseCase::reserve).isInstanceOf(ReportExportRejectedException.class);
+
+        first.close();
+        first.close();
+        ReportExportUseCase.ExportSlot third = reportExportUseCase.reserve();
+        assertThatThrownBy(reportExportUseCase::reserve).isInstanceOf(ReportExportRejectedException.class);
+
+        second.close();
+        third.close();
+    }
+
+    @Test
+    @DisplayName("制限時間を超えたエクスポートは書き込みを中断する")
+    void abortsExportAfterMaxDuration() {
+        exportProperties.setMaxDuration(Duration.ZERO);
+        stubReports(10, index -> sleepQuietly());
+
+        assertThatThrownBy(() -> reportExportUseCase.export(
+            USER_ID, null, null, ReportExportFormat.NDJSON, new CountingOutputStream()))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("制限時間");
+    }
+
+    /**
+     * 指定件数の日報を1件ずつ生成して渡す（カーソル読み出しと同様に、全件をメモリに載せない）
+     */
+    private void stubReports(int count, Consumer<Integer> onEach) {
+        doAnswer(invocation -> {
+            Consumer<DailyReport> action = invocation.getArgument(3);
+            for (int i = 0; i < count; i++) {
+                onEach.accept(i);
+                action.accept(DailyReport.builder()
+                    .id(UUID.randomUUID())
+                    .userId(USER_ID)
+                    .reportDate(FIRST_DATE.plusDays(i))
+                    .finalContent(CONTENT)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            }
+            return null;
+        }).when(dailyReportRepository).forEachByUserId(eq(USER_ID), any(), any(), any());
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 書き込まれたバイト数と行数だけを数えて内容は捨てる出力先
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.common.config.IdempotencyProperties;
+import com.example.backend.common.exceptions.ReportGenerationConflictException;
+import com.example.backend.common.exceptions.ReportGenerationException;
+import com.example.backend.common.exceptions.ReportValidationException;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportGenerationCoalescerTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.of(2025, 9, 1);
+
+    private final AtomicInteger generated = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private IdempotencyProperties idempotencyProperties;
+    private CollectionProperties collectionProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReportGenerationCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyProperties = new IdempotencyProperties();
+        collectionProperties = new CollectionProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ReportGenerationCoalescer(idempotencyProperties, collectionProperties, meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("同じ内容の生成が実行中の場合は、生成を1回にまとめて同じレスポンスを返す")
+    void coalescesSamePayload() throws Exception {
+        Future<ReportGenerationResponseDto> first = startBlockingGeneration("メモ", null);
+
+        Future<ReportGenerationResponseDto> second = executor
+            .submit(() -> coalescer.execute(USER_ID, request("メモ"), null, this::generate));
+        waitUntilCoalesced();
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(generated.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("別の内容の生成が実行中の場合は、待たずに競合として拒否する")
+    void rejectsDifferentPayloadWhileRunning() throws Exception {
+        Future<ReportGenerationResponseDto> first = startBlockingGeneration("メモ", null);
+
+        assertThatThrownBy(() -> coalescer.execute(USER_ID, request("別のメモ"), null, this::generate))
+            .isInstanceOf(ReportGenerationConflictException.class);
+        assertThat(outcome("conflicted")).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(generated.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("実行中の生成がデータ収集とAI生成の締め切りを過ぎても終わらない場合は、待つのをやめて失敗させる")
+    void stopsWaitingAfterDeadline() throws Exception {
+        collectionProperties.setGithubTimeout(Duration.ofMillis(50));
+        collectionProperties.setTogglTimeout(Duration.ofMillis(50));
+        collectionProperties.setNotionTimeout(Duration.ofMillis(50));
+        collectionProperties.setNotionPageContent(false);
+        idempotencyProperties.setLlmTimeout(Duration.ofMillis(100));
+        startBlockingGeneration("メモ", null);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> coalescer.execute(USER_ID, request("メモ"), null, this::generate))
+            .isInstanceOf(ReportGenerationException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(outcome("timed_out")).isEqualTo(1.0);
+        assertThat(generated.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("実行中の生成にまとめられたリクエストのIdempotency-Keyには結果を保存しない")
+    void doesNotRememberCoalescedResponse() throws Exception {
+        Future<ReportGenerationResponseDto> first = startBlockingGeneration("メモ", "key-1");
+
+        Future<ReportGenerationResponseDto> second = executor
+            .submit(() -> coalescer.execute(USER_ID, request("メモ"), "key-2", this::generate));
+        waitUntilCoalesced();
+        release.countDown();
+        ReportGenerationResponseDto coalesced = second.get(5, TimeUnit.SECONDS);
+        assertThat(coalesced).isSameAs(first.get(5, TimeUnit.SECONDS));
+
+        ReportGenerationResponseDto retried = coalescer.execute(USER_ID, request("メモ"), "key-2", this::generate);
+
+        assertThat(retried).isNotSameAs(coalesced);
+        assertThat(generated.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("同じIdempotency-Keyの再送には、保存した生成結果をそのまま返す")
+    void replaysCompletedResponse() {
+        ReportGenerationResponseDto original = coalescer.execute(USER_ID, request("メモ"), "key", this::generate);
+
+        ReportGenerationResponseDto replayed = coalescer.execute(USER_ID, request("メモ"), "key", this::generate);
+
+        assertThat(replayed).isSameAs(original);
+        assertThat(generated.get()).isEqualTo(1);
+        assertThat(outcome("replayed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("同じIdempotency-Keyが別の内容のリクエストで使われた場合は拒否する")
+    void rejectsReusedKeyWithDifferentPayload() {
+        coalescer.execute(USER_ID, request("メモ"), "key", this::generate);
+
+        assertThatThrownBy(() -> coalescer.execute(USER_ID, request("別のメモ"), "key", this::generate))
+            .isInstanceOf(ReportValidationException.class);
+        assertThat(generated.get()).isEqualTo(1);
+    }
+
+    /**
+     * releaseが開くまで完了しない生成を別スレッドで開始し、実行中として登録されるまで待つ
+     */
+    private Future<ReportGenerationResponseDto> startBlockingGeneration(String notes, String idempotencyKey)
+        throws InterruptedException {
+        Supplier<ReportGenerationResponseDto> blocking = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return generate();
+        };
+        Future<ReportGenerationResponseDto> future = executor.submit(
+            () -> coalescer.execute(USER_ID, request(notes), idempotencyKey, blocking));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+
+    private void waitUntilCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outcome("coalesced") < 1.0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(outcome("coalesced")).isEqualTo(1.0);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("nippogen.reports.deduplicated", "outcome", outcome).count();
+    }
+
+    private ReportGenerationResponseDto generate() {
+        generated.incrementAndGet();
+        return ReportGenerationResponseDto.builder()
+            .reportId(UUID.randomUUID())
+            .userId(USER_ID)
+            .reportDate(DATE)
+            .finalContent("## 作業内容")
+            .generatedAt(LocalDateTime.now())
+            .build();
+    }
+
+    private static ReportGenerationRequestDto request(String additionalNotes) {
+        return ReportGenerationRequestDto.builder()
+            .reportDate(DATE)
+            .additionalNotes(additionalNotes)
+            .build();
+    }
+}
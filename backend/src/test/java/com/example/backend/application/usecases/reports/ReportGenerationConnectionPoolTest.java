@@ -0,0 +1,181 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.application.dto.reports.ReportSourceDataDto;
+import com.example.backend.common.config.IdempotencyProperties;
+import com.example.backend.common.util.DailyReportMapper;
+import com.example.backend.common.util.ReportSourceSnapshotMapper;
+import com.example.backend.domain.reports.IDailyReportRepository;
+import com.example.backend.domain.reports.IReportGenerationService;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.when;
+
+/**
+ * 日報生成の同時実行でコネクションプールが枯渇しないことの負荷テスト
+ * プールサイズ・取得タイムアウト付きのトランザクションマネージャーでHikariを模し、
+ * プールサイズを大きく超える数の生成を同時に実行する。
+ * 外部API・AIの待ち時間にコネクションを保持していると、後続の生成が取得タイムアウトで失敗する
+ */
+@SpringJUnitConfig(ReportGenerationConnectionPoolTest.TestConfig.class)
+class ReportGenerationConnectionPoolTest {
+
+    private static final int POOL_SIZE = 2;
+    private static final int CONCURRENT_GENERATIONS = 20;
+    private static final Duration GENERATION_LATENCY = Duration.ofMillis(200);
+    private static final Duration ACQUIRE_TIMEOUT = Duration.ofSeconds(1);
+
+    @MockitoBean
+    private IReportGenerationService reportGenerationService;
+
+    @MockitoBean
+    private IDailyReportRepository dailyReportRepository;
+
+    @MockitoBean
+    private ReportDataCollector reportDataCollector;
+
+    @MockitoBean
+    private ReportSourceSnapshotMapper reportSourceSnapshotMapper;
+
+    @Autowired
+    private ReportGenerationUseCase reportGenerationUseCase;
+
+    @Autowired
+    private PooledTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("プールサイズを超える同時生成でも、外部API・AIの待ち時間にコネクションを保持しない")
+    void concurrentGenerationsDoNotSaturatePool() throws Exception {
+        AtomicBoolean heldDuringIo = new AtomicBoolean();
+        when(reportDataCollector.collect(any(), any())).thenAnswer(invocation -> {
+            heldDuringIo.compareAndSet(false, TransactionSynchronizationManager.isActualTransactionActive());
+            return ReportSourceDataDto.builder().githubData("{}").togglData("{}").notionData("{}").build();
+        });
+        when(reportGenerationService.generateReport(any(), any(), any(), any(), any(), any(), anyBoolean()))
+            .thenAnswer(invocation -> {
+                heldDuringIo.compareAndSet(false, TransactionSynchronizationManager.isActualTransactionActive());
+                Thread.sleep(GENERATION_LATENCY.toMillis());
+                return "# 日報";
+            });
+        when(dailyReportRepository.insertIfAbsent(any()))
+            .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        List<Future<ReportGenerationResponseDto>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_GENERATIONS)) {
+            for (int i = 0; i < CONCURRENT_GENERATIONS; i++) {
+                UUID userId = UUID.randomUUID();
+                ReportGenerationRequestDto request = ReportGenerationRequestDto.builder()
+                    .reportDate(LocalDate.of(2025, 9, 1))
+                    .build();
+                results.add(executor.submit(() -> reportGenerationUseCase.generateReport(userId, request)));
+            }
+        }
+
+        for (Future<ReportGenerationResponseDto> result : results) {
+            assertThat(result.get().getFinalContent()).isEqualTo("# 日報");
+        }
+        assertThat(heldDuringIo).isFalse();
+        assertThat(transactionManager.maxActive.get()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(transactionManager.rejected.get()).isZero();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({ ReportGenerationUseCase.class, ReportUseCase.class, ReportGenerationCoalescer.class, DailyReportMapper.class })
+    static class TestConfig {
+
+        @Bean
+        PooledTransactionManager transactionManager() {
+            return new PooledTransactionManager();
+        }
+
+        @Bean
+        IdempotencyProperties idempotencyProperties() {
+            return new IdempotencyProperties();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * トランザクションごとにプールからコネクションを1つ借りるトランザクションマネージャー
+     * 取得タイムアウトまでに借りられない場合は、Hikariと同様にトランザクションの開始に失敗する
+     */
+    static class PooledTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final Semaphore connections = new Semaphore(POOL_SIZE);
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            try {
+                if (!connections.tryAcquire(ACQUIRE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    rejected.incrementAndGet();
+                    throw new CannotCreateTransactionException("コネクションの取得がタイムアウトしました");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("コネクションの取得が中断されました", e);
+            }
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            active.decrementAndGet();
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.presentation.dto.reports.ReportGenerationJobResponseDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportGenerationJobTest {
+
+    private final ReportGenerationJob job = new ReportGenerationJob(
+        UUID.randomUUID(),
+        ReportGenerationRequestDto.builder().reportDate(LocalDate.of(2025, 9, 1)).build()
+    );
+
+    @Test
+    @DisplayName("購読者には購読時点の状態から順にイベントを送り、終了時に接続を閉じる")
+    void sendsPhasesInOrderAndCompletes() {
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        job.subscribe(emitter);
+        job.moveTo(ReportGenerationPhase.COLLECTING);
+        job.complete(ReportGenerationResponseDto.builder().finalContent("## 作業内容").build());
+
+        assertThat(emitter.phases).containsExactly(
+            ReportGenerationPhase.QUEUED, ReportGenerationPhase.COLLECTING, ReportGenerationPhase.COMPLETED);
+        assertThat(emitter.completed).isTrue();
+        assertThat(job.getSubscribers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("応答の遅い購読者への送信中も、ジョブの状態参照や他の購読者の登録は待たされない")
+    void slowSubscriberDoesNotHoldJobLock() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                if (!phases.isEmpty()) {
+                    sending.countDown();
+                    awaitQuietly(release);
+                }
+                super.send(builder);
+            }
+        };
+        job.subscribe(slow);
+
+        CompletableFuture<Void> worker = CompletableFuture.runAsync(() -> job.moveTo(ReportGenerationPhase.COLLECTING));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        RecordingEmitter other = new RecordingEmitter();
+        CompletableFuture.runAsync(() -> job.subscribe(other)).get(1, TimeUnit.SECONDS);
+        assertThat(CompletableFuture.supplyAsync(job::toResponse).get(1, TimeUnit.SECONDS).getStatus())
+            .isEqualTo(ReportGenerationPhase.COLLECTING);
+        assertThat(other.phases).containsExactly(ReportGenerationPhase.COLLECTING);
+
+        release.countDown();
+        worker.get(5, TimeUnit.SECONDS);
+        assertThat(slow.phases).containsExactly(ReportGenerationPhase.QUEUED, ReportGenerationPhase.COLLECTING);
+    }
+
+    @Test
+    @DisplayName("送信に失敗した購読者は購読対象から外し、以降は送信しない")
+    void removesSubscriberWhenSendFails() {
+        RecordingEmitter broken = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                if (!phases.isEmpty()) {
+                    throw new IOException("クライアントが切断しました");
+                }
+                super.send(builder);
+            }
+        };
+        job.subscribe(broken);
+
+        job.moveTo(ReportGenerationPhase.COLLECTING);
+        job.moveTo(ReportGenerationPhase.GENERATING);
+
+        assertThat(job.getSubscribers()).isEmpty();
+        assertThat(broken.phases).containsExactly(ReportGenerationPhase.QUEUED);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 送信したイベントのフェーズと、接続が閉じられたかを記録するSseEmitter
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        protected final List<ReportGenerationPhase> phases = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            builder.build().stream()
+                .map(data -> data.getData())
+                .filter(ReportGenerationJobResponseDto.class::isInstance)
+                .map(data -> ((ReportGenerationJobResponseDto) data).getStatus())
+                .forEach(phases::add);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.application.usecases.reports;
+
+import com.example.backend.common.config.ReportJobProperties;
+import com.example.backend.common.exceptions.ReportJobNotFoundException;
+import com.example.backend.presentation.dto.reports.ReportGenerationJobResponseDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationRequestDto;
+import com.example.backend.presentation.dto.reports.ReportGenerationResponseDto;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportGenerationJobUseCaseTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private ReportGenerationJobUseCase reportGenerationJobUseCase;
+
+    @AfterEach
+    void tearDown() {
+        reportGenerationJobUseCase.shutdown();
+    }
+
+    @Test
+    @DisplayName("新しいジョブが投入されなくても、保持期間を過ぎた終了済みジョブを定期的に削除する")
+    void evictsExpiredJobsPeriodically() throws Exception {
+        ReportGenerationUseCase reportGenerationUseCase = mock(ReportGenerationUseCase.class);
+        when(reportGenerationUseCase.generateReport(eq(USER_ID), any(ReportGenerationRequestDto.class), any()))
+            .thenReturn(ReportGenerationResponseDto.builder().finalContent("## 作業内容").build());
+        ReportJobProperties properties = new ReportJobProperties();
+        properties.setRetention(Duration.ZERO);
+        properties.setCleanupInterval(Duration.ofMillis(50));
+        reportGenerationJobUseCase = new ReportGenerationJobUseCase(reportGenerationUseCase, properties);
+
+        ReportGenerationJobResponseDto submitted = reportGenerationJobUseCase.submit(USER_ID,
+            ReportGenerationRequestDto.builder().reportDate(LocalDate.of(2025, 9, 1)).build());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        boolean evicted = false;
+        while (!evicted && System.nanoTime() < deadline) {
+            try {
+                reportGenerationJobUseCase.getJob(USER_ID, submitted.getJobId());
+                Thread.sleep(20);
+            } catch (ReportJobNotFoundException e) {
+                evicted = true;
+            }
+        }
+
+        assertThat(evicted).isTrue();
+        assertThatThrownBy(() -> reportGenerationJobUseCase.getJob(USER_ID, submitted.getJobId()))
+            .isInstanceOf(ReportJobNotFoundException.class);
+    }
+}
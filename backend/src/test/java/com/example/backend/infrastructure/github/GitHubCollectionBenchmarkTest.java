@@ -0,0 +1,313 @@
+package com.example.backend.infrastructure.github;
+
+import com.example.backend.common.config.ConditionalRequestProperties;
+import com.example.backend.common.config.RateLimitProperties;
+import com.example.backend.domain.credentials.github.GitHubCollectionMode;
+import com.example.backend.domain.credentials.github.GitHubCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.github.dto.GitHubCommitDto;
+import com.example.backend.infrastructure.http.ConditionalRequestFilter;
+import com.example.backend.infrastructure.http.RateLimitFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GitHub収集のREST経路とGraphQL経路の比較ベンチマーク
+ * ローカルのスタブサーバーに同じ内容（組織所有の複数リポジトリ × コミット）を用意し、
+ * 両経路のリクエスト数・所要時間と、正規化後の出力が一致することを確認する。
+ * スタブは1リクエストごとに一定の遅延を入れ、実APIの往復時間を模す
+ */
+class GitHubCollectionBenchmarkTest {
+
+    private static final String ORGANIZATION = "acme";
+    private static final String LOGIN = "octocat";
+    private static final int REPOSITORIES = 5;
+    private static final int COMMITS_PER_REPOSITORY = 20;
+    private static final long LATENCY_MILLIS = 20;
+    private static final DayWindow WINDOW = DayWindow.of(LocalDate.of(2025, 9, 1), ZoneOffset.UTC);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger restRequests = new AtomicInteger();
+    private final AtomicInteger graphQlRequests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private GitHubApiService restService;
+    private GitHubGraphQlApiService graphQlService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        ConditionalRequestProperties conditionalRequestProperties = new ConditionalRequestProperties();
+        conditionalRequestProperties.setEnabled(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        restService = new GitHubApiService(
+            WebClient.builder(),
+            HttpClient.create(),
+            new ConditionalRequestFilter(conditionalRequestProperties, meterRegistry),
+            new RateLimitFilter(rateLimitProperties, meterRegistry),
+            baseUrl
+        );
+        graphQlService = new GitHubGraphQlApiService(
+            WebClient.builder(),
+            HttpClient.create(),
+            new RateLimitFilter(rateLimitProperties, meterRegistry),
+            baseUrl + "/graphql"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("GraphQL経路はREST経路と同じ結果を、より少ないリクエストで取得する")
+    void graphQlMatchesRestWithFewerRequests() {
+        GitHubCredential rest = credential(GitHubCollectionMode.REST);
+        GitHubCredential graphQl = credential(GitHubCollectionMode.GRAPHQL);
+
+        // 初回はWebClient・コネクションの初期化を含むため計測から除く
+        restService.getCommitsByDateAcrossRepositories(rest, WINDOW);
+        graphQlService.getCommitsByDateAcrossRepositories(graphQl, WINDOW);
+        restRequests.set(0);
+        graphQlRequests.set(0);
+
+        long restStart = System.nanoTime();
+        List<GitHubCommitDto> restCommits = restService.getCommitsByDateAcrossRepositories(rest, WINDOW);
+        long restMillis = (System.nanoTime() - restStart) / 1_000_000;
+
+        long graphQlStart = System.nanoTime();
+        List<GitHubCommitDto> graphQlCommits = graphQlService.getCommitsByDateAcrossRepositories(graphQl, WINDOW);
+        long graphQlMillis = (System.nanoTime() - graphQlStart) / 1_000_000;
+
+        System.out.printf("GitHub collection benchmark (%d repositories x %d commits, %dms latency)%n",
+            REPOSITORIES, COMMITS_PER_REPOSITORY, LATENCY_MILLIS);
+        System.out.printf("  REST:    %3d requests, %5d ms%n", restRequests.get(), restMillis);
+        System.out.printf("  GraphQL: %3d requests, %5d ms%n", graphQlRequests.get(), graphQlMillis);
+
+        // REST: /user + イベント1ページ + リポジトリごとの一覧 + コミットごとの詳細
+        assertThat(restRequests.get()).isEqualTo(2 + REPOSITORIES + REPOSITORIES * COMMITS_PER_REPOSITORY);
+        // GraphQL: viewer・リポジトリ検出 + 10リポジトリずつまとめた履歴
+        assertThat(graphQlRequests.get()).isEqualTo(2);
+
+        assertThat(restCommits).hasSize(REPOSITORIES * COMMITS_PER_REPOSITORY);
+        assertThat(normalize(graphQlCommits)).isEqualTo(normalize(restCommits));
+        assertThat(graphQlCommits).extracting(GitHubCommitDto::getSha)
+            .containsExactlyElementsOf(restCommits.stream().map(GitHubCommitDto::getSha).toList());
+    }
+
+    @Test
+    @DisplayName("コミット日時はリベース後のコミット日時ではなく作成日時を使う")
+    void usesAuthoredDate() {
+        List<GitHubCommitDto> commits = graphQlService.getCommitsByDateAcrossRepositories(
+            credential(GitHubCollectionMode.GRAPHQL), WINDOW);
+
+        assertThat(commits).allSatisfy(commit ->
+            assertThat(commit.getCommitDate().toLocalDate()).isEqualTo(WINDOW.date()));
+    }
+
+    private GitHubCredential credential(GitHubCollectionMode mode) {
+        return GitHubCredential.builder()
+            .apiKey("test-token")
+            .owner(ORGANIZATION)
+            .repo(repository(0).split("/")[1])
+            .collectionMode(mode)
+            .build();
+    }
+
+    /**
+     * 比較用に、経路によらない項目だけを取り出す
+     */
+    private static Map<String, String> normalize(List<GitHubCommitDto> commits) {
+        return commits.stream().collect(Collectors.toMap(GitHubCommitDto::getSha, commit -> String.join("|",
+            commit.getRepository(),
+            commit.getCommitMessage(),
+            commit.getAuthorName(),
+            String.valueOf(commit.getCommitDate()),
+            String.valueOf(commit.getStats().getAdditions()),
+            String.valueOf(commit.getStats().getDeletions()))));
+    }
+
+    // --- スタブサーバー ---
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        JsonNode body;
+        if (path.equals("/graphql")) {
+            graphQlRequests.incrementAndGet();
+            body = graphQl(objectMapper.readTree(exchange.getRequestBody()));
+        } else {
+            restRequests.incrementAndGet();
+            body = rest(path);
+        }
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(body.isMissingNode() ? 404 : 200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private JsonNode rest(String path) {
+        if (path.equals("/user")) {
+            return objectMapper.createObjectNode().put("login", LOGIN).put("id", 1);
+        }
+        if (path.equals("/users/" + LOGIN + "/events")) {
+            ArrayNode events = objectMapper.createArrayNode();
+            for (int r = 0; r < REPOSITORIES; r++) {
+                ObjectNode event = events.addObject()
+                    .put("type", "PushEvent")
+                    .put("created_at", WINDOW.start().plusSeconds(3600L * (r + 1)).toString());
+                event.putObject("repo").put("name", repository(r));
+            }
+            return events;
+        }
+        for (int r = 0; r < REPOSITORIES; r++) {
+            String prefix = "/repos/" + repository(r) + "/commits";
+            if (path.equals(prefix)) {
+                return commits(r, c -> restCommit(r, c, false));
+            }
+            if (path.startsWith(prefix + "/")) {
+                String sha = path.substring(prefix.length() + 1);
+                for (int c = 0; c < COMMITS_PER_REPOSITORY; c++) {
+                    if (sha(r, c).equals(sha)) {
+                        return restCommit(r, c, true);
+                    }
+                }
+            }
+        }
+        return objectMapper.missingNode();
+    }
+
+    private JsonNode graphQl(JsonNode request) {
+        ObjectNode response = objectMapper.createObjectNode();
+        ObjectNode data = response.putObject("data");
+        JsonNode variables = request.path("variables");
+
+        if (request.path("query").asText().contains("viewer")) {
+            ObjectNode viewer = data.putObject("viewer").put("login", LOGIN).put("id", "U_1");
+            ArrayNode contributions = viewer.putObject("contributionsCollection").putArray("commitContributionsByRepository");
+            for (int r = 0; r < REPOSITORIES; r++) {
+                contributions.addObject().putObject("repository").put("nameWithOwner", repository(r));
+            }
+            return response;
+        }
+
+        for (int alias = 0; variables.has("owner" + alias); alias++) {
+            String name = variables.path("owner" + alias).asText() + "/" + variables.path("name" + alias).asText();
+            int r = repositoryIndex(name);
+            ObjectNode history = data.putObject("r" + alias)
+                .put("nameWithOwner", name)
+                .putObject("defaultBranchRef")
+                .putObject("target")
+                .putObject("history");
+            history.putObject("pageInfo").put("hasNextPage", false).putNull("endCursor");
+            history.set("nodes", commits(r, c -> graphQlCommit(r, c)));
+        }
+        return response;
+    }
+
+    private ArrayNode commits(int repositoryIndex, Function<Integer, JsonNode> commit) {
+        ArrayNode commits = objectMapper.createArrayNode();
+        // 新しい順に返す
+        for (int c = COMMITS_PER_REPOSITORY - 1; c >= 0; c--) {
+            commits.add(commit.apply(c));
+        }
+        return commits;
+    }
+
+    private ObjectNode restCommit(int r, int c, boolean withStats) {
+        ObjectNode commit = objectMapper.createObjectNode().put("sha", sha(r, c));
+        ObjectNode detail = commit.putObject("commit").put("message", "commit " + c + " in " + repository(r));
+        detail.putObject("author").put("name", "Octo Cat").put("date", authoredAt(r, c).toString());
+        detail.putObject("committer").put("name", "Octo Cat").put("date", committedAt(r, c).toString());
+        if (withStats) {
+            commit.putObject("stats").put("additions", c + 1).put("deletions", c).put("total", 2 * c + 1);
+        }
+        return commit;
+    }
+
+    private ObjectNode graphQlCommit(int r, int c) {
+        ObjectNode commit = objectMapper.createObjectNode()
+            .put("oid", sha(r, c))
+            .put("message", "commit " + c + " in " + repository(r))
+            .put("committedDate", committedAt(r, c).toString())
+            .put("authoredDate", authoredAt(r, c).toString())
+            .put("additions", c + 1)
+            .put("deletions", c);
+        commit.putObject("author").put("name", "Octo Cat");
+        commit.putObject("associatedPullRequests").putArray("nodes");
+        return commit;
+    }
+
+    private static String repository(int index) {
+        return ORGANIZATION + "/repo-" + index;
+    }
+
+    private static int repositoryIndex(String name) {
+        return Integer.parseInt(name.substring(name.lastIndexOf('-') + 1));
+    }
+
+    private static String sha(int r, int c) {
+        return String.format("%040x", r * 1000 + c);
+    }
+
+    /**
+     * 作成日時（対象日内で、リポジトリ・コミットごとに異なる時刻）
+     */
+    private static Instant authoredAt(int r, int c) {
+        return WINDOW.start().plusSeconds(60L * (r * COMMITS_PER_REPOSITORY + c));
+    }
+
+    /**
+     * リベースされたコミットを模し、コミット日時は作成日時の2日後にする
+     */
+    private static Instant committedAt(int r, int c) {
+        return LocalDateTime.ofInstant(authoredAt(r, c), ZoneOffset.UTC).plusDays(2).toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.backend.infrastructure.http;
+
+import com.example.backend.common.config.ConditionalRequestProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestFilterTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    /**
+     * WebClientのコーデックの既定上限（256KB）を超える本文
+     */
+    private static final String LARGE_BODY = "[" + "\"あ\",".repeat(100_000) + "\"end\"]";
+
+    private ConditionalRequestProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<ClientRequest> sent = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConditionalRequestProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("256KBを超える本文も保存し、304が返った場合は保存済みの本文を200として返す")
+    void storesBodyLargerThanCodecLimit() {
+        ConditionalRequestFilter filter = new ConditionalRequestFilter(properties, meterRegistry);
+        ExchangeFunction next = respond(LARGE_BODY, true);
+
+        ClientResponse first = filter.filter(request(), next).block();
+
+        assertThat(LARGE_BODY.getBytes(StandardCharsets.UTF_8).length).isGreaterThan(256 * 1024);
+        assertThat(first.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(first)).isEqualTo(LARGE_BODY);
+
+        ClientResponse second = filter.filter(request(), notModified()).block();
+
+        assertThat(sent.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH)).isEqualTo(ETAG);
+        assertThat(second.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(second)).isEqualTo(LARGE_BODY);
+        assertThat(result("not_modified")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Content-Lengthが保存対象の最大サイズを超える場合は、保存せずにそのまま返す")
+    void passesThroughBodyLargerThanMaximum() {
+        properties.setMaximumBodySize(DataSize.ofKilobytes(1));
+        ConditionalRequestFilter filter = new ConditionalRequestFilter(properties, meterRegistry);
+
+        ClientResponse response = filter.filter(request(), respond(LARGE_BODY, true)).block();
+        filter.filter(request(), respond(LARGE_BODY, true)).block();
+
+        assertThat(body(response)).isEqualTo(LARGE_BODY);
+        assertThat(sent.get(1).headers().containsKey(HttpHeaders.IF_NONE_MATCH)).isFalse();
+        assertThat(result("too_large")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Content-Lengthが不明な場合は、本文を読み込まずにそのまま返す")
+    void passesThroughBodyOfUnknownLength() {
+        ConditionalRequestFilter filter = new ConditionalRequestFilter(properties, meterRegistry);
+
+        ClientResponse response = filter.filter(request(), respond(LARGE_BODY, false)).block();
+        filter.filter(request(), respond(LARGE_BODY, false)).block();
+
+        assertThat(body(response)).isEqualTo(LARGE_BODY);
+        assertThat(sent.get(1).headers().containsKey(HttpHeaders.IF_NONE_MATCH)).isFalse();
+        assertThat(result("unknown_length")).isEqualTo(2.0);
+    }
+
+    private ExchangeFunction respond(String body, boolean withContentLength) {
+        return request -> Mono.fromSupplier(() -> {
+            sent.add(request);
+            ClientResponse.Builder builder = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json; charset=utf-8")
+                .header(HttpHeaders.ETAG, ETAG);
+            if (withContentLength) {
+                builder.header(HttpHeaders.CONTENT_LENGTH,
+                    String.valueOf(body.getBytes(StandardCharsets.UTF_8).length));
+            }
+            return builder.body(body).build();
+        });
+    }
+
+    private ExchangeFunction notModified() {
+        return request -> Mono.fromSupplier(() -> {
+            sent.add(request);
+            return ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+        });
+    }
+
+    /**
+     * コーデックの上限を受けないよう、バッファーを直接連結して本文を読む
+     */
+    private static String body(ClientResponse response) {
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()))
+            .map(buffer -> {
+                try {
+                    return buffer.toString(StandardCharsets.UTF_8);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .block();
+    }
+
+    private double result(String result) {
+        return meterRegistry.counter("nippogen.http.conditional.requests",
+            "host", "api.example.com",
+            "result", result).count();
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("https://api.example.com/resource"))
+            .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+            .build();
+    }
+}
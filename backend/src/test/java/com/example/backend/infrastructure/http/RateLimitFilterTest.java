@@ -0,0 +1,133 @@
+package com.example.backend.infrastructure.http;
+
+import com.example.backend.common.config.RateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitFilterTest {
+
+    private static final String HOST = "api.example.com";
+    private static final Duration MIN_INTERVAL = Duration.ofMillis(100);
+
+    private RateLimitProperties properties;
+    private RateLimitProperties.Provider provider;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<Long> sentAt = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        provider = new RateLimitProperties.Provider();
+        provider.setHost(HOST);
+        provider.setMinInterval(MIN_INTERVAL);
+
+        properties = new RateLimitProperties();
+        properties.setMaxWait(Duration.ofSeconds(1));
+        properties.setProviders(Map.of("example", provider));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("同じ認証情報のリクエストは最小間隔を空けて送信する")
+    void pacesRequestsOfSameCredential() {
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+        ExchangeFunction next = respondWith(request -> ClientResponse.create(HttpStatus.OK).build());
+
+        for (int i = 0; i < 3; i++) {
+            filter.filter(request("Bearer a"), next).block();
+        }
+
+        assertThat(sentAt).hasSize(3);
+        for (int i = 1; i < sentAt.size(); i++) {
+            // タイマーの粒度を考慮して少しだけ余裕を持たせる
+            assertThat(sentAt.get(i) - sentAt.get(i - 1)).isGreaterThanOrEqualTo(MIN_INTERVAL.toMillis() - 10);
+        }
+    }
+
+    @Test
+    @DisplayName("認証情報が異なるリクエストはお互いの間隔に影響しない")
+    void doesNotPaceAcrossCredentials() {
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+        ExchangeFunction next = respondWith(request -> ClientResponse.create(HttpStatus.OK).build());
+
+        long start = System.currentTimeMillis();
+        filter.filter(request("Bearer a"), next).block();
+        filter.filter(request("Bearer b"), next).block();
+        filter.filter(request("Bearer c"), next).block();
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(MIN_INTERVAL.toMillis());
+    }
+
+    @Test
+    @DisplayName("残量が0になりリセットまでの待機が上限を超える場合は、送信せずに失敗させる")
+    void rejectsWhenWaitExceedsMaxWait() {
+        provider.setMinInterval(Duration.ZERO);
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+        long resetEpochSeconds = System.currentTimeMillis() / 1000 + 3600;
+        ExchangeFunction next = respondWith(request -> ClientResponse.create(HttpStatus.OK)
+            .header("X-RateLimit-Remaining", "0")
+            .header("X-RateLimit-Reset", String.valueOf(resetEpochSeconds))
+            .build());
+
+        filter.filter(request("Bearer a"), next).block();
+
+        assertThatThrownBy(() -> filter.filter(request("Bearer a"), next).block())
+            .isInstanceOf(OutboundRateLimitException.class);
+        assertThat(sentAt).hasSize(1);
+        assertThat(meterRegistry.counter("nippogen.http.ratelimit.rejected", "provider", "example").count())
+            .isEqualTo(1.0);
+
+        // 他の認証情報は制限を受けない
+        filter.filter(request("Bearer b"), next).block();
+        assertThat(sentAt).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("429を受けた場合はRetry-Afterだけ待って再送する")
+    void retriesAfterTooManyRequests() {
+        provider.setMinInterval(Duration.ZERO);
+        RateLimitFilter filter = new RateLimitFilter(properties, meterRegistry);
+        ExchangeFunction next = respondWith(request -> sentAt.size() == 1
+            ? ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build()
+            : ClientResponse.create(HttpStatus.OK).build());
+
+        ClientResponse response = filter.filter(request("Bearer a"), next).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(sentAt).hasSize(2);
+        assertThat(sentAt.get(1) - sentAt.get(0)).isGreaterThanOrEqualTo(990);
+    }
+
+    private ExchangeFunction respondWith(Function<ClientRequest, ClientResponse> responder) {
+        return request -> Mono.fromSupplier(() -> {
+            sentAt.add(System.currentTimeMillis());
+            return responder.apply(request);
+        });
+    }
+
+    private static ClientRequest request(String authorization) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("https://" + HOST + "/resource"))
+            .header(HttpHeaders.AUTHORIZATION, authorization)
+            .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.backend.infrastructure.notion;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.domain.credentials.notion.NotionCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.notion.dto.NotionPageDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotionIncrementalSyncTest {
+
+    private static final NotionCredential CREDENTIAL = NotionCredential.builder()
+        .id(UUID.randomUUID())
+        .apiKey("secret")
+        .build();
+    private static final String DATABASE_ID = "database";
+
+    /**
+     * 保持期間内に収まるよう、実行日の前日を対象日にする
+     */
+    private static final DayWindow WINDOW = DayWindow.of(LocalDate.now(ZoneOffset.UTC).minusDays(1), ZoneOffset.UTC);
+    private static final LocalDateTime DAY_START = LocalDateTime.ofInstant(WINDOW.start(), ZoneOffset.UTC);
+
+    private NotionApiService notionApiService;
+    private NotionIncrementalSync sync;
+
+    @BeforeEach
+    void setUp() {
+        notionApiService = mock(NotionApiService.class);
+        sync = new NotionIncrementalSync(notionApiService, new CollectionProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("初回は対象日の開始時刻以降に編集されたページを取得し、対象日に作成されたページを作成日時順に返す")
+    void initialSyncFetchesFromStartOfDay() {
+        NotionPageDto later = page("later", 10, 10, "https://notion.so/later");
+        NotionPageDto earlier = page("earlier", 9, 9, "https://notion.so/earlier");
+        NotionPageDto nextDay = page("next-day", 25, 25, "https://notion.so/next-day");
+        when(notionApiService.getPagesEditedSince(CREDENTIAL, DATABASE_ID, WINDOW.start()))
+            .thenReturn(List.of(later, earlier, nextDay));
+
+        List<NotionPageDto> pages = sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW);
+
+        assertThat(pages).extracting(NotionPageDto::getId).containsExactly("earlier", "later");
+        verify(notionApiService, never()).getPagesByDatabase(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("2回目以降は同期カーソル以降に編集されたページだけを取得し、追加・アーカイブを反映する")
+    void incrementalSyncMergesChangesSinceCursor() {
+        when(notionApiService.getPagesEditedSince(CREDENTIAL, DATABASE_ID, WINDOW.start()))
+            .thenReturn(List.of(page("kept", 9, 9, "https://notion.so/kept"), page("archived", 10, 10, "https://notion.so/archived")));
+        sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW);
+
+        NotionPageDto archived = page("archived", 10, 12, "https://notion.so/archived");
+        archived.setArchived(true);
+        Instant cursor = at(10);
+        when(notionApiService.getPagesEditedSince(CREDENTIAL, DATABASE_ID, cursor))
+            .thenReturn(List.of(archived, page("added", 11, 11, "https://notion.so/added")));
+
+        List<NotionPageDto> pages = sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW);
+
+        assertThat(pages).extracting(NotionPageDto::getId).containsExactly("kept", "added");
+        verify(notionApiService).getPagesEditedSince(CREDENTIAL, DATABASE_ID, cursor);
+    }
+
+    @Test
+    @DisplayName("取得済みページが編集された場合は、新しい内容に置き換える")
+    void replacesEditedPageInPlace() {
+        when(notionApiService.getPagesEditedSince(CREDENTIAL, DATABASE_ID, WINDOW.start()))
+            .thenReturn(List.of(page("page", 9, 9, "https://notion.so/before")));
+        sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW);
+
+        when(notionApiService.getPagesEditedSince(CREDENTIAL, DATABASE_ID, at(9)))
+            .thenReturn(List.of(page("page", 9, 15, "https://notion.so/after")));
+
+        List<NotionPageDto> pages = sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW);
+
+        assertThat(pages).singleElement().extracting(NotionPageDto::getUrl).isEqualTo("https://notion.so/after");
+    }
+
+    @Test
+    @DisplayName("同じデータベースの取得中でも、他の収集はその完了を待たずにNotion APIを呼び出す")
+    void fetchesOutsideLock() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(notionApiService.getPagesEditedSince(eq(CREDENTIAL), eq(DATABASE_ID), any()))
+            .thenAnswer(invocation -> {
+                fetching.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(page("slow", 9, 9, "https://notion.so/slow"));
+            })
+            .thenReturn(List.of(page("fast", 10, 10, "https://notion.so/fast")));
+
+        CompletableFuture<List<NotionPageDto>> slow = CompletableFuture.supplyAsync(
+            () -> sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<NotionPageDto> fast = CompletableFuture.supplyAsync(
+            () -> sync.getPagesCreatedIn(CREDENTIAL, DATABASE_ID, WINDOW)).get(1, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(fast).extracting(NotionPageDto::getId).containsExactly("fast");
+        // 後から完了した取得結果もマージされる
+        assertThat(slow.get(5, TimeUnit.SECONDS)).extracting(NotionPageDto::getId).containsExactly("slow", "fast");
+    }
+
+    private static NotionPageDto page(String id, int createdHour, int editedHour, String url) {
+        NotionPageDto page = new NotionPageDto();
+        page.setId(id);
+        page.setCreatedTime(DAY_START.plusHours(createdHour));
+        page.setLastEditedTime(DAY_START.plusHours(editedHour));
+        page.setArchived(false);
+        page.setUrl(url);
+        return page;
+    }
+
+    private static Instant at(int hour) {
+        return WINDOW.start().plusSeconds(hour * 3600L);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.backend.infrastructure.notion;
+
+import com.example.backend.common.config.CollectionProperties;
+import com.example.backend.common.config.RateLimitProperties;
+import com.example.backend.domain.credentials.notion.NotionCredential;
+import com.example.backend.infrastructure.notion.dto.NotionPageDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotionPageContentServiceTest {
+
+    private static final NotionCredential CREDENTIAL = NotionCredential.builder().apiKey("secret").build();
+    private static final LocalDateTime EDITED_AT = LocalDateTime.of(2025, 9, 1, 9, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * ブロックIDをキーとした子ブロック（モックのNotion APIが返す内容）
+     */
+    private final Map<String, List<JsonNode>> blocks = new HashMap<>();
+
+    private NotionApiService notionApiService;
+    private CollectionProperties collectionProperties;
+    private RateLimitProperties rateLimitProperties;
+    private NotionPageContentService service;
+
+    @BeforeEach
+    void setUp() {
+        notionApiService = mock(NotionApiService.class);
+        when(notionApiService.getBlockChildren(any(), anyString()))
+            .thenAnswer(invocation -> Flux.fromIterable(blocks.getOrDefault(invocation.<String>getArgument(1), List.of())));
+        collectionProperties = new CollectionProperties();
+        rateLimitProperties = new RateLimitProperties();
+        service = new NotionPageContentService(
+            notionApiService, collectionProperties, rateLimitProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("ブロックの種類ごとにMarkdownへ変換し、子ブロックはインデントして続ける")
+    void convertsBlocksToMarkdown() {
+        blocks.put("page", List.of(
+            block("h1", "heading_1", "見出し"),
+            block("p", "paragraph", "本文"),
+            withChildren(block("li", "bulleted_list_item", "親の項目")),
+            todo("todo-done", "完了したタスク", true),
+            todo("todo-open", "残りのタスク", false),
+            code("code", "java", "int a = 1;"),
+            tableRow("row", "A", "B"),
+            block("divider", "divider", null),
+            block("empty", "paragraph", ""),
+            withChildren(childPage("child", "子ページ"))
+        ));
+        blocks.put("li", List.of(block("li-child", "numbered_list_item", "子の項目")));
+
+        String content = service.getContents(CREDENTIAL, List.of(page("page"))).get("page");
+
+        assertThat(content).isEqualTo(String.join("\n",
+            "# 見出し",
+            "本文",
+            "- 親の項目",
+            "  1. 子の項目",
+            "- [x] 完了したタスク",
+            "- [ ] 残りのタスク",
+            "```java",
+            "int a = 1;",
+            "```",
+            "| A | B |",
+            "---",
+            "[子ページ]"
+        ));
+        // 子ページの中身は別のページとして扱い、たどらない
+        verify(notionApiService, never()).getBlockChildren(any(), eq("child"));
+    }
+
+    @Test
+    @DisplayName("最大の深さより深い子ブロックは取得しない")
+    void stopsAtMaxDepth() {
+        String parent = "page";
+        for (int depth = 0; depth <= 5; depth++) {
+            String id = "depth-" + depth;
+            blocks.put(parent, List.of(withChildren(block(id, "bulleted_list_item", "深さ" + depth))));
+            parent = id;
+        }
+
+        String content = service.getContents(CREDENTIAL, List.of(page("page"))).get("page");
+
+        assertThat(content).isEqualTo(String.join("\n",
+            "- 深さ0",
+            "  - 深さ1",
+            "    - 深さ2",
+            "      - 深さ3"
+        ));
+        verify(notionApiService, never()).getBlockChildren(any(), eq("depth-3"));
+    }
+
+    @Test
+    @DisplayName("本文が最大文字数を超える場合は切り詰める")
+    void truncatesLongContent() {
+        collectionProperties.setNotionContentMaxLength(10);
+        blocks.put("page", List.of(block("p", "paragraph", "0123456789abcdef")));
+
+        String content = service.getContents(CREDENTIAL, List.of(page("page"))).get("page");
+
+        assertThat(content).isEqualTo("0123456789…");
+    }
+
+    @Test
+    @DisplayName("取得した本文はキャッシュし、未更新のページは再取得しない")
+    void cachesContentByLastEditedTime() {
+        blocks.put("page", List.of(block("p", "paragraph", "本文")));
+
+        service.getContents(CREDENTIAL, List.of(page("page")));
+        Map<String, String> contents = service.getContents(CREDENTIAL, List.of(page("page")));
+
+        assertThat(contents).containsEntry("page", "本文");
+        verify(notionApiService, times(1)).getBlockChildren(any(), eq("page"));
+    }
+
+    @Test
+    @DisplayName("ページ数・階層の深さによらず、リクエストは1件ずつ送る")
+    void sendsRequestsOneAtATime() {
+        List<NotionPageDto> pages = new ArrayList<>();
+        for (int p = 0; p < 10; p++) {
+            String pageId = "page-" + p;
+            pages.add(page(pageId));
+            List<JsonNode> children = new ArrayList<>();
+            for (int c = 0; c < 5; c++) {
+                String childId = pageId + "-" + c;
+                children.add(withChildren(block(childId, "toggle", "項目" + c)));
+                blocks.put(childId, List.of(block(childId + "-leaf", "paragraph", "詳細")));
+            }
+            blocks.put(pageId, children);
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(notionApiService.getBlockChildren(any(), anyString())).thenAnswer(invocation -> {
+            List<JsonNode> children = blocks.getOrDefault(invocation.<String>getArgument(1), List.of());
+            return Mono.fromRunnable(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .then(Mono.delay(Duration.ofMillis(10)))
+                .thenMany(Flux.fromIterable(children))
+                .doFinally(signal -> inFlight.decrementAndGet());
+        });
+
+        Map<String, String> contents = service.getContents(CREDENTIAL, pages);
+
+        assertThat(contents).hasSize(10);
+        assertThat(contents.get("page-0")).contains("- 項目0", "  詳細");
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("締め切りまでに取得できたページは本文を使ってキャッシュし、取得中・未取得のページだけを空にする")
+    void keepsPagesFetchedBeforeDeadline() {
+        collectionProperties.setNotionContentTimeout(Duration.ofMillis(200));
+        blocks.put("first", List.of(block("p", "paragraph", "本文")));
+        when(notionApiService.getBlockChildren(any(), eq("slow"))).thenReturn(Flux.never());
+
+        Map<String, String> contents = service.getContents(CREDENTIAL, List.of(page("first"), page("slow"), page("last")));
+
+        assertThat(contents).containsEntry("first", "本文").containsEntry("slow", "").containsEntry("last", "");
+        verify(notionApiService, never()).getBlockChildren(any(), eq("last"));
+
+        service.getContents(CREDENTIAL, List.of(page("first")));
+        verify(notionApiService, times(1)).getBlockChildren(any(), eq("first"));
+    }
+
+    @Test
+    @DisplayName("Notionの送信間隔で締め切りまでに送れる数を超えるリクエストは送らず、取得しきれないページは空にする")
+    void limitsRequestsToPacingWithinDeadline() {
+        RateLimitProperties.Provider notion = new RateLimitProperties.Provider();
+        notion.setHost("api.notion.com");
+        notion.setMinInterval(Duration.ofMillis(350));
+        rateLimitProperties.getProviders().put("notion", notion);
+        collectionProperties.setNotionContentTimeout(Duration.ofMillis(1000));
+        // 送れるのは 1000ms / 350ms = 2件
+        blocks.put("flat", List.of(block("p", "paragraph", "本文")));
+        blocks.put("nested", List.of(withChildren(block("parent", "toggle", "親"))));
+        blocks.put("parent", List.of(withChildren(block("child", "toggle", "子"))));
+        blocks.put("child", List.of(block("leaf", "paragraph", "孫")));
+
+        Map<String, String> contents = service.getContents(CREDENTIAL, List.of(page("flat"), page("nested")));
+
+        assertThat(contents).containsEntry("flat", "本文").containsEntry("nested", "");
+        verify(notionApiService, never()).getBlockChildren(any(), eq("child"));
+
+        // 取得しきれなかったページはキャッシュせず、次の収集で取得し直す（締め切りを延ばせば3件まで送れる）
+        collectionProperties.setNotionContentTimeout(Duration.ofMillis(1100));
+        assertThat(service.getContents(CREDENTIAL, List.of(page("nested"))).get("nested"))
+            .isEqualTo(String.join("\n", "- 親", "  - 子", "    孫"));
+    }
+
+    @Test
+    @DisplayName("本文の取得が締め切りを過ぎたページは空にし、キャッシュしない")
+    void fallsBackToEmptyContentAfterDeadline() {
+        collectionProperties.setNotionContentTimeout(Duration.ofMillis(200));
+        blocks.put("fast", List.of(block("p", "paragraph", "本文")));
+        when(notionApiService.getBlockChildren(any(), eq("slow"))).thenReturn(Flux.never());
+
+        Map<String, String> contents = service.getContents(CREDENTIAL, List.of(page("fast"), page("slow")));
+
+        assertThat(contents).containsEntry("fast", "本文").containsEntry("slow", "");
+
+        when(notionApiService.getBlockChildren(any(), eq("slow")))
+            .thenReturn(Flux.just(block("late", "paragraph", "遅れて取得")));
+        assertThat(service.getContents(CREDENTIAL, List.of(page("slow")))).containsEntry("slow", "遅れて取得");
+    }
+
+    @Test
+    @DisplayName("子ブロックの取得に失敗したページは空にし、他のページには影響しない")
+    void fallsBackToEmptyContentOnError() {
+        blocks.put("ok", List.of(block("p", "paragraph", "本文")));
+        blocks.put("broken", List.of(withChildren(block("parent", "toggle", "親"))));
+        when(notionApiService.getBlockChildren(any(), eq("parent")))
+            .thenReturn(Flux.error(new RuntimeException("Notion APIの呼び出しに失敗しました")));
+
+        Map<String, String> contents = service.getContents(CREDENTIAL, List.of(page("ok"), page("broken")));
+
+        assertThat(contents).containsEntry("ok", "本文").containsEntry("broken", "");
+    }
+
+    private static NotionPageDto page(String id) {
+        NotionPageDto page = new NotionPageDto();
+        page.setId(id);
+        page.setLastEditedTime(EDITED_AT);
+        return page;
+    }
+
+    private ObjectNode block(String id, String type, String text) {
+        ObjectNode block = objectMapper.createObjectNode()
+            .put("id", id)
+            .put("type", type)
+            .put("has_children", false);
+        ObjectNode body = block.putObject(type);
+        if (text != null) {
+            body.set("rich_text", richText(text));
+        }
+        return block;
+    }
+
+    private ObjectNode withChildren(ObjectNode block) {
+        return block.put("has_children", true);
+    }
+
+    private ObjectNode todo(String id, String text, boolean checked) {
+        ObjectNode block = block(id, "to_do", text);
+        ((ObjectNode) block.get("to_do")).put("checked", checked);
+        return block;
+    }
+
+    private ObjectNode code(String id, String language, String text) {
+        ObjectNode block = block(id, "code", text);
+        ((ObjectNode) block.get("code")).put("language", language);
+        return block;
+    }
+
+    private ObjectNode tableRow(String id, String... cells) {
+        ObjectNode block = block(id, "table_row", null);
+        ArrayNode cellsNode = ((ObjectNode) block.get("table_row")).putArray("cells");
+        for (String cell : cells) {
+            cellsNode.add(richText(cell));
+        }
+        return block;
+    }
+
+    private ObjectNode childPage(String id, String title) {
+        ObjectNode block = block(id, "child_page", null);
+        ((ObjectNode) block.get("child_page")).put("title", title);
+        return block;
+    }
+
+    private ArrayNode richText(String text) {
+        ArrayNode richText = objectMapper.createArrayNode();
+        richText.addObject().put("plain_text", text);
+        return richText;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import com.example.backend.common.config.LlmCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmResponseCacheTest {
+
+    private static final String KEY = LlmResponseCache.key("gpt", "system", "user");
+
+    private LlmCacheProperties properties;
+    private LlmResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LlmCacheProperties();
+        cache = new LlmResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("同じキーの同時呼び出しはAIの呼び出しを1回にまとめ、呼び出し中も他のキーはブロックしない")
+    void coalescesConcurrentCallsWithoutBlockingOtherKeys() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(5)) {
+            for (int i = 0; i < 5; i++) {
+                results.add(executor.submit(() -> cache.get(KEY, true, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "# 日報";
+                })));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 応答を待っている間も、別のキーの呼び出しは待たされない
+            String other = cache.get(LlmResponseCache.key("gpt", "system", "other"), true, () -> "# 別の日報");
+            assertThat(other).isEqualTo("# 別の日報");
+
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("# 日報");
+            }
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("失敗した呼び出しと空の応答はキャッシュしない")
+    void doesNotCacheFailuresOrBlankResponses() {
+        assertThatThrownBy(() -> cache.get(KEY, true, () -> {
+            throw new IllegalStateException("AI呼び出しに失敗しました");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get(KEY, true, () -> " ")).isEqualTo(" ");
+
+        assertThat(cache.get(KEY, true, () -> "# 日報")).isEqualTo("# 日報");
+        assertThat(cache.get(KEY, true, () -> "# 2回目")).isEqualTo("# 日報");
+    }
+
+    @Test
+    @DisplayName("呼び出しがErrorで失敗しても呼び出し中の登録を外し、同じキーの以降の呼び出しを待たせない")
+    void releasesEntryWhenLoaderThrowsError() throws Exception {
+        assertThatThrownBy(() -> cache.get(KEY, true, () -> {
+            throw new AssertionError("想定外のエラー");
+        })).isInstanceOf(AssertionError.class);
+
+        String content = CompletableFuture.supplyAsync(() -> cache.get(KEY, true, () -> "# 日報"))
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(content).isEqualTo("# 日報");
+    }
+
+    @Test
+    @DisplayName("キャッシュを使わない呼び出しは毎回AIを呼び出し、保存済みの応答を置き換える")
+    void replacesCachedResponseWhenNotUsingCache() {
+        cache.get(KEY, true, () -> "# 1回目");
+
+        assertThat(cache.get(KEY, false, () -> "# 2回目")).isEqualTo("# 2回目");
+        assertThat(cache.get(KEY, true, () -> "# 3回目")).isEqualTo("# 2回目");
+        assertThat(cache.stream(KEY, true, () -> Flux.just("# 4回目")).collectList().block())
+            .containsExactly("# 2回目");
+    }
+
+    @Test
+    @DisplayName("キャッシュを無効にした場合は常にAIを呼び出す")
+    void bypassesWhenDisabled() {
+        properties.setEnabled(false);
+
+        cache.get(KEY, true, () -> "# 1回目");
+
+        assertThat(cache.get(KEY, true, () -> "# 2回目")).isEqualTo("# 2回目");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
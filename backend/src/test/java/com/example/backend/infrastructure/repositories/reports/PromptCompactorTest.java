@@ -0,0 +1,166 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import com.example.backend.common.config.PromptProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptCompactorTest {
+
+    private static final String FIXED_PROMPT = "以下のデータから日報を作成してください。";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PromptDataEncoder promptDataEncoder = new PromptDataEncoder(objectMapper);
+    private PromptProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PromptCompactor promptCompactor;
+
+    private String githubData;
+    private String togglData;
+    private String notionData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new PromptProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        promptCompactor = new PromptCompactor(properties, promptDataEncoder, objectMapper, meterRegistry);
+
+        List<Map<String, Object>> commits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            commits.add(Map.of(
+                "repository", "owner/repo",
+                "sha", "abc" + i,
+                "message", "コミット" + i + "の概要\n\n" + "詳細な説明".repeat(80),
+                "author", "developer",
+                "additions", i,
+                "deletions", 1
+            ));
+        }
+        githubData = objectMapper.writeValueAsString(Map.of("source", "GitHub", "commits", commits));
+
+        List<Map<String, Object>> timeEntries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            timeEntries.add(Map.of(
+                "description", "作業" + (i % 3),
+                "start", "2025-09-01T0" + (i % 10) + ":00:00Z",
+                "duration", 600,
+                "projectId", 100 + i % 2,
+                "tags", List.of("dev")
+            ));
+        }
+        togglData = objectMapper.writeValueAsString(Map.of("source", "Toggl Track", "timeEntries", timeEntries));
+
+        notionData = objectMapper.writeValueAsString(Map.of("source", "Notion", "pages", List.of(
+            Map.of("title", "議事録", "lastEditedTime", "2025-09-01T10:00", "content", "決定事項".repeat(500))
+        )));
+    }
+
+    @Test
+    @DisplayName("ソースデータが空の場合はそのまま返す")
+    void keepsEmptyInputs() {
+        PromptCompactor.CompactedSources nulls = promptCompactor.compact(null, null, null, null);
+        PromptCompactor.CompactedSources blanks = promptCompactor.compact("", "", "", "");
+
+        assertThat(nulls).isEqualTo(new PromptCompactor.CompactedSources(null, null, null));
+        assertThat(blanks).isEqualTo(new PromptCompactor.CompactedSources("", "", ""));
+        assertThat(compactions("none")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("ちょうど予算に収まる場合は表形式にエンコードするだけで圧縮しない")
+    void doesNotCompactExactlyAtBudget() {
+        int encodedTokens = encodedTokens();
+        properties.setMaxInputTokens(encodedTokens + TokenEstimator.estimate(FIXED_PROMPT));
+
+        PromptCompactor.CompactedSources result = promptCompactor.compact(githubData, togglData, notionData, FIXED_PROMPT);
+
+        assertThat(result).isEqualTo(new PromptCompactor.CompactedSources(
+            promptDataEncoder.encode(githubData),
+            promptDataEncoder.encode(togglData),
+            promptDataEncoder.encode(notionData)
+        ));
+        assertThat(result.estimateTokens()).isEqualTo(encodedTokens);
+        assertThat(compactions("none")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("予算を1トークンでも超える場合は圧縮して予算内に収める")
+    void compactsJustOverBudget() {
+        int encodedTokens = encodedTokens();
+        properties.setMaxInputTokens(encodedTokens - 1 + TokenEstimator.estimate(FIXED_PROMPT));
+
+        PromptCompactor.CompactedSources result = promptCompactor.compact(githubData, togglData, notionData, FIXED_PROMPT);
+
+        assertThat(result.estimateTokens()).isLessThanOrEqualTo(encodedTokens - 1);
+        // 長いフィールドの切り詰めで収まるため、要約や一律の切り詰めはしない
+        assertThat(compactions("fields")).isEqualTo(1.0);
+        assertThat(result.githubData()).contains("コミット0の概要");
+    }
+
+    @Test
+    @DisplayName("要約しても予算を超える場合は、各セクションを予算内に切り詰める")
+    void truncatesSectionsFarOverBudget() {
+        int budget = 300;
+        properties.setMaxInputTokens(budget + TokenEstimator.estimate(FIXED_PROMPT));
+
+        PromptCompactor.CompactedSources result = promptCompactor.compact(githubData, togglData, notionData, FIXED_PROMPT);
+
+        assertThat(result.estimateTokens()).isLessThanOrEqualTo(budget);
+        assertThat(result.githubData()).startsWith("source: GitHub").endsWith("…");
+        assertThat(result.notionData()).startsWith("source: Notion").endsWith("…");
+        assertThat(compactions("truncate")).isEqualTo(1.0);
+        assertThat(meterRegistry.summary("nippogen.prompt.tokens", "stage", "after").totalAmount())
+            .isEqualTo(result.estimateTokens());
+    }
+
+    @Test
+    @DisplayName("圧縮前後のトークン数は同じ表形式で測り、エンコードの効果は別の段階として記録する")
+    void recordsTokensOnSameRepresentation() {
+        int rawTokens = TokenEstimator.estimate(githubData)
+            + TokenEstimator.estimate(togglData)
+            + TokenEstimator.estimate(notionData);
+        properties.setMaxInputTokens(encodedTokens() + TokenEstimator.estimate(FIXED_PROMPT));
+
+        promptCompactor.compact(githubData, togglData, notionData, FIXED_PROMPT);
+
+        assertThat(tokens("raw")).isEqualTo(rawTokens);
+        assertThat(tokens("before")).isEqualTo(encodedTokens());
+        // 圧縮しない場合は、エンコードで減った分が圧縮の効果として混ざらない
+        assertThat(tokens("after")).isEqualTo(tokens("before"));
+    }
+
+    @Test
+    @DisplayName("取得に失敗したセクションのエラー情報は要約・集約の対象にしない")
+    void keepsErrorSections() {
+        properties.setMaxInputTokens(1000 + TokenEstimator.estimate(FIXED_PROMPT));
+        String error = "{\"error\":\"Togglデータの取得に失敗しました\"}";
+
+        PromptCompactor.CompactedSources result = promptCompactor.compact(githubData, error, notionData, FIXED_PROMPT);
+
+        assertThat(result.togglData()).isEqualTo("error: Togglデータの取得に失敗しました");
+        assertThat(result.estimateTokens()).isLessThanOrEqualTo(1000);
+    }
+
+    private int encodedTokens() {
+        return TokenEstimator.estimate(promptDataEncoder.encode(githubData))
+            + TokenEstimator.estimate(promptDataEncoder.encode(togglData))
+            + TokenEstimator.estimate(promptDataEncoder.encode(notionData));
+    }
+
+    private double tokens(String stage) {
+        return meterRegistry.summary("nippogen.prompt.tokens", "stage", stage).totalAmount();
+    }
+
+    private double compactions(String level) {
+        return meterRegistry.counter("nippogen.prompt.compactions", "level", level).count();
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptDataEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PromptDataEncoder promptDataEncoder = new PromptDataEncoder(objectMapper);
+
+    @Test
+    @DisplayName("スカラー値は「キー: 値」、入れ子のオブジェクトは「親.子」のキーで1行ずつ記載する")
+    void encodesScalarsAndNestedObjects() {
+        String encoded = promptDataEncoder.encode("""
+            {"source":"GitHub","repository":{"owner":"octo","name":"app"},"summary":{"totalHours":1.23456}}
+            """);
+
+        assertThat(encoded).isEqualTo(String.join("\n",
+            "source: GitHub",
+            "repository.owner: octo",
+            "repository.name: app",
+            "summary.totalHours: 1.23"
+        ));
+    }
+
+    @Test
+    @DisplayName("オブジェクトの配列は見出し行に続けて1件1行の表にする")
+    void encodesArraysOfObjectsAsTables() {
+        String encoded = promptDataEncoder.encode("""
+            {"commits":[{"sha":"a1","message":"初回","additions":3},{"sha":"b2","message":"修正","additions":1}]}
+            """);
+
+        assertThat(encoded).isEqualTo(String.join("\n",
+            "commits[2]{sha|message|additions}:",
+            "a1|初回|3",
+            "b2|修正|1"
+        ));
+    }
+
+    @Test
+    @DisplayName("セル・値に含まれる「|」・改行・バックスラッシュはエスケープし、1件が1行に収まるようにする")
+    void escapesDelimitersAndNewlines() {
+        String encoded = promptDataEncoder.encode("""
+            {"title":"A|B","commits":[{"message":"1行目\\r\\n2行目 | 補足","path":"C:\\\\work"}]}
+            """);
+
+        assertThat(encoded).isEqualTo(String.join("\n",
+            "title: A\\|B",
+            "commits[1]{message|path}:",
+            "1行目\\n2行目 \\| 補足|C:\\\\work"
+        ));
+    }
+
+    @Test
+    @DisplayName("既定値（空文字・0・false・空配列・null）は省略し、全件が既定値の列は見出しごと省く")
+    void omitsDefaultValues() {
+        String encoded = promptDataEncoder.encode("""
+            {"source":"Toggl","workspaceId":0,"databaseId":"","archived":false,"tags":[],"note":null,
+             "timeEntries":[
+               {"description":"設計","duration":3600,"billable":false,"projectId":0,"tags":["dev"]},
+               {"description":"","duration":0,"billable":false,"projectId":0,"tags":[]}
+             ]}
+            """);
+
+        assertThat(encoded).isEqualTo(String.join("\n",
+            "source: Toggl",
+            "timeEntries[2]{description|duration|tags}:",
+            "設計|3600|dev",
+            "||"
+        ));
+    }
+
+    @Test
+    @DisplayName("入れ子の配列は、値の配列を「;」区切りのセルに、オブジェクトの配列をJSONのセルにする")
+    void encodesNestedLists() {
+        String encoded = promptDataEncoder.encode("""
+            {"commits":[
+              {"sha":"a1","tags":["api","fix"],"pullRequests":[{"number":12,"title":"修正|対応"}]},
+              {"sha":"b2","tags":["docs"],"pullRequests":[]}
+            ]}
+            """);
+
+        assertThat(encoded).isEqualTo(String.join("\n",
+            "commits[2]{sha|tags|pullRequests}:",
+            "a1|api;fix|[{\"number\":12,\"title\":\"修正\\|対応\"}]",
+            "b2|docs|"
+        ));
+    }
+
+    @Test
+    @DisplayName("他の列から導出できる表示用の値は出力しない")
+    void omitsDerivedFields() {
+        String encoded = promptDataEncoder.encode("""
+            {"timeEntries":[{"description":"設計","duration":5400,"durationHours":1.5,"formattedDuration":"1h 30m"}]}
+            """);
+
+        assertThat(encoded).isEqualTo(String.join("\n",
+            "timeEntries[1]{description|duration}:",
+            "設計|5400"
+        ));
+    }
+
+    @Test
+    @DisplayName("空の入力・JSONオブジェクトとして解釈できない入力はそのまま返す")
+    void returnsUnparsableInputAsIs() {
+        assertThat(promptDataEncoder.encode(null)).isNull();
+        assertThat(promptDataEncoder.encode("")).isEmpty();
+        assertThat(promptDataEncoder.encode("データなし")).isEqualTo("データなし");
+        assertThat(promptDataEncoder.encode("[1,2]")).isEqualTo("[1,2]");
+    }
+
+    @Test
+    @DisplayName("収集データ相当の入力で、現在のJSONより推定トークン数を減らし、シリアライズ時間も大きく増やさない")
+    void benchmarksAgainstJson() throws Exception {
+        List<Map<String, Object>> sources = List.of(githubData(), togglData(), notionData());
+
+        int jsonTokens = 0;
+        int encodedTokens = 0;
+        for (Map<String, Object> source : sources) {
+            String json = objectMapper.writeValueAsString(source);
+            jsonTokens += TokenEstimator.estimate(json);
+            encodedTokens += TokenEstimator.estimate(promptDataEncoder.encode(json));
+        }
+
+        double jsonMillis = measureMillis(() -> {
+            for (Map<String, Object> source : sources) {
+                objectMapper.writeValueAsString(source);
+            }
+        });
+        double encodedMillis = measureMillis(() -> {
+            for (Map<String, Object> source : sources) {
+                promptDataEncoder.encode(objectMapper.writeValueAsString(source));
+            }
+        });
+
+        System.out.printf("prompt source tokens: json=%d encoded=%d (%.1f%% reduction), serialize: json=%.3fms encoded=%.3fms%n",
+            jsonTokens, encodedTokens, 100.0 * (jsonTokens - encodedTokens) / jsonTokens, jsonMillis, encodedMillis);
+        assertThat(encodedTokens).isLessThan(jsonTokens * 2 / 3);
+        assertThat(encodedMillis).isLessThan(50.0);
+    }
+
+    /**
+     * 1回あたりの実行時間（ミリ秒）。計測前に繰り返し実行してJITの影響を減らす
+     */
+    private static double measureMillis(ThrowingRunnable action) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            action.run();
+        }
+        int iterations = 200;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    /**
+     * ReportDataCollectorが組み立てるGitHubデータと同じ形（30コミット）
+     */
+    private Map<String, Object> githubData() {
+        List<Map<String, Object>> commits = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            commits.add(ordered(
+                "repository", "octo/app",
+                "sha", String.format("%07x", 0xabc000 + i),
+                "message", "API " + i + " のレスポンスを修正",
+                "author", "developer",
+                "date", "2025-09-01T0" + (i % 10) + ":15:00",
+                "additions", 10 + i,
+                "deletions", i % 3,
+                "pullRequests", i % 5 == 0
+                    ? List.of(ordered("number", 100 + i, "title", "API修正", "state", "closed", "reviewCount", 1, "reviewers", List.of("reviewer")))
+                    : List.of()
+            ));
+        }
+        return ordered(
+            "source", "GitHub",
+            "date", "2025-09-01",
+            "repository", ordered("owner", "octo", "name", "app"),
+            "repositories", List.of("octo/app"),
+            "commits", commits,
+            "summary", ordered("totalCommits", 30, "totalAdditions", 735, "totalDeletions", 30)
+        );
+    }
+
+    /**
+     * ReportDataCollectorが組み立てるTogglデータと同じ形（40件の時間記録）
+     */
+    private Map<String, Object> togglData() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entries.add(ordered(
+                "id", 4_000_000_000L + i,
+                "description", "作業" + (i % 4),
+                "start", "2025-09-01T0" + (i % 10) + ":00:00Z",
+                "stop", "2025-09-01T0" + (i % 10) + ":15:00Z",
+                "duration", 900,
+                "durationHours", 0.25,
+                "formattedDuration", "0h 15m",
+                "projectId", i % 2 == 0 ? 200_000_001L : 0,
+                "tags", i % 3 == 0 ? List.of("dev") : List.of(),
+                "billable", false
+            ));
+        }
+        return ordered(
+            "source", "Toggl Track",
+            "date", "2025-09-01",
+            "workspaceId", 1_234_567,
+            "timeEntries", entries,
+            "summary", ordered("totalEntries", 40, "totalDurationSeconds", 36_000, "totalHours", 10.0, "billableEntries", 0)
+        );
+    }
+
+    /**
+     * ReportDataCollectorが組み立てるNotionデータと同じ形（10ページ）
+     */
+    private Map<String, Object> notionData() {
+        List<Map<String, Object>> pages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            pages.add(ordered(
+                "id", "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f" + i,
+                "title", "議事録 " + i,
+                "url", "https://www.notion.so/0f1e2d3c4b5a69788796a5b4c3d2e1f" + i,
+                "createdTime", "2025-09-01T01:00",
+                "lastEditedTime", "2025-09-01T02:00",
+                "archived", false,
+                "createdBy", "",
+                "parentType", "database_id",
+                "content", "## 決定事項\n- API の仕様を確定\n- 次回までにレビュー"
+            ));
+        }
+        return ordered(
+            "source", "Notion",
+            "date", "2025-09-01",
+            "databaseId", "db",
+            "pages", pages,
+            "summary", ordered("totalPages", 10, "createdToday", 10, "editedToday", 10)
+        );
+    }
+
+    private static Map<String, Object> ordered(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
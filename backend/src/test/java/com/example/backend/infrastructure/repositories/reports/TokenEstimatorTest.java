@@ -0,0 +1,52 @@
+package com.example.backend.infrastructure.repositories.reports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEstimatorTest {
+
+    @Test
+    @DisplayName("空文字列・nullは0トークンと見積もる")
+    void estimatesEmptyInputAsZero() {
+        assertThat(TokenEstimator.estimate(null)).isZero();
+        assertThat(TokenEstimator.estimate("")).isZero();
+    }
+
+    @Test
+    @DisplayName("ASCII文字は4文字ごと、非ASCII文字は1文字ごとに1トークンと見積もる")
+    void estimatesAsciiAndNonAscii() {
+        assertThat(TokenEstimator.estimate("a")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("abcd")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("abcde")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("日報")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("abcd日報")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("ちょうど上限のテキストは切り詰めない")
+    void keepsTextExactlyAtBudget() {
+        assertThat(TokenEstimator.truncate("abcdefgh", 2)).isEqualTo("abcdefgh");
+        assertThat(TokenEstimator.truncate("日本語", 3)).isEqualTo("日本語");
+    }
+
+    @Test
+    @DisplayName("上限を超えるテキストは、上限に収まる長さまで末尾を切り詰める")
+    void truncatesTextOverBudget() {
+        assertThat(TokenEstimator.truncate("abcdefghi", 2)).isEqualTo("abcdefgh");
+        assertThat(TokenEstimator.truncate("日本語テキスト", 3)).isEqualTo("日本語");
+        assertThat(TokenEstimator.truncate("abcd日本語", 2)).isEqualTo("abcd日");
+
+        String truncated = TokenEstimator.truncate("x".repeat(1000) + "日本語".repeat(100), 50);
+        assertThat(TokenEstimator.estimate(truncated)).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("空文字列・上限0の切り詰めは空文字列を返す")
+    void truncatesEmptyInput() {
+        assertThat(TokenEstimator.truncate("", 0)).isEmpty();
+        assertThat(TokenEstimator.truncate("", 10)).isEmpty();
+        assertThat(TokenEstimator.truncate("abc", 0)).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.infrastructure.toggl;
+
+import com.example.backend.common.config.RateLimitProperties;
+import com.example.backend.domain.credentials.toggl.TogglCredential;
+import com.example.backend.domain.reports.DayWindow;
+import com.example.backend.infrastructure.http.RateLimitFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TogglApiServiceTest {
+
+    private static final TogglCredential CREDENTIAL = TogglCredential.builder()
+        .id(UUID.randomUUID())
+        .apiKey("token")
+        .workspaceId(1L)
+        .isActive(true)
+        .build();
+
+    /**
+     * 前後の日に開始した時間記録を含む詳細レポート（Reports APIは前後1日を含めて返す）
+     */
+    private static final String DETAILED_ROWS = """
+        [
+          {"project_id": 10, "description": "実装", "tag_ids": [100], "time_entries": [
+            {"id": 1, "seconds": 3600, "start": "2025-09-01T09:00:00+09:00"},
+            {"id": 2, "seconds": 1800, "start": "2025-09-02T01:00:00+09:00"}
+          ]},
+          {"project_id": 20, "description": "会議", "tag_ids": null, "time_entries": [
+            {"id": 3, "seconds": 600, "start": "2025-08-31T23:00:00+09:00"}
+          ]}
+        ]
+        """;
+
+    private static final String TAGS = """
+        [{"id": 100, "name": "開発"}]
+        """;
+
+    @Test
+    @DisplayName("Reports APIの集計は、開始時刻が対象日の範囲（ユーザーのタイムゾーン）に含まれる時間記録だけを対象にする")
+    void summarizesOnlyEntriesWithinDayWindow() {
+        TogglApiService service = new TogglApiService(
+            WebClient.builder().exchangeFunction(request -> Mono.just(json(
+                request.url().getPath().endsWith("/search/time_entries") ? DETAILED_ROWS : TAGS))),
+            HttpClient.create(),
+            new RateLimitFilter(new RateLimitProperties(), new SimpleMeterRegistry())
+        );
+
+        TogglApiService.TogglReportSummary summary = service.getReportSummary(
+            CREDENTIAL, DayWindow.of(LocalDate.of(2025, 9, 1), ZoneId.of("Asia/Tokyo")));
+
+        assertThat(summary.totalSeconds()).isEqualTo(3600L);
+        assertThat(summary.projects()).containsExactly(new TogglApiService.ProjectTotal(
+            10L, 3600L, List.of(new TogglApiService.EntryTotal("実装", 3600L))));
+        assertThat(summary.tags()).containsExactly(new TogglApiService.TagTotal("開発", 3600L));
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build();
+    }
+}